@@ -1,23 +1,33 @@
 package com.bankingapp.backend.controller;
 
 import com.bankingapp.backend.dto.AccountResponseDTO;
+import com.bankingapp.backend.dto.BalanceAtDTO;
 import com.bankingapp.backend.dto.DepositRequestDTO;
 import com.bankingapp.backend.dto.TransactionResponseDTO;
+import com.bankingapp.backend.dto.WithdrawalRequestDTO;
 import com.bankingapp.backend.model.Account;
 import com.bankingapp.backend.model.Transaction;
 import com.bankingapp.backend.model.User;
 import com.bankingapp.backend.repository.UserRepository;
 import com.bankingapp.backend.service.AccountService;
+import com.bankingapp.backend.service.BalanceCheckpointService;
 import com.bankingapp.backend.service.DepositService;
+import com.bankingapp.backend.service.LedgerStreamService;
+import com.bankingapp.backend.service.WithdrawalService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -27,25 +37,36 @@ public class AccountController {
     private final AccountService accountService;
     private final UserRepository userRepository;
     private final DepositService depositService;
+    private final WithdrawalService withdrawalService;
+    private final LedgerStreamService ledgerStreamService;
+    private final BalanceCheckpointService balanceCheckpointService;
 
     public AccountController(
             AccountService accountService,
             UserRepository userRepository,
-            DepositService depositService
+            DepositService depositService,
+            WithdrawalService withdrawalService,
+            LedgerStreamService ledgerStreamService,
+            BalanceCheckpointService balanceCheckpointService
     ) {
         this.accountService = accountService;
         this.userRepository = userRepository;
         this.depositService = depositService;
+        this.withdrawalService = withdrawalService;
+        this.ledgerStreamService = ledgerStreamService;
+        this.balanceCheckpointService = balanceCheckpointService;
     }
 
     @PostMapping("/new")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<AccountResponseDTO> openAccount(
+            @RequestParam(defaultValue = "USD") String currency,
             @AuthenticationPrincipal UserDetails userDetails
     ) {
         User user = userRepository.findByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        Account account = accountService.createAccount(user.getId());
+        Account account = accountService.createAccount(user.getId(), currency);
+        ledgerStreamService.registerAccount(user.getId(), account.getId());
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(new AccountResponseDTO(
                         account.getId(),
@@ -60,7 +81,8 @@ public class AccountController {
     @GetMapping("/owned")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<List<AccountResponseDTO>> listAccounts(
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest request
     ) {
         try {
             User user = userRepository.findByEmail(userDetails.getUsername())
@@ -68,7 +90,12 @@ public class AccountController {
 
             List<Account> accounts = accountService.findAccountsByUserId(user.getId());
 
-            List<AccountResponseDTO> response = accounts.stream()
+            StringBuilder versions = new StringBuilder();
+            accounts.forEach(account -> versions.append(account.getId()).append(':')
+                    .append(account.getVersion()).append(';'));
+            String etag = DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8));
+
+            return ConditionalResponses.conditional(request, etag, () -> accounts.stream()
                     .map(account -> new AccountResponseDTO(
                             account.getId(),
                             account.getAccountNumber(),
@@ -77,9 +104,7 @@ public class AccountController {
                             account.getOpeningDate(),
                             account.getUser().getId()
                     ))
-                    .toList();
-
-            return ResponseEntity.ok(response);
+                    .toList());
         }
         catch(RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -89,11 +114,12 @@ public class AccountController {
     @GetMapping("/{accountNumber}")
     public ResponseEntity<AccountResponseDTO> viewAccount(
             @PathVariable String accountNumber,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest request
     ) {
         Account account = accountService.validateAccountAccess(accountNumber, userDetails);
 
-        return ResponseEntity.ok(new AccountResponseDTO(
+        return ConditionalResponses.conditional(request, "account-" + account.getVersion(), () -> new AccountResponseDTO(
                 account.getId(),
                 account.getAccountNumber(),
                 account.getBalance(),
@@ -103,6 +129,17 @@ public class AccountController {
         ));
     }
 
+    @GetMapping("/{accountNumber}/balance")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BalanceAtDTO> balanceAt(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        Account account = accountService.validateAccountAccess(accountNumber, userDetails);
+        return ResponseEntity.ok(balanceCheckpointService.getBalanceAt(account, at));
+    }
+
     @PostMapping("/{accountNumber}/deposit")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<TransactionResponseDTO> deposit(
@@ -123,6 +160,34 @@ public class AccountController {
                         null,
                         transaction.getReceiverAccount().getAccountNumber(),
                         transaction.getAmount(),
+                        transaction.getCurrency(),
+                        transaction.getDescription(),
+                        transaction.getType().name(),
+                        transaction.getTimestamp()
+                ));
+    }
+
+    @PostMapping("/{accountNumber}/withdraw")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TransactionResponseDTO> withdraw(
+            @PathVariable String accountNumber,
+            @Valid @RequestBody WithdrawalRequestDTO request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        accountService.validateAccountAccess(accountNumber, userDetails);
+
+        Transaction transaction = withdrawalService.withdrawFromAccount(
+                accountNumber,
+                request.amount(),
+                request.description()
+        );
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(new TransactionResponseDTO(
+                        transaction.getReceiverAccount().getAccountNumber(),
+                        "SYS_BANK",
+                        transaction.getAmount(),
+                        transaction.getCurrency(),
                         transaction.getDescription(),
                         transaction.getType().name(),
                         transaction.getTimestamp()
@@ -1,21 +1,31 @@
 package com.bankingapp.backend.controller;
 
 import com.bankingapp.backend.dto.*;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.Transaction;
 import com.bankingapp.backend.repository.AccountRepository;
 import com.bankingapp.backend.repository.TransactionRepository;
 import com.bankingapp.backend.repository.UserRepository;
-import com.bankingapp.backend.service.FraudDetectionService;
+import com.bankingapp.backend.service.AccountService;
+import com.bankingapp.backend.service.AccountVelocityService;
+import com.bankingapp.backend.service.FxRateService;
+import com.bankingapp.backend.service.ReconciliationService;
+import com.bankingapp.backend.service.StatementJobService;
+import com.bankingapp.backend.service.TransactionService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -25,38 +35,68 @@ public class AdminController {
     private final UserRepository userRepository;
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
-    private final FraudDetectionService fraudDetectionService;
+    private final TransactionService transactionService;
+    private final AccountService accountService;
+    private final AccountVelocityService accountVelocityService;
+    private final StatementJobService statementJobService;
+    private final ReconciliationService reconciliationService;
+    private final FxRateService fxRateService;
 
     public AdminController(UserRepository userRepository,
                            AccountRepository accountRepository,
                            TransactionRepository transactionRepository,
-                           FraudDetectionService fraudDetectionService) {
+                           TransactionService transactionService,
+                           AccountService accountService,
+                           AccountVelocityService accountVelocityService,
+                           StatementJobService statementJobService,
+                           ReconciliationService reconciliationService,
+                           FxRateService fxRateService) {
         this.userRepository = userRepository;
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
-        this.fraudDetectionService = fraudDetectionService;
+        this.transactionService = transactionService;
+        this.accountService = accountService;
+        this.accountVelocityService = accountVelocityService;
+        this.statementJobService = statementJobService;
+        this.reconciliationService = reconciliationService;
+        this.fxRateService = fxRateService;
     }
 
     @GetMapping("/system-stats")
+    @Transactional(readOnly = true)
     public ResponseEntity<SystemStatsDTO> getSystemStatistics() {
         long userCount = userRepository.count();
         long accountCount = accountRepository.count();
         long transactionCount = transactionRepository.count();
 
-        BigDecimal totalAmount = transactionRepository.getTotalTransactionsAmount()
-                .orElse(BigDecimal.ZERO);
+        List<CurrencyTotalDTO> totalsByCurrency = transactionRepository.findTotalsByCurrency().stream()
+                .map(row -> new CurrencyTotalDTO(
+                        (String) row[0],
+                        ((Number) row[1]).longValue(),
+                        (BigDecimal) row[2]
+                ))
+                .toList();
+
+        // Amounts in different currencies are only summed after conversion to the base currency at current rates
+        String baseCurrency = fxRateService.getBaseCurrency();
+        BigDecimal totalAmount = totalsByCurrency.stream()
+                .map(total -> fxRateService.convert(total.amount(), total.currency(), baseCurrency).amount())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         return ResponseEntity.ok(
                 new SystemStatsDTO(
                         userCount,
                         accountCount,
                         transactionCount,
-                        totalAmount
+                        totalAmount,
+                        baseCurrency,
+                        totalsByCurrency
                 )
         );
     }
 
     @GetMapping("/daily-stats")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<DailyTransactionStatsDTO>> getDailyStats(
             @RequestParam(defaultValue = "30") int days
     ) {
@@ -76,6 +116,7 @@ public class AdminController {
     }
 
     @GetMapping("/12-month-stats")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<MonthlyTransactionStatsDTO>> get12MonthTransactionStats() {
         LocalDateTime startDate = LocalDateTime.now().minusYears(1);
         List<Object[]> rawStats = transactionRepository.findMonthlyStats(startDate);
@@ -92,6 +133,7 @@ public class AdminController {
     }
 
     @GetMapping("/users")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<UserInfoDTO>> getAllUsers() {
         return ResponseEntity.ok(
                 userRepository.findAll().stream()
@@ -109,6 +151,7 @@ public class AdminController {
     }
 
     @GetMapping("/accounts")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<AccountResponseDTO>> getAllAccounts() {
         return ResponseEntity.ok(
                 accountRepository.findAll().stream()
@@ -124,34 +167,115 @@ public class AdminController {
         );
     }
 
+    @GetMapping("/accounts/{accountId}/velocity")
+    public ResponseEntity<AccountVelocityDTO> getAccountVelocity(@PathVariable Long accountId) {
+        return ResponseEntity.ok(accountVelocityService.getAccountVelocity(accountId));
+    }
+
+    @PostMapping("/accounts/{accountNumber}/freeze")
+    public ResponseEntity<AccountStatusDTO> freezeAccount(@PathVariable String accountNumber) {
+        return ResponseEntity.ok(toStatusDTO(accountService.updateStatus(accountNumber, Account.AccountStatus.FROZEN)));
+    }
+
+    @PostMapping("/accounts/{accountNumber}/unfreeze")
+    public ResponseEntity<AccountStatusDTO> unfreezeAccount(@PathVariable String accountNumber) {
+        return ResponseEntity.ok(toStatusDTO(accountService.updateStatus(accountNumber, Account.AccountStatus.ACTIVE)));
+    }
+
+    @PostMapping("/accounts/{accountNumber}/close")
+    public ResponseEntity<AccountStatusDTO> closeAccount(@PathVariable String accountNumber) {
+        return ResponseEntity.ok(toStatusDTO(accountService.updateStatus(accountNumber, Account.AccountStatus.CLOSED)));
+    }
+
+    @GetMapping("/fx-rates")
+    public ResponseEntity<Map<String, BigDecimal>> getFxRates() {
+        return ResponseEntity.ok(fxRateService.getRates());
+    }
+
+    @PutMapping("/fx-rates/{currency}")
+    public ResponseEntity<Map<String, BigDecimal>> updateFxRate(
+            @PathVariable String currency,
+            @Valid @RequestBody FxRateRequestDTO request
+    ) {
+        fxRateService.updateRate(currency, request.rate());
+        return ResponseEntity.ok(fxRateService.getRates());
+    }
+
     @GetMapping("/transactions")
-    public ResponseEntity<List<AdminTransactionResponseDTO>> getAllTransactions() {
-        return ResponseEntity.ok(
-                transactionRepository.findAll().stream()
-                        .map(transaction -> {
-                            TransactionRequestDTO requestDTO = new TransactionRequestDTO(
-                                    transaction.getAmount().doubleValue(),
-                                    transaction.getTimestamp().toString(),
-                                    transaction.getType().name(),
-                                    transaction.getReceiverAccount().getId(),
-                                    transaction.getSenderAccount() != null ?
-                                            transaction.getSenderAccount().getId() : -1
-                            );
-
-                            FraudDetectionDTO fraud = fraudDetectionService.predictFraud(requestDTO);
-
-                            return new AdminTransactionResponseDTO(
-                                    transaction.getSenderAccount() != null ?
-                                            transaction.getSenderAccount().getAccountNumber() : "SYS_BANK",
-                                    transaction.getReceiverAccount().getAccountNumber(),
-                                    transaction.getAmount(),
-                                    transaction.getDescription(),
-                                    transaction.getType().name(),
-                                    transaction.getTimestamp(),
-                                    fraud
-                            );
-                        })
-                        .toList()
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<AdminTransactionResponseDTO>> getAllTransactions(
+            @RequestParam(required = false) Double minRiskScore,
+            @RequestParam(required = false) Transaction.TransactionStatus status
+    ) {
+        List<Transaction> transactions;
+        if (status == Transaction.TransactionStatus.COMPLETED) {
+            transactions = transactionRepository.findCompletedOrderByTimestampDesc();
+        } else if (status != null) {
+            transactions = transactionRepository.findByStatusOrderByTimestampDesc(status);
+        } else if (minRiskScore != null) {
+            transactions = transactionRepository.findByRiskScoreGreaterThanEqualOrderByRiskScoreDesc(minRiskScore);
+        } else {
+            transactions = transactionRepository.findAll();
+        }
+
+        return ResponseEntity.ok(transactions.stream().map(this::toAdminDTO).toList());
+    }
+
+    @PostMapping("/transactions/{transactionId}/release")
+    public ResponseEntity<AdminTransactionResponseDTO> releaseHeldTransfer(@PathVariable UUID transactionId) {
+        return ResponseEntity.ok(toAdminDTO(transactionService.releaseHeldTransfer(transactionId)));
+    }
+
+    @PostMapping("/transactions/{transactionId}/reject")
+    public ResponseEntity<AdminTransactionResponseDTO> rejectHeldTransfer(@PathVariable UUID transactionId) {
+        return ResponseEntity.ok(toAdminDTO(transactionService.rejectHeldTransfer(transactionId)));
+    }
+
+    @PostMapping("/statements/{month}")
+    public ResponseEntity<StatementJobStatusDTO> generateStatements(@PathVariable YearMonth month) {
+        if (!statementJobService.start(month)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(statementJobService.getStatus());
+        }
+        return ResponseEntity.accepted().body(statementJobService.getStatus());
+    }
+
+    @GetMapping("/statements/status")
+    public ResponseEntity<StatementJobStatusDTO> getStatementStatus() {
+        return ResponseEntity.ok(statementJobService.getStatus());
+    }
+
+    @PostMapping("/reconciliation")
+    public ResponseEntity<ReconciliationStatusDTO> startReconciliation() {
+        if (!reconciliationService.start()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(reconciliationService.getStatus());
+        }
+        return ResponseEntity.accepted().body(reconciliationService.getStatus());
+    }
+
+    @GetMapping("/reconciliation")
+    public ResponseEntity<ReconciliationStatusDTO> getReconciliationStatus() {
+        return ResponseEntity.ok(reconciliationService.getStatus());
+    }
+
+    private AccountStatusDTO toStatusDTO(Account account) {
+        return new AccountStatusDTO(account.getAccountNumber(), account.getStatus().name());
+    }
+
+    private AdminTransactionResponseDTO toAdminDTO(Transaction transaction) {
+        boolean withdrawal = transaction.getType() == Transaction.TransactionType.WITHDRAWAL;
+        return new AdminTransactionResponseDTO(
+                withdrawal ? transaction.getReceiverAccount().getAccountNumber()
+                        : transaction.getSenderAccount() != null ?
+                        transaction.getSenderAccount().getAccountNumber() : "SYS_BANK",
+                withdrawal ? "SYS_BANK" : transaction.getReceiverAccount().getAccountNumber(),
+                transaction.getAmount(),
+                transaction.getDescription(),
+                transaction.getType().name(),
+                transaction.getTimestamp(),
+                transaction.getStatus() != null ?
+                        transaction.getStatus().name() : Transaction.TransactionStatus.COMPLETED.name(),
+                transaction.getRiskScore() != null ?
+                        new FraudDetectionDTO(transaction.getFraud(), transaction.getRiskScore()) : null
         );
     }
 
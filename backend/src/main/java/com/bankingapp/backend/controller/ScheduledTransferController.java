@@ -0,0 +1,50 @@
+package com.bankingapp.backend.controller;
+
+import com.bankingapp.backend.dto.ScheduledTransferRequestDTO;
+import com.bankingapp.backend.dto.ScheduledTransferResponseDTO;
+import com.bankingapp.backend.service.ScheduledTransferService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/scheduled-transfers")
+public class ScheduledTransferController {
+
+    private final ScheduledTransferService scheduledTransferService;
+
+    public ScheduledTransferController(ScheduledTransferService scheduledTransferService) {
+        this.scheduledTransferService = scheduledTransferService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<ScheduledTransferResponseDTO> create(
+            @Valid @RequestBody ScheduledTransferRequestDTO request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(scheduledTransferService.create(request, userDetails));
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<List<ScheduledTransferResponseDTO>> list(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(scheduledTransferService.findByUser(userDetails.getUsername()));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<ScheduledTransferResponseDTO> cancel(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(scheduledTransferService.cancel(id, userDetails.getUsername()));
+    }
+
+}
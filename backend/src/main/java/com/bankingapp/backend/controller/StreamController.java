@@ -0,0 +1,52 @@
+package com.bankingapp.backend.controller;
+
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.User;
+import com.bankingapp.backend.repository.UserRepository;
+import com.bankingapp.backend.service.AccountService;
+import com.bankingapp.backend.service.LedgerStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stream")
+public class StreamController {
+
+    private final LedgerStreamService ledgerStreamService;
+    private final AccountService accountService;
+    private final UserRepository userRepository;
+
+    public StreamController(LedgerStreamService ledgerStreamService,
+                            AccountService accountService,
+                            UserRepository userRepository) {
+        this.ledgerStreamService = ledgerStreamService;
+        this.accountService = accountService;
+        this.userRepository = userRepository;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<SseEmitter> stream(@AuthenticationPrincipal UserDetails userDetails) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        List<Long> accountIds = accountService.findAccountsByUserId(user.getId())
+                .stream()
+                .map(Account::getId)
+                .toList();
+
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(ledgerStreamService.connect(user.getId(), accountIds));
+    }
+
+}
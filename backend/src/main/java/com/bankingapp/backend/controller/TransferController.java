@@ -1,17 +1,24 @@
 package com.bankingapp.backend.controller;
 
 import com.bankingapp.backend.dto.TransactionResponseDTO;
+import com.bankingapp.backend.dto.TransactionSearchResultDTO;
 import com.bankingapp.backend.dto.TransferRequestDTO;
 import com.bankingapp.backend.model.Transaction;
 import com.bankingapp.backend.service.AccountService;
+import com.bankingapp.backend.service.TransactionSearchService;
 import com.bankingapp.backend.service.TransactionService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,10 +27,14 @@ public class TransferController {
 
     private final AccountService accountService;
     private final TransactionService transactionService;
+    private final TransactionSearchService transactionSearchService;
 
-    public TransferController(AccountService accountService, TransactionService transactionService) {
+    public TransferController(AccountService accountService,
+                              TransactionService transactionService,
+                              TransactionSearchService transactionSearchService) {
         this.accountService = accountService;
         this.transactionService = transactionService;
+        this.transactionSearchService = transactionSearchService;
     }
 
     @PostMapping
@@ -39,54 +50,96 @@ public class TransferController {
                 request.amount(),
                 request.description()
         );
-        return ResponseEntity.ok(new TransactionResponseDTO(
+        TransactionResponseDTO response = new TransactionResponseDTO(
                 transaction.getSenderAccount().getAccountNumber(),
                 transaction.getReceiverAccount().getAccountNumber(),
                 transaction.getAmount(),
+                transaction.getCurrency(),
                 transaction.getDescription(),
                 transaction.getType().name(),
                 transaction.getTimestamp()
-        ));
+        );
+        if (transaction.getStatus() == Transaction.TransactionStatus.HELD) {
+            return ResponseEntity.accepted().body(response);
+        }
+        return ResponseEntity.ok(response);
     }
 
+    // The ETag version and the body are read in one transaction, so both come from the same database
     @GetMapping("/account/{accountNumber}")
     @PreAuthorize("hasRole('USER')")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<TransactionResponseDTO>> getTransactionsByAccount(
             @PathVariable String accountNumber,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(
-                transactionService.getAllUserTransactions(accountNumber, userDetails.getUsername())
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest request) {
+        return ConditionalResponses.conditional(
+                request,
+                accountService.findAccountVersion(accountNumber, userDetails.getUsername()),
+                "all",
+                () -> transactionService.getAllUserTransactions(accountNumber, userDetails.getUsername())
         );
     }
 
     @GetMapping("/deposits/account/{accountNumber}")
     @PreAuthorize("hasRole('USER')")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<TransactionResponseDTO>> getDepositTransactionsByAccount(
             @PathVariable String accountNumber,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(
-                transactionService.getUserDepositTransactions(accountNumber, userDetails.getUsername())
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest request) {
+        return ConditionalResponses.conditional(
+                request,
+                accountService.findAccountVersion(accountNumber, userDetails.getUsername()),
+                "deposits",
+                () -> transactionService.getUserDepositTransactions(accountNumber, userDetails.getUsername())
         );
     }
 
     @GetMapping("/sent/account/{accountNumber}")
     @PreAuthorize("hasRole('USER')")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<TransactionResponseDTO>> getSentTransactionsByAccount(
             @PathVariable String accountNumber,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(
-                transactionService.getUserSentTransactions(accountNumber, userDetails.getUsername())
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest request) {
+        return ConditionalResponses.conditional(
+                request,
+                accountService.findAccountVersion(accountNumber, userDetails.getUsername()),
+                "sent",
+                () -> transactionService.getUserSentTransactions(accountNumber, userDetails.getUsername())
         );
     }
 
     @GetMapping("/received/account/{accountNumber}")
     @PreAuthorize("hasRole('USER')")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<TransactionResponseDTO>> getReceivedTransactionsByAccount(
             @PathVariable String accountNumber,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(
-                transactionService.getUserReceivedTransactions(accountNumber, userDetails.getUsername())
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest request) {
+        return ConditionalResponses.conditional(
+                request,
+                accountService.findAccountVersion(accountNumber, userDetails.getUsername()),
+                "received",
+                () -> transactionService.getUserReceivedTransactions(accountNumber, userDetails.getUsername())
         );
     }
 
-}
\ No newline at end of file
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TransactionSearchResultDTO> searchTransactions(
+            @RequestParam String q,
+            @RequestParam(required = false) String accountNumber,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(transactionSearchService.search(
+                userDetails.getUsername(), q, accountNumber, from, to, minAmount, maxAmount, page, size));
+    }
+
+}
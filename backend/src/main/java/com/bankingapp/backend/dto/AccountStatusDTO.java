@@ -0,0 +1,7 @@
+package com.bankingapp.backend.dto;
+
+public record AccountStatusDTO(
+        String accountNumber,
+        String status
+) {
+}
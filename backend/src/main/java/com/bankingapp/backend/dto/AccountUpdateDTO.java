@@ -0,0 +1,10 @@
+package com.bankingapp.backend.dto;
+
+import java.math.BigDecimal;
+
+public record AccountUpdateDTO(
+        String accountNumber,
+        BigDecimal balanceDelta,
+        TransactionResponseDTO transaction
+) {
+}
@@ -0,0 +1,8 @@
+package com.bankingapp.backend.dto;
+
+public record AccountVelocityDTO(
+        Long accountId,
+        VelocityFeaturesDTO outgoing,
+        VelocityFeaturesDTO incoming
+) {
+}
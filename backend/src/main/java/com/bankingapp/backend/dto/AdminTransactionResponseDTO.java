@@ -10,6 +10,7 @@ public record AdminTransactionResponseDTO(
         String description,
         String type,
         LocalDateTime timestamp,
+        String status,
 
         FraudDetectionDTO fraudDetection
 ) {
@@ -0,0 +1,12 @@
+package com.bankingapp.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record BalanceAtDTO(
+        String accountNumber,
+        LocalDateTime at,
+        BigDecimal balance,
+        LocalDateTime checkpointAt
+) {
+}
@@ -0,0 +1,11 @@
+package com.bankingapp.backend.dto;
+
+import java.math.BigDecimal;
+
+public record BalanceDiscrepancyDTO(
+        Long accountId,
+        String accountNumber,
+        BigDecimal balance,
+        BigDecimal expectedBalance
+) {
+}
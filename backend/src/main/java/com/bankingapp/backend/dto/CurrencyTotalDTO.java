@@ -0,0 +1,10 @@
+package com.bankingapp.backend.dto;
+
+import java.math.BigDecimal;
+
+public record CurrencyTotalDTO(
+        String currency,
+        long transactions,
+        BigDecimal amount
+) {
+}
@@ -0,0 +1,10 @@
+package com.bankingapp.backend.dto;
+
+import java.util.List;
+
+public record DashboardAccountDTO(
+        AccountResponseDTO account,
+        List<TransactionResponseDTO> recentTransactions,
+        boolean recentTransactionsLoaded
+) {
+}
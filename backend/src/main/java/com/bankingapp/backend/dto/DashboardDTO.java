@@ -0,0 +1,10 @@
+package com.bankingapp.backend.dto;
+
+import java.util.List;
+
+public record DashboardDTO(
+        UserInfoDTO user,
+        List<DashboardAccountDTO> accounts,
+        boolean partial
+) {
+}
@@ -0,0 +1,13 @@
+package com.bankingapp.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public record FxRateRequestDTO(
+        @NotNull(message = "Rate is required")
+        @Positive(message = "Rate must be positive")
+        BigDecimal rate
+) {
+}
@@ -0,0 +1,20 @@
+package com.bankingapp.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ReconciliationStatusDTO(
+        boolean running,
+        boolean consistentSnapshot,
+        long rangesCompleted,
+        long rangesTotal,
+        long accountsChecked,
+        long ledgerRows,
+        double ledgerRowsPerSecond,
+        long discrepancyCount,
+        List<BalanceDiscrepancyDTO> discrepancies,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error
+) {
+}
@@ -0,0 +1,21 @@
+package com.bankingapp.backend.dto;
+
+import com.bankingapp.backend.model.ScheduledTransfer;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ScheduledTransferRequestDTO(
+        @NotBlank String senderAccountNumber,
+        @NotBlank String receiverAccountNumber,
+        @Positive BigDecimal amount,
+        @NotBlank String description,
+        @NotNull ScheduledTransfer.Frequency frequency,
+        @NotNull @FutureOrPresent LocalDateTime startAt,
+        LocalDateTime endAt
+) {
+}
@@ -0,0 +1,21 @@
+package com.bankingapp.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ScheduledTransferResponseDTO(
+        Long id,
+        String senderAccountNumber,
+        String receiverAccountNumber,
+        BigDecimal amount,
+        String description,
+        String frequency,
+        LocalDateTime startAt,
+        LocalDateTime endAt,
+        LocalDateTime nextExecutionAt,
+        String status,
+        int attempts,
+        String lastError,
+        LocalDateTime lastExecutedAt
+) {
+}
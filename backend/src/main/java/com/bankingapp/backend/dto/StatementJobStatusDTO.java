@@ -0,0 +1,13 @@
+package com.bankingapp.backend.dto;
+
+import java.time.LocalDateTime;
+
+public record StatementJobStatusDTO(
+        String month,
+        boolean running,
+        long rowsProcessed,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error
+) {
+}
@@ -1,11 +1,14 @@
 package com.bankingapp.backend.dto;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 public record SystemStatsDTO(
         long totalUsers,
         long totalAccounts,
         long totalTransactions,
-        BigDecimal totalTransactionsAmount
+        BigDecimal totalTransactionsAmount,
+        String baseCurrency,
+        List<CurrencyTotalDTO> totalsByCurrency
 ) {
 }
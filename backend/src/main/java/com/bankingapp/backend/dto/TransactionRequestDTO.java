@@ -5,6 +5,30 @@ public record TransactionRequestDTO(
         String timestamp,
         String type,
         Long receiver_account,
-        Long sender_account
+        Long sender_account,
+        long sender_count_1h,
+        double sender_amount_1h,
+        long sender_count_24h,
+        double sender_amount_24h
 ) {
+
+    public TransactionRequestDTO(double amount, String timestamp, String type,
+                                 Long receiver_account, Long sender_account) {
+        this(amount, timestamp, type, receiver_account, sender_account, 0, 0.0, 0, 0.0);
+    }
+
+    public TransactionRequestDTO withVelocity(VelocityFeaturesDTO velocity) {
+        return new TransactionRequestDTO(
+                amount,
+                timestamp,
+                type,
+                receiver_account,
+                sender_account,
+                velocity.count1h(),
+                velocity.amount1h().doubleValue(),
+                velocity.count24h(),
+                velocity.amount24h().doubleValue()
+        );
+    }
+
 }
@@ -7,6 +7,7 @@ public record TransactionResponseDTO(
         String senderAccountNumber,
         String receiverAccountNumber,
         BigDecimal amount,
+        String currency,
         String description,
         String type,
         LocalDateTime timestamp
@@ -0,0 +1,11 @@
+package com.bankingapp.backend.dto;
+
+import java.util.List;
+
+public record TransactionSearchResultDTO(
+        List<TransactionResponseDTO> results,
+        int page,
+        int size,
+        boolean hasNext
+) {
+}
@@ -0,0 +1,11 @@
+package com.bankingapp.backend.dto;
+
+import java.math.BigDecimal;
+
+public record VelocityFeaturesDTO(
+        long count1h,
+        BigDecimal amount1h,
+        long count24h,
+        BigDecimal amount24h
+) {
+}
@@ -0,0 +1,15 @@
+package com.bankingapp.backend.dto;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public record WithdrawalRequestDTO(
+        @Positive(message = "Amount must be positive")
+        @Digits(integer = 17, fraction = 2, message = "Amount must not have more than two decimal places")
+        BigDecimal amount,
+
+        String description
+) {
+}
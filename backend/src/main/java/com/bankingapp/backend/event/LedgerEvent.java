@@ -0,0 +1,12 @@
+package com.bankingapp.backend.event;
+
+import java.time.LocalDateTime;
+
+public record LedgerEvent(
+        long id,
+        String type,
+        Long accountId,
+        TransactionCommittedEvent payload,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,28 @@
+package com.bankingapp.backend.event;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+@Component
+public class LedgerEventBus {
+
+    private final Map<String, Consumer<LedgerEvent>> consumers = new ConcurrentHashMap<>();
+
+    public void subscribe(String consumer, Consumer<LedgerEvent> handler) {
+        if (consumers.putIfAbsent(consumer, handler) != null) {
+            throw new IllegalStateException("Outbox consumer already registered: " + consumer);
+        }
+    }
+
+    public boolean hasConsumers() {
+        return !consumers.isEmpty();
+    }
+
+    public Map<String, Consumer<LedgerEvent>> getConsumers() {
+        return Map.copyOf(consumers);
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.bankingapp.backend.event;
+
+import com.bankingapp.backend.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TransactionCommittedEvent(
+        UUID transactionId,
+        Transaction.TransactionType type,
+        Transaction.TransactionStatus status,
+        Long senderAccountId,
+        String senderAccountNumber,
+        Long receiverAccountId,
+        String receiverAccountNumber,
+        BigDecimal amount,
+        String currency,
+        BigDecimal receiverAmount,
+        String receiverCurrency,
+        String description,
+        LocalDateTime timestamp
+) {
+
+    public static TransactionCommittedEvent of(Transaction transaction) {
+        return new TransactionCommittedEvent(
+                transaction.getId(),
+                transaction.getType(),
+                transaction.getStatus(),
+                transaction.getSenderAccount() != null ? transaction.getSenderAccount().getId() : null,
+                transaction.getSenderAccount() != null ? transaction.getSenderAccount().getAccountNumber() : null,
+                transaction.getReceiverAccount().getId(),
+                transaction.getReceiverAccount().getAccountNumber(),
+                transaction.getAmount(),
+                transaction.getCurrency(),
+                transaction.getReceiverAmount(),
+                transaction.getReceiverAccount().getCurrency(),
+                transaction.getDescription(),
+                transaction.getTimestamp() != null ? transaction.getTimestamp() : LocalDateTime.now()
+        );
+    }
+
+}
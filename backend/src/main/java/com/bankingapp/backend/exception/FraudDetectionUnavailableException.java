@@ -0,0 +1,9 @@
+package com.bankingapp.backend.exception;
+
+public class FraudDetectionUnavailableException extends RuntimeException {
+
+    public FraudDetectionUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
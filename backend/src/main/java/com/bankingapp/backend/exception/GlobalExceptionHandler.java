@@ -1,13 +1,18 @@
 package com.bankingapp.backend.exception;
 
 import com.bankingapp.backend.dto.ErrorResponseDTO;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,7 +36,7 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
-    @ExceptionHandler({UsernameNotFoundException.class, AccountNotFoundException.class})
+    @ExceptionHandler({UsernameNotFoundException.class, AccountNotFoundException.class, TransactionNotFoundException.class})
     public ResponseEntity<ErrorResponseDTO> handleNotFound(RuntimeException ex) {
         ErrorResponseDTO response = new ErrorResponseDTO(
                 ex.getMessage(),
@@ -42,8 +47,8 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
-    @ExceptionHandler(InsufficientFundsException.class)
-    public ResponseEntity<ErrorResponseDTO> handleInsufficientFunds(InsufficientFundsException ex) {
+    @ExceptionHandler({InsufficientFundsException.class, InvalidScheduleException.class, InvalidSearchQueryException.class})
+    public ResponseEntity<ErrorResponseDTO> handleBadRequest(RuntimeException ex) {
         ErrorResponseDTO response = new ErrorResponseDTO(
                 ex.getMessage(),
                 null,
@@ -63,4 +68,72 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler({TransferRejectedException.class, WithdrawalLimitExceededException.class,
+            UnsupportedCurrencyException.class})
+    public ResponseEntity<ErrorResponseDTO> handleUnprocessable(RuntimeException ex) {
+        ErrorResponseDTO response = new ErrorResponseDTO(
+                ex.getMessage(),
+                null,
+                HttpStatus.UNPROCESSABLE_ENTITY
+        );
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
+    }
+
+    @ExceptionHandler({InvalidTransactionStateException.class, InvalidAccountStateException.class})
+    public ResponseEntity<ErrorResponseDTO> handleInvalidState(RuntimeException ex) {
+        ErrorResponseDTO response = new ErrorResponseDTO(
+                ex.getMessage(),
+                null,
+                HttpStatus.CONFLICT
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleConcurrentModification(OptimisticLockingFailureException ex) {
+        ErrorResponseDTO response = new ErrorResponseDTO(
+                "Account was modified concurrently, please retry",
+                null,
+                HttpStatus.CONFLICT
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    // Only a Hikari connection-timeout is turned into a retryable 503; other connection failures stay 500s
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponseDTO> handleConnectionPoolExhausted(RuntimeException ex) {
+        if (!isPoolTimeout(ex)) {
+            throw ex;
+        }
+        ErrorResponseDTO response = new ErrorResponseDTO(
+                "Service is busy, please retry",
+                null,
+                HttpStatus.SERVICE_UNAVAILABLE
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    @ExceptionHandler(StreamCapacityException.class)
+    public ResponseEntity<ErrorResponseDTO> handleStreamCapacity(StreamCapacityException ex) {
+        ErrorResponseDTO response = new ErrorResponseDTO(
+                ex.getMessage(),
+                null,
+                HttpStatus.SERVICE_UNAVAILABLE
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(response);
+    }
+
+    private static boolean isPoolTimeout(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -0,0 +1,9 @@
+package com.bankingapp.backend.exception;
+
+public class InvalidAccountStateException extends RuntimeException {
+
+    public InvalidAccountStateException(String message) {
+        super(message);
+    }
+
+}
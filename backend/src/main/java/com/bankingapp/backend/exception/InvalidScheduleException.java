@@ -0,0 +1,9 @@
+package com.bankingapp.backend.exception;
+
+public class InvalidScheduleException extends RuntimeException {
+
+    public InvalidScheduleException(String message) {
+        super(message);
+    }
+
+}
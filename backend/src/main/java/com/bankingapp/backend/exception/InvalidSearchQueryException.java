@@ -0,0 +1,9 @@
+package com.bankingapp.backend.exception;
+
+public class InvalidSearchQueryException extends RuntimeException {
+
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+
+}
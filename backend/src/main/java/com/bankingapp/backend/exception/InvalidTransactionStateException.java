@@ -0,0 +1,9 @@
+package com.bankingapp.backend.exception;
+
+public class InvalidTransactionStateException extends RuntimeException {
+
+    public InvalidTransactionStateException(String message) {
+        super(message);
+    }
+
+}
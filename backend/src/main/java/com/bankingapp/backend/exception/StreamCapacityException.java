@@ -0,0 +1,9 @@
+package com.bankingapp.backend.exception;
+
+public class StreamCapacityException extends RuntimeException {
+
+    public StreamCapacityException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.bankingapp.backend.exception;
+
+public class TransactionNotFoundException extends RuntimeException {
+
+    public TransactionNotFoundException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.bankingapp.backend.exception;
+
+public class TransferRejectedException extends RuntimeException {
+
+    public TransferRejectedException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.bankingapp.backend.exception;
+
+public class UnsupportedCurrencyException extends RuntimeException {
+
+    public UnsupportedCurrencyException(String message) {
+        super(message);
+    }
+
+}
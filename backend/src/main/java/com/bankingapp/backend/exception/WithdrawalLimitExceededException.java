@@ -0,0 +1,9 @@
+package com.bankingapp.backend.exception;
+
+public class WithdrawalLimitExceededException extends RuntimeException {
+
+    public WithdrawalLimitExceededException(String message) {
+        super(message);
+    }
+
+}
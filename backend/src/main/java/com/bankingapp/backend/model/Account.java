@@ -1,5 +1,6 @@
 package com.bankingapp.backend.model;
 
+import com.bankingapp.backend.exception.InvalidAccountStateException;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 
@@ -40,6 +41,14 @@ public class Account {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    // Bumped by withdrawals only, so cached withdrawal limits stay valid across deposits and transfers
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long withdrawalVersion;
+
     public Account() {
     }
 
@@ -91,6 +100,16 @@ public class Account {
         this.status = status;
     }
 
+    public boolean isActive() {
+        return status == AccountStatus.ACTIVE;
+    }
+
+    public void requireActive() {
+        if (!isActive()) {
+            throw new InvalidAccountStateException("Account " + accountNumber + " is " + status.name().toLowerCase());
+        }
+    }
+
     public User getUser() {
         return user;
     }
@@ -99,4 +118,17 @@ public class Account {
         this.user = user;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public long getWithdrawalVersion() {
+        return withdrawalVersion;
+    }
+
+    public void recordWithdrawal(BigDecimal amount) {
+        balance = balance.subtract(amount);
+        withdrawalVersion++;
+    }
+
 }
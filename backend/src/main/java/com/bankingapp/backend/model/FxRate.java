@@ -0,0 +1,52 @@
+package com.bankingapp.backend.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "fx_rates")
+public class FxRate {
+
+    @Id
+    @Column(length = 3)
+    private String currency;
+
+    // Value of one unit of this currency in the base currency
+    @Column(precision = 19, scale = 8, nullable = false)
+    private BigDecimal rate;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public FxRate() {
+    }
+
+    public FxRate(String currency, BigDecimal rate, LocalDateTime updatedAt) {
+        this.currency = currency;
+        this.rate = rate;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public void setRate(BigDecimal rate) {
+        this.rate = rate;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+}
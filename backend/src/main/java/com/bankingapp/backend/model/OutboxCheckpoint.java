@@ -0,0 +1,52 @@
+package com.bankingapp.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_checkpoints")
+public class OutboxCheckpoint {
+
+    @Id
+    private String consumer;
+
+    @Column(nullable = false)
+    private long lastEventId;
+
+    // Ids below lastEventId that were missing when it passed them, as "id@firstSeenMillis" pairs
+    @Column(columnDefinition = "TEXT")
+    private String openGaps;
+
+    private LocalDateTime updatedAt;
+
+    public OutboxCheckpoint() {
+    }
+
+    public String getConsumer() {
+        return consumer;
+    }
+
+    public long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(long lastEventId) {
+        this.lastEventId = lastEventId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getOpenGaps() {
+        return openGaps;
+    }
+
+    public void setOpenGaps(String openGaps) {
+        this.openGaps = openGaps;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+}
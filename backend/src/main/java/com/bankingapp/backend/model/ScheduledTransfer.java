@@ -0,0 +1,169 @@
+package com.bankingapp.backend.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scheduled_transfers", indexes = {
+        @Index(name = "idx_scheduled_transfers_due", columnList = "status, next_execution_at")
+})
+public class ScheduledTransfer {
+
+    public enum Frequency {
+        ONCE, DAILY, WEEKLY, MONTHLY
+    }
+
+    public enum Status {
+        ACTIVE, COMPLETED, FAILED, CANCELLED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sender_account", nullable = false)
+    private Account senderAccount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "receiver_account", nullable = false)
+    private Account receiverAccount;
+
+    @Column(precision = 19, scale = 2, nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Frequency frequency;
+
+    @Column(nullable = false)
+    private LocalDateTime startAt;
+
+    private LocalDateTime endAt;
+
+    @Column(name = "next_execution_at", nullable = false)
+    private LocalDateTime nextExecutionAt;
+
+    @Column(nullable = false)
+    private long occurrence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.ACTIVE;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    private String lastError;
+
+    private LocalDateTime lastExecutedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public ScheduledTransfer() {
+    }
+
+    public ScheduledTransfer(Account senderAccount, Account receiverAccount, BigDecimal amount, String description,
+                             Frequency frequency, LocalDateTime startAt, LocalDateTime endAt) {
+        this.senderAccount = senderAccount;
+        this.receiverAccount = receiverAccount;
+        this.amount = amount;
+        this.description = description;
+        this.frequency = frequency;
+        this.startAt = startAt;
+        this.endAt = endAt;
+        this.nextExecutionAt = startAt;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Account getSenderAccount() {
+        return senderAccount;
+    }
+
+    public Account getReceiverAccount() {
+        return receiverAccount;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public LocalDateTime getStartAt() {
+        return startAt;
+    }
+
+    public LocalDateTime getEndAt() {
+        return endAt;
+    }
+
+    public LocalDateTime getNextExecutionAt() {
+        return nextExecutionAt;
+    }
+
+    public void setNextExecutionAt(LocalDateTime nextExecutionAt) {
+        this.nextExecutionAt = nextExecutionAt;
+    }
+
+    public long getOccurrence() {
+        return occurrence;
+    }
+
+    public void setOccurrence(long occurrence) {
+        this.occurrence = occurrence;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getLastExecutedAt() {
+        return lastExecutedAt;
+    }
+
+    public void setLastExecutedAt(LocalDateTime lastExecutedAt) {
+        this.lastExecutedAt = lastExecutedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+}
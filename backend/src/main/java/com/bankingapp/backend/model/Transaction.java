@@ -8,7 +8,12 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_risk_score", columnList = "risk_score"),
+        @Index(name = "idx_transactions_timestamp", columnList = "timestamp, id"),
+        @Index(name = "idx_transactions_receiver_timestamp", columnList = "receiver_account, timestamp"),
+        @Index(name = "idx_transactions_sender_timestamp", columnList = "sender_account, timestamp")
+})
 public class Transaction {
 
     public enum TransactionType {
@@ -17,6 +22,12 @@ public class Transaction {
         TRANSFER
     }
 
+    public enum TransactionStatus {
+        COMPLETED,
+        HELD,
+        REJECTED
+    }
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -35,6 +46,9 @@ public class Transaction {
     @Column(nullable = false)
     private TransactionType type;
 
+    @Enumerated(EnumType.STRING)
+    private TransactionStatus status = TransactionStatus.COMPLETED;
+
     @ManyToOne
     @JoinColumn(name = "sender_account")
     private Account senderAccount;
@@ -43,6 +57,24 @@ public class Transaction {
     @JoinColumn(name = "receiver_account", nullable = false)
     private Account receiverAccount;
 
+    @Column(name = "is_fraud")
+    private Boolean fraud;
+
+    @Column(name = "risk_score")
+    private Double riskScore;
+
+    private LocalDateTime fraudScoredAt;
+
+    @Column(nullable = false, columnDefinition = "varchar(3) default 'USD'")
+    private String currency = "USD";
+
+    // Set when the receiver's currency differs: the amount credited to the receiver and the rate applied
+    @Column(name = "converted_amount", precision = 19, scale = 2)
+    private BigDecimal convertedAmount;
+
+    @Column(name = "exchange_rate", precision = 19, scale = 8)
+    private BigDecimal exchangeRate;
+
     public Transaction() {
     }
 
@@ -86,6 +118,14 @@ public class Transaction {
         this.type = type;
     }
 
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TransactionStatus status) {
+        this.status = status;
+    }
+
     public Account getSenderAccount() {
         return senderAccount;
     }
@@ -102,4 +142,56 @@ public class Transaction {
         this.receiverAccount = receiverAccount;
     }
 
+    public Boolean getFraud() {
+        return fraud;
+    }
+
+    public void setFraud(Boolean fraud) {
+        this.fraud = fraud;
+    }
+
+    public Double getRiskScore() {
+        return riskScore;
+    }
+
+    public void setRiskScore(Double riskScore) {
+        this.riskScore = riskScore;
+    }
+
+    public LocalDateTime getFraudScoredAt() {
+        return fraudScoredAt;
+    }
+
+    public void setFraudScoredAt(LocalDateTime fraudScoredAt) {
+        this.fraudScoredAt = fraudScoredAt;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getConvertedAmount() {
+        return convertedAmount;
+    }
+
+    public void setConvertedAmount(BigDecimal convertedAmount) {
+        this.convertedAmount = convertedAmount;
+    }
+
+    public BigDecimal getExchangeRate() {
+        return exchangeRate;
+    }
+
+    public void setExchangeRate(BigDecimal exchangeRate) {
+        this.exchangeRate = exchangeRate;
+    }
+
+    public BigDecimal getReceiverAmount() {
+        return convertedAmount != null ? convertedAmount : amount;
+    }
+
 }
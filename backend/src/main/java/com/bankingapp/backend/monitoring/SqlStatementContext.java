@@ -0,0 +1,41 @@
+package com.bankingapp.backend.monitoring;
+
+public final class SqlStatementContext {
+
+    private static final ThreadLocal<SqlStatementContext> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long nanos;
+
+    private SqlStatementContext() {
+    }
+
+    public static SqlStatementContext start() {
+        SqlStatementContext context = new SqlStatementContext();
+        CURRENT.set(context);
+        return context;
+    }
+
+    public static SqlStatementContext stop() {
+        SqlStatementContext context = CURRENT.get();
+        CURRENT.remove();
+        return context;
+    }
+
+    static void record(long elapsedNanos) {
+        SqlStatementContext context = CURRENT.get();
+        if (context != null) {
+            context.statements++;
+            context.nanos += elapsedNanos;
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+}
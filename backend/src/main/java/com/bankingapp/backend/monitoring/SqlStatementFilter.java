@@ -0,0 +1,79 @@
+package com.bankingapp.backend.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private final static Logger logger = LoggerFactory.getLogger(SqlStatementFilter.class);
+
+    private record EndpointMeters(DistributionSummary statements, Timer time) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, EndpointMeters> meters = new ConcurrentHashMap<>();
+
+    @Value("${sql.statements.warn-threshold:20}")
+    private long warnThreshold;
+
+    public SqlStatementFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementContext.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementContext context = SqlStatementContext.stop();
+            record(request, context);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementContext context) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        EndpointMeters endpoint = meters.computeIfAbsent(method + " " + uri, key -> new EndpointMeters(
+                DistributionSummary.builder("http.server.sql.statements")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                Timer.builder("http.server.sql.time")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .register(meterRegistry)));
+        endpoint.statements().record(context.getStatements());
+        endpoint.time().record(context.getNanos(), TimeUnit.NANOSECONDS);
+
+        if (context.getStatements() > warnThreshold) {
+            logger.warn("{} {} executed {} SQL statements in {} ms (threshold {})",
+                    method, uri, context.getStatements(),
+                    TimeUnit.NANOSECONDS.toMillis(context.getNanos()), warnThreshold);
+        }
+    }
+
+}
@@ -1,14 +1,27 @@
 package com.bankingapp.backend.repository;
 
 import com.bankingapp.backend.model.Account;
+import io.lettuce.core.dynamic.annotation.Param;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long> {
+public interface AccountRepository extends JpaRepository<Account, Long>, AccountRepositoryCustom {
     List<Account> findByUserId(Long userId);
     Optional<Account> findByAccountNumber(String accountNumber);
+
+    @Query("SELECT a.version FROM Account a WHERE a.accountNumber = :accountNumber AND a.user.email = :email")
+    Optional<Long> findVersionByAccountNumberAndEmail(
+            @Param("accountNumber") String accountNumber,
+            @Param("email") String email);
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdAndIncrementVersion(@Param("id") Long id);
 }
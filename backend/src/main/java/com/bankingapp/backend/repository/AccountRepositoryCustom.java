@@ -0,0 +1,9 @@
+package com.bankingapp.backend.repository;
+
+import com.bankingapp.backend.model.Account;
+
+import java.util.Optional;
+
+public interface AccountRepositoryCustom {
+    Optional<Account> findByAccountNumberForUpdate(String accountNumber);
+}
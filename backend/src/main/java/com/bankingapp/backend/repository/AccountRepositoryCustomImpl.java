@@ -0,0 +1,29 @@
+package com.bankingapp.backend.repository;
+
+import com.bankingapp.backend.model.Account;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Optional;
+
+public class AccountRepositoryCustomImpl implements AccountRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Account> findByAccountNumberForUpdate(String accountNumber) {
+        Optional<Account> account = entityManager
+                .createQuery("SELECT a FROM Account a WHERE a.accountNumber = :accountNumber", Account.class)
+                .setParameter("accountNumber", accountNumber)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultStream()
+                .findFirst();
+        // The query hands back the instance already in the persistence context as is, so an account read
+        // before the lock would keep its old balance and version; reload it now that the row is ours
+        account.ifPresent(entityManager::refresh);
+        return account;
+    }
+
+}
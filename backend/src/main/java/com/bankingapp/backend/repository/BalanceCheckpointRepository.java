@@ -0,0 +1,59 @@
+package com.bankingapp.backend.repository;
+
+import com.bankingapp.backend.model.BalanceCheckpoint;
+import io.lettuce.core.dynamic.annotation.Param;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, Long> {
+
+    Optional<BalanceCheckpoint> findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(
+            Long accountId, LocalDateTime at);
+
+    @Query("SELECT MAX(c.checkpointAt) FROM BalanceCheckpoint c")
+    Optional<LocalDateTime> findLatestCheckpointAt();
+
+    // Rolls every account forward from its checkpoint at :previousAt by the completed ledger rows in [previousAt, at)
+    @Modifying
+    @Query(value = """
+            INSERT INTO balance_checkpoints (account_id, checkpoint_at, balance)
+            SELECT a.id, :at, COALESCE(p.balance, 0) + COALESCE(d.delta, 0)
+            FROM accounts a
+            LEFT JOIN balance_checkpoints p ON p.account_id = a.id AND p.checkpoint_at = :previousAt
+            LEFT JOIN (
+                SELECT l.account_id, SUM(l.delta) AS delta
+                FROM (
+                    SELECT t.receiver_account AS account_id,
+                           CASE WHEN t.type = 'WITHDRAWAL' THEN -t.amount
+                                ELSE COALESCE(t.converted_amount, t.amount) END AS delta
+                    FROM transactions t
+                    WHERE t.timestamp >= :previousAt AND t.timestamp < :at
+                      AND (t.status IS NULL OR t.status = 'COMPLETED')
+                    UNION ALL
+                    SELECT t.sender_account, -t.amount
+                    FROM transactions t
+                    WHERE t.sender_account IS NOT NULL AND t.timestamp >= :previousAt AND t.timestamp < :at
+                      AND (t.status IS NULL OR t.status = 'COMPLETED')
+                ) l
+                GROUP BY l.account_id
+            ) d ON d.account_id = a.id
+            WHERE a.opening_date < :at
+            ON CONFLICT (account_id, checkpoint_at) DO NOTHING
+            """, nativeQuery = true)
+    int rollForward(@Param("previousAt") LocalDateTime previousAt, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Query("UPDATE BalanceCheckpoint c SET c.balance = c.balance + :delta " +
+            "WHERE c.accountId = :accountId AND c.checkpointAt > :since")
+    int adjustAfter(@Param("accountId") Long accountId,
+                    @Param("since") LocalDateTime since,
+                    @Param("delta") BigDecimal delta);
+
+}
@@ -0,0 +1,9 @@
+package com.bankingapp.backend.repository;
+
+import com.bankingapp.backend.model.FxRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FxRateRepository extends JpaRepository<FxRate, String> {
+}
@@ -0,0 +1,34 @@
+package com.bankingapp.backend.repository;
+
+import com.bankingapp.backend.model.OutboxCheckpoint;
+import io.lettuce.core.dynamic.annotation.Param;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface OutboxCheckpointRepository extends JpaRepository<OutboxCheckpoint, String> {
+
+    // Lock timeout -2 is Hibernate's SKIP LOCKED: another node already relaying this consumer is skipped
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM OutboxCheckpoint c WHERE c.consumer = :consumer")
+    Optional<OutboxCheckpoint> lockForRelay(@Param("consumer") String consumer);
+
+    @Modifying
+    @Query(value = "INSERT INTO outbox_checkpoints (consumer, last_event_id, updated_at) " +
+            "VALUES (:consumer, 0, now()) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int register(@Param("consumer") String consumer);
+
+    @Query("SELECT MIN(c.lastEventId) FROM OutboxCheckpoint c WHERE c.consumer IN :consumers")
+    Optional<Long> findMinLastEventId(@Param("consumers") Collection<String> consumers);
+
+}
@@ -0,0 +1,34 @@
+package com.bankingapp.backend.repository;
+
+import com.bankingapp.backend.model.OutboxEvent;
+import io.lettuce.core.dynamic.annotation.Param;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :afterId ORDER BY e.id")
+    List<OutboxEvent> findBatchAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    List<OutboxEvent> findByIdInOrderById(Collection<Long> ids);
+
+    @Query("SELECT MAX(e.id) FROM OutboxEvent e")
+    Optional<Long> findMaxId();
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.id > :afterId")
+    Optional<LocalDateTime> findOldestCreatedAtAfter(@Param("afterId") long afterId);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id <= :upToId AND e.createdAt < :before")
+    int deleteDelivered(@Param("upToId") long upToId, @Param("before") LocalDateTime before);
+
+}
@@ -0,0 +1,52 @@
+package com.bankingapp.backend.repository;
+
+import com.bankingapp.backend.model.ScheduledTransfer;
+import io.lettuce.core.dynamic.annotation.Param;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, Long> {
+
+    interface DueTransfer {
+        Long getId();
+        Long getSenderAccountId();
+        LocalDateTime getNextExecutionAt();
+    }
+
+    @Query("SELECT s.id AS id, s.senderAccount.id AS senderAccountId, s.nextExecutionAt AS nextExecutionAt " +
+            "FROM ScheduledTransfer s " +
+            "WHERE s.status = 'ACTIVE' AND s.nextExecutionAt < :before " +
+            "ORDER BY s.nextExecutionAt")
+    List<DueTransfer> findDueBefore(@Param("before") LocalDateTime before, Pageable pageable);
+
+    // Lock timeout -2 is Hibernate's SKIP LOCKED: a schedule being executed by another node is skipped
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM ScheduledTransfer s " +
+            "WHERE s.id = :id AND s.status = 'ACTIVE' AND s.nextExecutionAt <= :now")
+    Optional<ScheduledTransfer> claimDue(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Waits for an execution holding the row, so a cancel never overwrites the schedule it just advanced
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ScheduledTransfer s WHERE s.id = :id")
+    Optional<ScheduledTransfer> lockById(@Param("id") Long id);
+
+    @Query("SELECT s FROM ScheduledTransfer s " +
+            "JOIN FETCH s.senderAccount sa " +
+            "JOIN FETCH s.receiverAccount " +
+            "WHERE sa.user.email = :email " +
+            "ORDER BY s.nextExecutionAt")
+    List<ScheduledTransfer> findBySenderEmail(@Param("email") String email);
+
+}
@@ -2,14 +2,16 @@ package com.bankingapp.backend.repository;
 
 import com.bankingapp.backend.model.Transaction;
 import io.lettuce.core.dynamic.annotation.Param;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -19,7 +21,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
             "JOIN t.senderAccount sa " +
             "JOIN sa.user u " +
             "WHERE (sa.accountNumber = :accountNumber OR :accountNumber IS NULL) AND " +
-            "u.email = :email AND t.type = 'TRANSFER'")
+            "u.email = :email AND t.type = 'TRANSFER' AND (t.status IS NULL OR t.status = 'COMPLETED')")
     List<Transaction> findSentTransfersByAccountAndEmail(
             @Param("accountNumber") String accountNumber,
             @Param("email") String email);
@@ -28,7 +30,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
             "JOIN t.receiverAccount ra " +
             "JOIN ra.user u " +
             "WHERE (ra.accountNumber = :accountNumber OR :accountNumber IS NULL) AND " +
-            "u.email = :email AND t.type = 'TRANSFER'")
+            "u.email = :email AND t.type = 'TRANSFER' AND (t.status IS NULL OR t.status = 'COMPLETED')")
     List<Transaction> findReceivedTransactionsByAccountAndEmail(
             @Param("accountNumber") String accountNumber,
             @Param("email") String email);
@@ -40,7 +42,8 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
             "JOIN ra.user ru " +
             "WHERE (t.senderAccount.accountNumber = :accountNumber OR " +
             "t.receiverAccount.accountNumber = :accountNumber) AND " +
-            "(su.email = :email OR ru.email = :email) " +
+            "(su.email = :email OR ru.email = :email) AND " +
+            "(t.status IS NULL OR t.status = 'COMPLETED') " +
             "ORDER BY t.timestamp DESC")
     List<Transaction> findByAccountNumberAndEmail(
             @Param("accountNumber") String accountNumber,
@@ -55,14 +58,16 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
             @Param("accountNumber") String accountNumber,
             @Param("email") String email);
 
-    @Query("SELECT SUM(t.amount) FROM Transaction t")
-    Optional<BigDecimal> getTotalTransactionsAmount();
+    @Query("SELECT t.currency, COUNT(t), SUM(t.amount) FROM Transaction t " +
+            "WHERE t.status IS NULL OR t.status = 'COMPLETED' " +
+            "GROUP BY t.currency ORDER BY t.currency")
+    List<Object[]> findTotalsByCurrency();
 
     @Query("SELECT FUNCTION('TO_CHAR', t.timestamp, 'YYYY-MM') AS month, " +
             "COUNT(t) AS count, " +
             "SUM(t.amount) AS amount " +
             "FROM Transaction t " +
-            "WHERE t.timestamp >= :startDate " +
+            "WHERE t.timestamp >= :startDate AND (t.status IS NULL OR t.status = 'COMPLETED') " +
             "GROUP BY FUNCTION('TO_CHAR', t.timestamp, 'YYYY-MM') " +
             "ORDER BY month DESC")
     List<Object[]> findMonthlyStats(@Param("startDate") LocalDateTime startDate);
@@ -73,10 +78,115 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
             COUNT(t) as count,
             SUM(t.amount) as amount
         FROM Transaction t
-        WHERE t.timestamp >= :startDate
+        WHERE t.timestamp >= :startDate AND (t.status IS NULL OR t.status = 'COMPLETED')
         GROUP BY CAST(t.timestamp AS date)
         ORDER BY day DESC
         """)
     List<Object[]> findDailyTransactionStats(@Param("startDate") LocalDateTime startDate);
 
+    @Query("SELECT t FROM Transaction t " +
+            "LEFT JOIN FETCH t.senderAccount sa " +
+            "JOIN FETCH t.receiverAccount ra " +
+            "WHERE (sa.id = :accountId OR ra.id = :accountId) " +
+            "AND (t.status IS NULL OR t.status = 'COMPLETED') " +
+            "ORDER BY t.timestamp DESC")
+    List<Transaction> findRecentByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.type = 'WITHDRAWAL' THEN -t.amount " +
+            "ELSE COALESCE(t.convertedAmount, t.amount) END), 0) " +
+            "FROM Transaction t " +
+            "WHERE t.receiverAccount.id = :accountId AND t.timestamp >= :from AND t.timestamp < :to " +
+            "AND (t.status IS NULL OR t.status = 'COMPLETED')")
+    BigDecimal sumCreditsBetween(
+            @Param("accountId") Long accountId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("SELECT t.timestamp, t.amount FROM Transaction t " +
+            "WHERE t.receiverAccount.id = :accountId AND t.type = 'WITHDRAWAL' AND t.timestamp >= :since " +
+            "AND (t.status IS NULL OR t.status = 'COMPLETED')")
+    List<Object[]> findWithdrawalsSince(
+            @Param("accountId") Long accountId,
+            @Param("since") LocalDateTime since);
+
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
+            "WHERE t.senderAccount.id = :accountId AND t.timestamp >= :from AND t.timestamp < :to " +
+            "AND (t.status IS NULL OR t.status = 'COMPLETED')")
+    BigDecimal sumDebitsBetween(
+            @Param("accountId") Long accountId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("SELECT t.id FROM Transaction t " +
+            "WHERE t.riskScore IS NULL AND t.timestamp < :before " +
+            "ORDER BY t.timestamp")
+    List<UUID> findUnscoredIds(@Param("before") LocalDateTime before, Pageable pageable);
+
+    List<Transaction> findByRiskScoreGreaterThanEqualOrderByRiskScoreDesc(Double riskScore);
+
+    List<Transaction> findByStatusOrderByTimestampDesc(Transaction.TransactionStatus status);
+
+    // Rows written before the status column existed have a NULL status and count as completed
+    @Query("SELECT t FROM Transaction t WHERE t.status IS NULL OR t.status = 'COMPLETED' ORDER BY t.timestamp DESC")
+    List<Transaction> findCompletedOrderByTimestampDesc();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Transaction t SET t.fraud = :fraud, t.riskScore = :riskScore, " +
+            "t.fraudScoredAt = :scoredAt WHERE t.id = :id")
+    int updateFraudScore(
+            @Param("id") UUID id,
+            @Param("fraud") boolean fraud,
+            @Param("riskScore") double riskScore,
+            @Param("scoredAt") LocalDateTime scoredAt);
+
+    interface SearchHit {
+        UUID getId();
+        LocalDateTime getTimestamp();
+        String getType();
+        BigDecimal getAmount();
+        String getDescription();
+        String getCurrency();
+        BigDecimal getReceiverAmount();
+        String getReceiverCurrency();
+        Boolean getReceived();
+        String getSenderAccountNumber();
+        String getReceiverAccountNumber();
+    }
+
+    // The to_tsvector expression must match idx_transactions_description_fts for the GIN index to be used.
+    // Amounts are filtered on the side shown to the user: what was credited for received rows.
+    @Query(value = """
+            SELECT t.id AS id, t.timestamp AS timestamp, t.type AS type, t.amount AS amount,
+                   t.currency AS currency, COALESCE(t.converted_amount, t.amount) AS receiverAmount,
+                   ra.currency AS receiverCurrency, side.received AS received,
+                   t.description AS description, sa.account_number AS senderAccountNumber,
+                   ra.account_number AS receiverAccountNumber
+            FROM transactions t
+            LEFT JOIN accounts sa ON sa.id = t.sender_account
+            JOIN accounts ra ON ra.id = t.receiver_account
+            JOIN users u ON u.email = :email
+            CROSS JOIN LATERAL (SELECT ra.user_id = u.id AND (sa.user_id IS NULL OR sa.user_id <> u.id
+                    OR ra.account_number = :accountNumber) AS received) side
+            WHERE to_tsvector('simple', t.description) @@ to_tsquery('simple', :query)
+              AND (sa.user_id = u.id OR ra.user_id = u.id)
+              AND (:accountNumber = '' OR sa.account_number = :accountNumber OR ra.account_number = :accountNumber)
+              AND t.timestamp >= :from AND t.timestamp < :to
+              AND CASE WHEN side.received THEN COALESCE(t.converted_amount, t.amount) ELSE t.amount END
+                  BETWEEN :minAmount AND :maxAmount
+              AND (t.status IS NULL OR t.status = 'COMPLETED')
+            ORDER BY t.timestamp DESC, t.id DESC
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<SearchHit> searchByDescription(
+            @Param("email") String email,
+            @Param("query") String query,
+            @Param("accountNumber") String accountNumber,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("minAmount") BigDecimal minAmount,
+            @Param("maxAmount") BigDecimal maxAmount,
+            @Param("limit") int limit,
+            @Param("offset") long offset);
+
 }
@@ -1,6 +1,9 @@
 package com.bankingapp.backend.security;
 
 import com.bankingapp.backend.service.TokenBlacklistService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +19,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
@@ -25,17 +29,37 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     private final UserDetailsService userDetailsService;
     private final JwtTokenUtil jwtTokenUtil;
     private final TokenBlacklistService tokenBlacklistService;
+    private final Timer filterTimer;
+    private final Counter blacklistHits;
 
     public JwtRequestFilter(UserDetailsService userDetailsService,
                             JwtTokenUtil jwtTokenUtil,
-                            TokenBlacklistService tokenBlacklistService) {
+                            TokenBlacklistService tokenBlacklistService,
+                            MeterRegistry meterRegistry) {
         this.userDetailsService = userDetailsService;
         this.jwtTokenUtil = jwtTokenUtil;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.filterTimer = Timer.builder("auth.jwt.filter")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.blacklistHits = meterRegistry.counter("auth.token.blacklisted");
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean proceed;
+        try {
+            proceed = authenticate(request, response);
+        } finally {
+            filterTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (proceed) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private boolean authenticate(HttpServletRequest request, HttpServletResponse response) throws IOException {
         final String authorizationHeader = request.getHeader("Authorization");
 
         String email = null;
@@ -45,9 +69,10 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             jwtToken = authorizationHeader.substring(7);
 
             if (tokenBlacklistService.isTokenBlacklisted(jwtToken)) {
+                blacklistHits.increment();
                 logger.warn("JWT token is blacklisted: {}", jwtToken);
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token is blacklisted");
-                return;
+                return false;
             }
 
             try {
@@ -69,7 +94,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
             }
         }
-        filterChain.doFilter(request, response);
+        return true;
     }
 
 }
@@ -2,6 +2,7 @@ package com.bankingapp.backend.service;
 
 import com.bankingapp.backend.exception.AccountNotFoundException;
 import com.bankingapp.backend.exception.InsufficientFundsException;
+import com.bankingapp.backend.exception.InvalidAccountStateException;
 import com.bankingapp.backend.model.Account;
 import com.bankingapp.backend.model.User;
 import com.bankingapp.backend.repository.AccountRepository;
@@ -9,6 +10,7 @@ import com.bankingapp.backend.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -19,18 +21,24 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final UserRepository userRepository;
+    private final FxRateService fxRateService;
 
-    public AccountService(AccountRepository accountRepository, UserRepository userRepository) {
+    public AccountService(AccountRepository accountRepository,
+                          UserRepository userRepository,
+                          FxRateService fxRateService) {
         this.accountRepository = accountRepository;
         this.userRepository = userRepository;
+        this.fxRateService = fxRateService;
     }
 
-    public Account createAccount(Long userId) {
+    public Account createAccount(Long userId, String currency) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        fxRateService.requireSupported(currency);
 
         Account account = new Account();
         account.setUser(user);
+        account.setCurrency(currency);
 
         return accountRepository.save(account);
     }
@@ -49,6 +57,7 @@ public class AccountService {
         return account;
     }
 
+    @Transactional(readOnly = true)
     public List<Account> findAccountsByUserId(Long userId) {
         return accountRepository.findByUserId(userId);
     }
@@ -57,4 +66,24 @@ public class AccountService {
         return accountRepository.findByAccountNumber(accountNumber);
     }
 
+    public Optional<Long> findAccountVersion(String accountNumber, String email) {
+        return accountRepository.findVersionByAccountNumberAndEmail(accountNumber, email);
+    }
+
+    @Transactional
+    public Account updateStatus(String accountNumber, Account.AccountStatus status) {
+        Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+
+        if (account.getStatus() == Account.AccountStatus.CLOSED) {
+            throw new InvalidAccountStateException("Account is closed");
+        }
+        if (status == Account.AccountStatus.CLOSED && account.getBalance().compareTo(BigDecimal.ZERO) != 0) {
+            throw new InvalidAccountStateException("Only accounts with a zero balance can be closed");
+        }
+
+        account.setStatus(status);
+        return accountRepository.save(account);
+    }
+
 }
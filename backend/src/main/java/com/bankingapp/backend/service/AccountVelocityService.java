@@ -0,0 +1,135 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.dto.AccountVelocityDTO;
+import com.bankingapp.backend.dto.VelocityFeaturesDTO;
+import com.bankingapp.backend.event.TransactionCommittedEvent;
+import com.bankingapp.backend.model.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class AccountVelocityService {
+
+    private final static Logger logger = LoggerFactory.getLogger(AccountVelocityService.class);
+
+    private static final long HOUR_MS = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+    private static final VelocityFeaturesDTO EMPTY =
+            new VelocityFeaturesDTO(0, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+
+    private static final class Direction {
+        private final SlidingWindowCounter lastHour = new SlidingWindowCounter(12, TimeUnit.MINUTES.toMillis(5));
+        private final SlidingWindowCounter lastDay = new SlidingWindowCounter(24, HOUR_MS);
+
+        void add(long timeMillis, long cents) {
+            lastHour.add(timeMillis, cents);
+            lastDay.add(timeMillis, cents);
+        }
+
+        VelocityFeaturesDTO features(long nowMillis) {
+            return new VelocityFeaturesDTO(
+                    lastHour.count(nowMillis - HOUR_MS, nowMillis),
+                    BigDecimal.valueOf(lastHour.sum(nowMillis - HOUR_MS, nowMillis), 2),
+                    lastDay.count(nowMillis - DAY_MS, nowMillis),
+                    BigDecimal.valueOf(lastDay.sum(nowMillis - DAY_MS, nowMillis), 2)
+            );
+        }
+
+        long lastUpdateMillis() {
+            return lastDay.getLastUpdateMillis();
+        }
+    }
+
+    private static final class AccountWindows {
+        private final Direction outgoing = new Direction();
+        private final Direction incoming = new Direction();
+    }
+
+    private final Map<Long, AccountWindows> windows = new ConcurrentHashMap<>();
+    private final AtomicLong skipped = new AtomicLong();
+
+    @Value("${fraud.velocity.max-accounts:50000}")
+    private int maxAccounts;
+
+    @TransactionalEventListener
+    public void onTransactionCommitted(TransactionCommittedEvent event) {
+        if (event.status() != null && event.status() != Transaction.TransactionStatus.COMPLETED) {
+            return;
+        }
+        long timeMillis = event.timestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long cents = event.amount().movePointRight(2).longValue();
+
+        if (event.senderAccountId() != null) {
+            AccountWindows sender = windowsFor(event.senderAccountId());
+            if (sender != null) {
+                sender.outgoing.add(timeMillis, cents);
+            }
+        }
+        AccountWindows receiver = windowsFor(event.receiverAccountId());
+        if (receiver != null) {
+            if (event.type() == Transaction.TransactionType.WITHDRAWAL) {
+                receiver.outgoing.add(timeMillis, cents);
+            } else {
+                receiver.incoming.add(timeMillis, event.receiverAmount().movePointRight(2).longValue());
+            }
+        }
+    }
+
+    public VelocityFeaturesDTO outgoingFeatures(Long accountId) {
+        AccountWindows account = accountId != null ? windows.get(accountId) : null;
+        return account != null ? account.outgoing.features(System.currentTimeMillis()) : EMPTY;
+    }
+
+    public AccountVelocityDTO getAccountVelocity(Long accountId) {
+        AccountWindows account = windows.get(accountId);
+        if (account == null) {
+            return new AccountVelocityDTO(accountId, EMPTY, EMPTY);
+        }
+        long now = System.currentTimeMillis();
+        return new AccountVelocityDTO(accountId, account.outgoing.features(now), account.incoming.features(now));
+    }
+
+    @Scheduled(fixedDelayString = "${fraud.velocity.eviction-interval-ms:60000}")
+    public void evictIdleAccounts() {
+        long cutoff = System.currentTimeMillis() - DAY_MS;
+        int before = windows.size();
+        windows.values().removeIf(account -> account.outgoing.lastUpdateMillis() < cutoff
+                && account.incoming.lastUpdateMillis() < cutoff);
+        int evicted = before - windows.size();
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle velocity windows", evicted);
+        }
+    }
+
+    public int getTrackedAccounts() {
+        return windows.size();
+    }
+
+    public long getSkippedCount() {
+        return skipped.get();
+    }
+
+    private AccountWindows windowsFor(Long accountId) {
+        AccountWindows account = windows.get(accountId);
+        if (account != null) {
+            return account;
+        }
+        if (windows.size() >= maxAccounts) {
+            skipped.incrementAndGet();
+            return null;
+        }
+        return windows.computeIfAbsent(accountId, id -> new AccountWindows());
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.dto.BalanceAtDTO;
+import com.bankingapp.backend.event.TransactionCommittedEvent;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.BalanceCheckpoint;
+import com.bankingapp.backend.model.Transaction;
+import com.bankingapp.backend.repository.BalanceCheckpointRepository;
+import com.bankingapp.backend.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Service
+public class BalanceCheckpointService {
+
+    private final static Logger logger = LoggerFactory.getLogger(BalanceCheckpointService.class);
+
+    private static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public BalanceCheckpointService(BalanceCheckpointRepository balanceCheckpointRepository,
+                                    TransactionRepository transactionRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.balanceCheckpointRepository = balanceCheckpointRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${balance.checkpoint.cron:0 15 0 * * *}")
+    public void writeDailyCheckpoints() {
+        LocalDateTime target = LocalDate.now().atStartOfDay();
+        LocalDateTime previous = balanceCheckpointRepository.findLatestCheckpointAt().orElse(null);
+        LocalDateTime next = previous != null ? previous.plusDays(1) : target;
+
+        while (!next.isAfter(target)) {
+            LocalDateTime from = previous != null ? previous : LEDGER_START;
+            LocalDateTime at = next;
+            Integer written = transactionTemplate.execute(status -> balanceCheckpointRepository.rollForward(from, at));
+            logger.info("Wrote {} balance checkpoints at {}", written, at);
+            previous = next;
+            next = next.plusDays(1);
+        }
+    }
+
+    // Releasing a held transfer completes a row whose timestamp may already be covered by checkpoints
+    // written while it was held; those checkpoints are shifted in the same transaction
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionCommitted(TransactionCommittedEvent event) {
+        if (event.status() != Transaction.TransactionStatus.COMPLETED
+                || !event.timestamp().isBefore(LocalDate.now().atStartOfDay())) {
+            return;
+        }
+        BigDecimal credit = event.type() == Transaction.TransactionType.WITHDRAWAL
+                ? event.amount().negate() : event.receiverAmount();
+        balanceCheckpointRepository.adjustAfter(event.receiverAccountId(), event.timestamp(), credit);
+        if (event.senderAccountId() != null) {
+            balanceCheckpointRepository.adjustAfter(event.senderAccountId(), event.timestamp(), event.amount().negate());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public BalanceAtDTO getBalanceAt(Account account, LocalDateTime at) {
+        Optional<BalanceCheckpoint> checkpoint = balanceCheckpointRepository
+                .findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(account.getId(), at);
+        LocalDateTime from = checkpoint.map(BalanceCheckpoint::getCheckpointAt).orElse(LEDGER_START);
+        BigDecimal base = checkpoint.map(BalanceCheckpoint::getBalance).orElse(BigDecimal.ZERO);
+
+        BigDecimal balance = base
+                .add(transactionRepository.sumCreditsBetween(account.getId(), from, at))
+                .subtract(transactionRepository.sumDebitsBetween(account.getId(), from, at));
+        return new BalanceAtDTO(account.getAccountNumber(), at, balance, checkpoint.isPresent() ? from : null);
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.AccountResponseDTO;
+import com.bankingapp.backend.dto.DashboardAccountDTO;
+import com.bankingapp.backend.dto.DashboardDTO;
+import com.bankingapp.backend.dto.TransactionResponseDTO;
+import com.bankingapp.backend.dto.UserInfoDTO;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.User;
+import com.bankingapp.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+public class DashboardService {
+
+    private final static Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    private final UserRepository userRepository;
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final WorkerThreads workerThreads;
+    private final Counter partialResponses;
+    private final Counter saturated;
+
+    @Value("${dashboard.recent-transactions:10}")
+    private int recentTransactions;
+
+    @Value("${dashboard.budget-ms:300}")
+    private long budgetMs;
+
+    @Value("${dashboard.threads:8}")
+    private int threads;
+
+    @Value("${dashboard.queue-capacity:32}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    public DashboardService(UserRepository userRepository,
+                            AccountService accountService,
+                            TransactionService transactionService,
+                            MeterRegistry meterRegistry,
+                            WorkerThreads workerThreads) {
+        this.userRepository = userRepository;
+        this.accountService = accountService;
+        this.transactionService = transactionService;
+        this.workerThreads = workerThreads;
+        this.partialResponses = meterRegistry.counter("dashboard.partial");
+        this.saturated = meterRegistry.counter("dashboard.saturated");
+    }
+
+    @PostConstruct
+    public void init() {
+        // Bounded so histories stuck past the budget cannot build a backlog: once full, accounts come back unloaded
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), workerThreads.factory("dashboard"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public DashboardDTO getDashboard(String email) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        List<Account> accounts = accountService.findAccountsByUserId(user.getId());
+
+        List<Future<List<TransactionResponseDTO>>> histories = new ArrayList<>(accounts.size());
+        List<DashboardAccountDTO> accountDTOs = new ArrayList<>(accounts.size());
+        boolean partial = false;
+        try {
+            for (Account account : accounts) {
+                histories.add(submit(account));
+            }
+
+            for (int i = 0; i < accounts.size(); i++) {
+                List<TransactionResponseDTO> recent = await(histories.get(i), deadline);
+                partial |= recent == null;
+                accountDTOs.add(new DashboardAccountDTO(
+                        toAccountDTO(accounts.get(i), user),
+                        recent != null ? recent : List.of(),
+                        recent != null
+                ));
+            }
+        } finally {
+            // Interrupts histories still running and drops queued ones so they stop occupying the pool
+            histories.stream().filter(Objects::nonNull).forEach(history -> history.cancel(true));
+            executor.purge();
+        }
+        if (partial) {
+            partialResponses.increment();
+        }
+
+        return new DashboardDTO(
+                new UserInfoDTO(
+                        user.getId(),
+                        user.getEmail(),
+                        user.getFirstName(),
+                        user.getLastName(),
+                        user.getPhoneNumber(),
+                        user.getCreatedAt(),
+                        user.getUpdatedAt()
+                ),
+                accountDTOs,
+                partial
+        );
+    }
+
+    private Future<List<TransactionResponseDTO>> submit(Account account) {
+        try {
+            return executor.submit(() -> transactionService.getRecentTransactions(account.getId(), recentTransactions));
+        } catch (RejectedExecutionException e) {
+            saturated.increment();
+            return null;
+        }
+    }
+
+    private List<TransactionResponseDTO> await(Future<List<TransactionResponseDTO>> history, long deadline) {
+        if (history == null) {
+            return null;
+        }
+        try {
+            return history.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (ExecutionException e) {
+            logger.warn("Failed to load recent transactions for dashboard: {}", e.getCause().getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static AccountResponseDTO toAccountDTO(Account account, User user) {
+        return new AccountResponseDTO(
+                account.getId(),
+                account.getAccountNumber(),
+                account.getBalance(),
+                account.getCurrency(),
+                account.getOpeningDate(),
+                user.getId()
+        );
+    }
+
+}
@@ -1,24 +1,38 @@
 package com.bankingapp.backend.service;
 
+import com.bankingapp.backend.event.TransactionCommittedEvent;
 import com.bankingapp.backend.exception.AccountNotFoundException;
 import com.bankingapp.backend.model.Account;
 import com.bankingapp.backend.model.Transaction;
 import com.bankingapp.backend.repository.AccountRepository;
 import com.bankingapp.backend.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class DepositService {
 
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer depositTimer;
 
-    public DepositService(AccountRepository accountRepository, TransactionRepository transactionRepository) {
+    public DepositService(AccountRepository accountRepository,
+                          TransactionRepository transactionRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          MeterRegistry meterRegistry) {
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
+        this.eventPublisher = eventPublisher;
+        this.depositTimer = Timer.builder("deposit.process")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Transactional
@@ -27,20 +41,31 @@ public class DepositService {
             BigDecimal amount,
             String description
     ) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+        long start = System.nanoTime();
+        try {
+            Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+            account.requireActive();
 
-        account.setBalance(account.getBalance().add(amount));
-        accountRepository.save(account);
+            account.setBalance(account.getBalance().add(amount));
+            accountRepository.save(account);
 
-        Transaction transaction = new Transaction();
-        transaction.setAmount(amount);
-        transaction.setDescription(description);
-        transaction.setType(Transaction.TransactionType.DEPOSIT);
-        transaction.setSenderAccount(null);
-        transaction.setReceiverAccount(account);
+            Transaction transaction = new Transaction();
+            transaction.setAmount(amount);
+            transaction.setDescription(description);
+            transaction.setType(Transaction.TransactionType.DEPOSIT);
+            transaction.setSenderAccount(null);
+            transaction.setReceiverAccount(account);
+            transaction.setCurrency(account.getCurrency());
 
-        return transactionRepository.save(transaction);
+            Transaction saved = transactionRepository.save(transaction);
+
+            eventPublisher.publishEvent(TransactionCommittedEvent.of(saved));
+
+            return saved;
+        } finally {
+            depositTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
 }
@@ -1,42 +1,232 @@
 package com.bankingapp.backend.service;
 
+import com.bankingapp.backend.config.WorkerThreads;
 import com.bankingapp.backend.dto.FraudDetectionDTO;
 import com.bankingapp.backend.dto.TransactionRequestDTO;
+import com.bankingapp.backend.exception.FraudDetectionUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 @Service
-public class FraudDetectionService {
+@ConditionalOnProperty(name = "fraud.detection.mode", havingValue = "http", matchIfMissing = true)
+public class FraudDetectionService implements FraudScorer {
+
+    private static final ParameterizedTypeReference<List<FraudDetectionDTO>> BATCH_RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {};
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final static Logger logger = LoggerFactory.getLogger(FraudDetectionService.class);
+
+    private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Timer predictTimer;
+    private final Map<String, Counter> fallbacks = new HashMap<>();
+    private final WorkerThreads workerThreads;
 
     @Value("${fraud.detection.api.url}")
     private String fraudApiUrl;
 
+    @Value("${fraud.detection.api.batch-url}")
+    private String fraudBatchApiUrl;
+
+    @Value("${fraud.detection.batch.size:200}")
+    private int batchSize;
+
+    @Value("${fraud.detection.batch.concurrency:4}")
+    private int batchConcurrency;
+
+    private ExecutorService batchExecutor;
+
+    public FraudDetectionService(@Qualifier("fraudRestTemplate") RestTemplate restTemplate,
+                                 CircuitBreaker fraudCircuitBreaker,
+                                 Bulkhead fraudBulkhead,
+                                 MeterRegistry meterRegistry,
+                                 WorkerThreads workerThreads) {
+        this.restTemplate = restTemplate;
+        this.circuitBreaker = fraudCircuitBreaker;
+        this.bulkhead = fraudBulkhead;
+        this.predictTimer = Timer.builder("fraud.detection.predict")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        for (String reason : List.of("circuit_open", "bulkhead_full", "timeout", "error")) {
+            fallbacks.put(reason, meterRegistry.counter("fraud.detection.fallbacks", "reason", reason));
+        }
+        this.workerThreads = workerThreads;
+
+        Gauge.builder("fraud.detection.circuit.state", circuitBreaker, cb -> cb.getState().getOrder())
+                .description("Fraud detection circuit breaker state (0 closed, 1 open, 2 half-open)")
+                .register(meterRegistry);
+        Gauge.builder("fraud.detection.bulkhead.available", bulkhead,
+                        b -> b.getMetrics().getAvailableConcurrentCalls())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        batchExecutor = Executors.newFixedThreadPool(batchConcurrency, workerThreads.factory("fraud-batch"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdownNow();
+    }
+
+    @Override
     public FraudDetectionDTO predictFraud(TransactionRequestDTO dto) {
+        try {
+            return score(dto);
+        } catch (FraudDetectionUnavailableException e) {
+            return fallback(1, e.getCause()).get(0);
+        }
+    }
+
+    @Override
+    public FraudDetectionDTO score(TransactionRequestDTO dto) {
+        long start = System.nanoTime();
+        try {
+            return callPredict(dto);
+        } catch (Exception e) {
+            throw new FraudDetectionUnavailableException("Fraud detection call failed", e);
+        } finally {
+            predictTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private FraudDetectionDTO callPredict(TransactionRequestDTO dto) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
 
         HttpEntity<TransactionRequestDTO> request = new HttpEntity<>(dto, headers);
 
+        FraudDetectionDTO body = protect(() -> restTemplate.postForEntity(
+                fraudApiUrl,
+                request,
+                FraudDetectionDTO.class
+        )).getBody();
+        if (body == null) {
+            throw new IllegalStateException("Fraud detection returned an empty response");
+        }
+        return body;
+    }
+
+    @Override
+    public List<FraudDetectionDTO> predictFraudBatch(List<TransactionRequestDTO> dtos) {
+        return scoreInChunks(dtos, true);
+    }
+
+    @Override
+    public List<FraudDetectionDTO> scoreBatch(List<TransactionRequestDTO> dtos) {
+        return scoreInChunks(dtos, false);
+    }
+
+    private List<FraudDetectionDTO> scoreInChunks(List<TransactionRequestDTO> dtos, boolean fallbackOnError) {
+        if (dtos.isEmpty()) {
+            return List.of();
+        }
+
+        List<CompletableFuture<List<FraudDetectionDTO>>> chunks = new ArrayList<>();
+        for (int from = 0; from < dtos.size(); from += batchSize) {
+            List<TransactionRequestDTO> chunk = dtos.subList(from, Math.min(from + batchSize, dtos.size()));
+            CompletableFuture<List<FraudDetectionDTO>> future =
+                    CompletableFuture.supplyAsync(() -> predictChunk(chunk), batchExecutor);
+            if (fallbackOnError) {
+                future = future.exceptionally(e -> fallback(chunk.size(), e));
+            }
+            chunks.add(future);
+        }
+
+        List<FraudDetectionDTO> results = new ArrayList<>(dtos.size());
         try {
-            ResponseEntity<FraudDetectionDTO> response = restTemplate.postForEntity(
-                    fraudApiUrl,
-                    request,
-                    FraudDetectionDTO.class
-            );
-            return response.getBody();
-        } catch (Exception e) {
-            return new FraudDetectionDTO(
-                    false,
-                    0.0
-            );
+            for (CompletableFuture<List<FraudDetectionDTO>> chunk : chunks) {
+                results.addAll(chunk.join());
+            }
+        } catch (CompletionException e) {
+            throw new FraudDetectionUnavailableException("Fraud detection batch failed", e.getCause());
+        }
+        return results;
+    }
+
+    private List<FraudDetectionDTO> predictChunk(List<TransactionRequestDTO> chunk) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        HttpEntity<List<TransactionRequestDTO>> request = new HttpEntity<>(chunk, headers);
+
+        ResponseEntity<List<FraudDetectionDTO>> response = protect(() -> restTemplate.exchange(
+                fraudBatchApiUrl,
+                HttpMethod.POST,
+                request,
+                BATCH_RESPONSE_TYPE
+        ));
+        List<FraudDetectionDTO> body = response.getBody();
+        if (body == null || body.size() != chunk.size()) {
+            throw new IllegalStateException("Fraud detection returned " +
+                    (body == null ? 0 : body.size()) + " scores for " + chunk.size() + " transactions");
+        }
+        return body;
+    }
+
+    private <T> T protect(Supplier<T> call) {
+        return Bulkhead.decorateSupplier(bulkhead,
+                CircuitBreaker.decorateSupplier(circuitBreaker, call)).get();
+    }
+
+    private List<FraudDetectionDTO> fallback(int size, Throwable failure) {
+        String reason = fallbackReason(failure);
+        fallbacks.get(reason).increment(size);
+        logger.warn("Fraud detection unavailable ({}), allowing {} transaction(s) with risk score 0.0",
+                reason, size);
+        return Collections.nCopies(size, new FraudDetectionDTO(false, 0.0));
+    }
+
+    private static String fallbackReason(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        if (cause instanceof CallNotPermittedException) {
+            return "circuit_open";
+        }
+        if (cause instanceof BulkheadFullException) {
+            return "bulkhead_full";
+        }
+        if (cause instanceof ResourceAccessException && cause.getCause() instanceof SocketTimeoutException) {
+            return "timeout";
         }
+        return "error";
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,182 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.FraudDetectionDTO;
+import com.bankingapp.backend.dto.TransactionRequestDTO;
+import com.bankingapp.backend.model.Account;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class FraudGateService {
+
+    private final static Logger logger = LoggerFactory.getLogger(FraudGateService.class);
+
+    public enum Decision {
+        ALLOW, HOLD, REJECT
+    }
+
+    private final FraudScorer fraudScorer;
+    private final AccountVelocityService accountVelocityService;
+    private final WorkerThreads workerThreads;
+    private final Timer gateLatency;
+    private final Map<Decision, Counter> decisions = new EnumMap<>(Decision.class);
+    private final Counter budgetExceeded;
+    private final Counter saturated;
+
+    @Value("${fraud.gate.enabled:false}")
+    private boolean enabled;
+
+    @Value("${fraud.gate.budget-ms:20}")
+    private long budgetMs;
+
+    @Value("${fraud.gate.hedge-ms:0}")
+    private long hedgeMs;
+
+    @Value("${fraud.gate.timeout-policy:ALLOW}")
+    private Decision timeoutPolicy;
+
+    @Value("${fraud.gate.hold-threshold:0.7}")
+    private double holdThreshold;
+
+    @Value("${fraud.gate.reject-threshold:0.95}")
+    private double rejectThreshold;
+
+    @Value("${fraud.gate.threads:16}")
+    private int threads;
+
+    @Value("${fraud.gate.queue-capacity:16}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    public FraudGateService(FraudScorer fraudScorer,
+                            AccountVelocityService accountVelocityService,
+                            MeterRegistry meterRegistry,
+                            WorkerThreads workerThreads) {
+        this.fraudScorer = fraudScorer;
+        this.accountVelocityService = accountVelocityService;
+        this.workerThreads = workerThreads;
+        this.gateLatency = Timer.builder("transfer.fraud.gate.latency")
+                .description("Latency added to the transfer path by the pre-transfer fraud gate")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        for (Decision decision : Decision.values()) {
+            decisions.put(decision, Counter.builder("transfer.fraud.gate.decisions")
+                    .tag("decision", decision.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.budgetExceeded = meterRegistry.counter("transfer.fraud.gate.budget.exceeded");
+        this.saturated = meterRegistry.counter("transfer.fraud.gate.saturated");
+    }
+
+    @PostConstruct
+    public void init() {
+        // Bounded so a degraded scorer cannot build a backlog: once full, transfers get the timeout policy at once
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), workerThreads.factory("fraud-gate"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Decision evaluate(Account sender, Account receiver, BigDecimal amount) {
+        if (!enabled) {
+            return Decision.ALLOW;
+        }
+
+        long start = System.nanoTime();
+        TransactionRequestDTO request = new TransactionRequestDTO(
+                amount.doubleValue(),
+                LocalDateTime.now().toString(),
+                "TRANSFER",
+                receiver.getId(),
+                sender.getId()
+        ).withVelocity(accountVelocityService.outgoingFeatures(sender.getId()));
+
+        Callable<FraudDetectionDTO> call = () -> fraudScorer.score(request);
+        ExecutorCompletionService<FraudDetectionDTO> scoring = new ExecutorCompletionService<>(executor);
+        List<Future<FraudDetectionDTO>> calls = new ArrayList<>(2);
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMs);
+
+        Decision decision;
+        try {
+            calls.add(scoring.submit(call));
+            Future<FraudDetectionDTO> first = null;
+            if (hedgeMs > 0 && hedgeMs < budgetMs) {
+                first = scoring.poll(hedgeMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    try {
+                        calls.add(scoring.submit(call));
+                    } catch (RejectedExecutionException e) {
+                        saturated.increment();
+                    }
+                }
+            }
+            if (first == null) {
+                first = scoring.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+            if (first == null) {
+                budgetExceeded.increment();
+                decision = timeoutPolicy;
+            } else {
+                decision = decide(first.get().risk_score());
+            }
+        } catch (RejectedExecutionException e) {
+            saturated.increment();
+            decision = timeoutPolicy;
+        } catch (ExecutionException | RuntimeException e) {
+            logger.warn("Fraud gate scoring failed, applying {}: {}", timeoutPolicy, e.getMessage());
+            decision = timeoutPolicy;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            decision = timeoutPolicy;
+        } finally {
+            // Interrupts calls still running and drops queued ones so they stop occupying the pool
+            for (Future<FraudDetectionDTO> pending : calls) {
+                pending.cancel(true);
+            }
+            executor.purge();
+        }
+
+        gateLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        decisions.get(decision).increment();
+        return decision;
+    }
+
+    private Decision decide(double riskScore) {
+        if (riskScore >= rejectThreshold) {
+            return Decision.REJECT;
+        }
+        if (riskScore >= holdThreshold) {
+            return Decision.HOLD;
+        }
+        return Decision.ALLOW;
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.bankingapp.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public final class FraudModelEvaluator {
+
+    public static final List<String> FEATURES =
+            List.of("amount", "hour", "type_enc", "receiver_account", "sender_account");
+
+    private static final int AMOUNT = 0;
+    private static final int HOUR = 1;
+    private static final int TYPE = 2;
+    private static final int RECEIVER = 3;
+    private static final int SENDER = 4;
+
+    private final double[] coefficients;
+    private final double intercept;
+
+    private final int[] roots;
+    private final int[] feature;
+    private final double[] threshold;
+    private final int[] left;
+    private final int[] right;
+    private final double[] value;
+
+    private final int depositCode;
+    private final int transferCode;
+
+    private FraudModelEvaluator(double[] coefficients, double intercept,
+                                int[] roots, int[] feature, double[] threshold,
+                                int[] left, int[] right, double[] value,
+                                int depositCode, int transferCode) {
+        this.coefficients = coefficients;
+        this.intercept = intercept;
+        this.roots = roots;
+        this.feature = feature;
+        this.threshold = threshold;
+        this.left = left;
+        this.right = right;
+        this.value = value;
+        this.depositCode = depositCode;
+        this.transferCode = transferCode;
+    }
+
+    public static FraudModelEvaluator logistic(double[] coefficients, double intercept) {
+        if (coefficients.length != FEATURES.size()) {
+            throw new IllegalArgumentException("Expected " + FEATURES.size() + " coefficients");
+        }
+        return new FraudModelEvaluator(coefficients, intercept,
+                null, null, null, null, null, null, 0, 1);
+    }
+
+    public static FraudModelEvaluator forest(int[] roots, int[] feature, double[] threshold,
+                                             int[] left, int[] right, double[] value) {
+        return new FraudModelEvaluator(null, 0.0,
+                roots, feature, threshold, left, right, value, 0, 1);
+    }
+
+    public static FraudModelEvaluator load(InputStream in, ObjectMapper objectMapper) throws IOException {
+        JsonNode root = objectMapper.readTree(in);
+
+        List<String> features = objectMapper.convertValue(root.get("features"),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
+        if (!FEATURES.equals(features)) {
+            throw new IllegalArgumentException("Unsupported feature layout: " + features);
+        }
+
+        JsonNode typeEncoding = root.get("type_encoding");
+        int depositCode = typeEncoding.path("DEPOSIT").asInt(0);
+        int transferCode = typeEncoding.path("TRANSFER").asInt(1);
+
+        String modelType = root.get("model_type").asText();
+        return switch (modelType) {
+            case "logistic_regression" -> new FraudModelEvaluator(
+                    objectMapper.treeToValue(root.get("coefficients"), double[].class),
+                    root.get("intercept").asDouble(),
+                    null, null, null, null, null, null,
+                    depositCode, transferCode);
+            case "random_forest" -> new FraudModelEvaluator(
+                    null, 0.0,
+                    objectMapper.treeToValue(root.get("roots"), int[].class),
+                    objectMapper.treeToValue(root.get("feature"), int[].class),
+                    objectMapper.treeToValue(root.get("threshold"), double[].class),
+                    objectMapper.treeToValue(root.get("left"), int[].class),
+                    objectMapper.treeToValue(root.get("right"), int[].class),
+                    objectMapper.treeToValue(root.get("value"), double[].class),
+                    depositCode, transferCode);
+            default -> throw new IllegalArgumentException("Unsupported model type: " + modelType);
+        };
+    }
+
+    public int encodeType(String type) {
+        return "TRANSFER".equals(type) ? transferCode : depositCode;
+    }
+
+    public double probability(double amount, int hour, int type, long receiver, long sender) {
+        if (coefficients != null) {
+            double z = intercept
+                    + coefficients[AMOUNT] * amount
+                    + coefficients[HOUR] * hour
+                    + coefficients[TYPE] * type
+                    + coefficients[RECEIVER] * receiver
+                    + coefficients[SENDER] * sender;
+            return 1.0 / (1.0 + Math.exp(-z));
+        }
+
+        double sum = 0.0;
+        for (int root : roots) {
+            int node = root;
+            while (feature[node] >= 0) {
+                float x = (float) featureValue(feature[node], amount, hour, type, receiver, sender);
+                node = x <= threshold[node] ? left[node] : right[node];
+            }
+            sum += value[node];
+        }
+        return sum / roots.length;
+    }
+
+    private static double featureValue(int index, double amount, int hour, int type, long receiver, long sender) {
+        return switch (index) {
+            case AMOUNT -> amount;
+            case HOUR -> hour;
+            case TYPE -> type;
+            case RECEIVER -> receiver;
+            case SENDER -> sender;
+            default -> throw new IllegalStateException("Unknown feature index " + index);
+        };
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.dto.FraudDetectionDTO;
+import com.bankingapp.backend.dto.TransactionRequestDTO;
+
+import java.util.List;
+
+public interface FraudScorer {
+
+    FraudDetectionDTO predictFraud(TransactionRequestDTO dto);
+
+    // Unlike predictFraud, throws FraudDetectionUnavailableException instead of falling back
+    FraudDetectionDTO score(TransactionRequestDTO dto);
+
+    List<FraudDetectionDTO> predictFraudBatch(List<TransactionRequestDTO> dtos);
+
+    List<FraudDetectionDTO> scoreBatch(List<TransactionRequestDTO> dtos);
+
+}
@@ -0,0 +1,282 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.FraudDetectionDTO;
+import com.bankingapp.backend.dto.TransactionRequestDTO;
+import com.bankingapp.backend.dto.VelocityFeaturesDTO;
+import com.bankingapp.backend.event.TransactionCommittedEvent;
+import com.bankingapp.backend.model.Transaction;
+import com.bankingapp.backend.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class FraudScoringService {
+
+    private final static Logger logger = LoggerFactory.getLogger(FraudScoringService.class);
+
+    // velocity is captured at commit, before the transaction itself is counted, so it matches what the
+    // pre-transfer gate saw; it is null for backfilled rows, which are scored with the features at that time
+    private record ScoringTask(UUID transactionId, int attempt, VelocityFeaturesDTO velocity) {
+    }
+
+    private final FraudScorer fraudScorer;
+    private final TransactionRepository transactionRepository;
+    private final AccountVelocityService accountVelocityService;
+    private final WorkerThreads workerThreads;
+
+    @Value("${fraud.scoring.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${fraud.scoring.workers:2}")
+    private int workerCount;
+
+    @Value("${fraud.scoring.batch-size:200}")
+    private int batchSize;
+
+    @Value("${fraud.scoring.enqueue-timeout-ms:5}")
+    private long enqueueTimeoutMs;
+
+    @Value("${fraud.scoring.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${fraud.scoring.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${fraud.scoring.backfill.grace-seconds:60}")
+    private long backfillGraceSeconds;
+
+    private BlockingQueue<ScoringTask> queue;
+    private ExecutorService workers;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+
+    // Queued, in flight or waiting for a retry; backfill skips these so a row is never queued twice
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    // Gave up after maxAttempts; left unscored until a restart rather than re-queued every backfill
+    private final Set<UUID> abandoned = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong scored = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public FraudScoringService(FraudScorer fraudScorer,
+                               TransactionRepository transactionRepository,
+                               AccountVelocityService accountVelocityService,
+                               WorkerThreads workerThreads) {
+        this.fraudScorer = fraudScorer;
+        this.transactionRepository = transactionRepository;
+        this.accountVelocityService = accountVelocityService;
+        this.workerThreads = workerThreads;
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(workerThreads.factory("fraud-retry"));
+        workers = Executors.newFixedThreadPool(workerCount, workerThreads.factory("fraud-scoring"));
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::drainQueue);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.shutdownNow();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        retryScheduler.shutdownNow();
+    }
+
+    // Runs before AccountVelocityService records the same event
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTransactionCommitted(TransactionCommittedEvent event) {
+        VelocityFeaturesDTO velocity = accountVelocityService.outgoingFeatures(event.senderAccountId());
+        enqueue(new ScoringTask(event.transactionId(), 1, velocity), enqueueTimeoutMs);
+    }
+
+    @Scheduled(fixedDelayString = "${fraud.scoring.backfill.interval-ms:60000}")
+    public void backfillUnscored() {
+        int room = queue.remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+
+        LocalDateTime before = LocalDateTime.now().minusSeconds(backfillGraceSeconds);
+        int skip = pending.size() + abandoned.size();
+        List<UUID> ids = transactionRepository.findUnscoredIds(before, PageRequest.of(0, room + skip));
+        int queued = 0;
+        for (UUID id : ids) {
+            if (queued == room) {
+                break;
+            }
+            if (abandoned.contains(id) || !pending.add(id)) {
+                continue;
+            }
+            if (!queue.offer(new ScoringTask(id, 1, null))) {
+                pending.remove(id);
+                break;
+            }
+            queued++;
+        }
+        if (queued > 0) {
+            logger.info("Queued {} unscored transactions for fraud backfill", queued);
+        }
+    }
+
+    public long getQueuedCount() {
+        return queue.size();
+    }
+
+    public long getScoredCount() {
+        return scored.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private void enqueue(ScoringTask task, long timeoutMs) {
+        if (task.attempt() == 1 && !pending.add(task.transactionId())) {
+            return;
+        }
+        try {
+            if (!queue.offer(task, timeoutMs, TimeUnit.MILLISECONDS)) {
+                pending.remove(task.transactionId());
+                rejected.incrementAndGet();
+                logger.warn("Fraud scoring queue full, transaction {} left for backfill", task.transactionId());
+            }
+        } catch (InterruptedException e) {
+            pending.remove(task.transactionId());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainQueue() {
+        List<ScoringTask> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ScoringTask first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                scoreBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Fraud scoring worker failed: {}", e.getMessage());
+                batch.forEach(task -> pending.remove(task.transactionId()));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void scoreBatch(List<ScoringTask> batch) {
+        Map<UUID, Transaction> transactions = transactionRepository
+                .findAllById(batch.stream().map(ScoringTask::transactionId).toList())
+                .stream()
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+
+        batch.stream()
+                .filter(task -> !transactions.containsKey(task.transactionId()))
+                .forEach(task -> pending.remove(task.transactionId()));
+        List<ScoringTask> tasks = batch.stream()
+                .filter(task -> transactions.containsKey(task.transactionId()))
+                .toList();
+        List<TransactionRequestDTO> requests = tasks.stream()
+                .map(task -> toRequestDTO(transactions.get(task.transactionId()), task.velocity()))
+                .toList();
+
+        List<FraudDetectionDTO> results;
+        try {
+            results = fraudScorer.scoreBatch(requests);
+        } catch (RuntimeException e) {
+            logger.warn("Fraud scoring of {} transactions failed: {}", tasks.size(), e.getMessage());
+            tasks.forEach(this::retry);
+            return;
+        }
+
+        LocalDateTime scoredAt = LocalDateTime.now();
+        for (int i = 0; i < tasks.size(); i++) {
+            FraudDetectionDTO result = results.get(i);
+            transactionRepository.updateFraudScore(
+                    tasks.get(i).transactionId(), result.is_fraud(), result.risk_score(), scoredAt);
+            pending.remove(tasks.get(i).transactionId());
+        }
+        scored.addAndGet(tasks.size());
+    }
+
+    private void retry(ScoringTask task) {
+        if (task.attempt() >= maxAttempts) {
+            pending.remove(task.transactionId());
+            abandoned.add(task.transactionId());
+            failed.incrementAndGet();
+            logger.error("Giving up fraud scoring of transaction {} after {} attempts",
+                    task.transactionId(), task.attempt());
+            return;
+        }
+        long delay = retryBackoffMs << (task.attempt() - 1);
+        try {
+            retryScheduler.schedule(
+                    () -> enqueue(new ScoringTask(task.transactionId(), task.attempt() + 1, task.velocity()), 0),
+                    delay,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the row is still unscored and the next backfill picks it up
+            pending.remove(task.transactionId());
+        }
+    }
+
+    private TransactionRequestDTO toRequestDTO(Transaction transaction, VelocityFeaturesDTO velocity) {
+        Long senderId = transaction.getSenderAccount() != null ? transaction.getSenderAccount().getId() : null;
+        return new TransactionRequestDTO(
+                transaction.getAmount().doubleValue(),
+                transaction.getTimestamp().toString(),
+                transaction.getType().name(),
+                transaction.getReceiverAccount().getId(),
+                senderId != null ? senderId : -1
+        ).withVelocity(velocity != null ? velocity : accountVelocityService.outgoingFeatures(senderId));
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.exception.UnsupportedCurrencyException;
+import com.bankingapp.backend.model.FxRate;
+import com.bankingapp.backend.repository.FxRateRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+public class FxRateService {
+
+    private final static Logger logger = LoggerFactory.getLogger(FxRateService.class);
+
+    public record Conversion(BigDecimal rate, BigDecimal amount) {
+    }
+
+    private final FxRateRepository fxRateRepository;
+
+    @Value("${fx.base-currency:USD}")
+    private String baseCurrency;
+
+    // Replaced wholesale on refresh, so transfers read a consistent table without locking
+    private volatile Map<String, BigDecimal> rates = Map.of();
+
+    public FxRateService(FxRateRepository fxRateRepository) {
+        this.fxRateRepository = fxRateRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${fx.refresh-interval-ms:60000}", initialDelayString = "${fx.refresh-interval-ms:60000}")
+    public void refresh() {
+        Map<String, BigDecimal> next = new HashMap<>();
+        for (FxRate rate : fxRateRepository.findAll()) {
+            next.put(rate.getCurrency(), rate.getRate());
+        }
+        next.put(baseCurrency, BigDecimal.ONE);
+        rates = Map.copyOf(next);
+        logger.debug("Loaded {} exchange rates", next.size());
+    }
+
+    public Conversion convert(BigDecimal amount, String from, String to) {
+        Map<String, BigDecimal> snapshot = rates;
+        BigDecimal fromRate = snapshot.get(from);
+        BigDecimal toRate = snapshot.get(to);
+        if (fromRate == null || toRate == null) {
+            throw new UnsupportedCurrencyException("No exchange rate from " + from + " to " + to);
+        }
+        return new Conversion(
+                fromRate.divide(toRate, 8, RoundingMode.HALF_EVEN),
+                amount.multiply(fromRate).divide(toRate, 2, RoundingMode.HALF_EVEN)
+        );
+    }
+
+    public void requireSupported(String currency) {
+        if (!rates.containsKey(currency)) {
+            throw new UnsupportedCurrencyException("Currency " + currency + " is not supported");
+        }
+    }
+
+    public Map<String, BigDecimal> getRates() {
+        return rates;
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    @Transactional
+    public FxRate updateRate(String currency, BigDecimal rate) {
+        if (!currency.matches("[A-Z]{3}") || currency.equals(baseCurrency)) {
+            throw new UnsupportedCurrencyException("Cannot set a rate for " + currency);
+        }
+        FxRate fxRate = fxRateRepository.findById(currency)
+                .orElseGet(() -> new FxRate(currency, rate, LocalDateTime.now()));
+        fxRate.setRate(rate);
+        fxRate.setUpdatedAt(LocalDateTime.now());
+        FxRate saved = fxRateRepository.save(fxRate);
+
+        // Transfers only see the new rate once it is committed; a rolled-back update leaves the table as it was
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Map<String, BigDecimal> next = new HashMap<>(rates);
+                next.put(currency, rate);
+                rates = Map.copyOf(next);
+            }
+        });
+        return saved;
+    }
+
+}
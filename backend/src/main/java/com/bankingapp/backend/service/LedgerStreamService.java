@@ -0,0 +1,364 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.AccountUpdateDTO;
+import com.bankingapp.backend.dto.TransactionResponseDTO;
+import com.bankingapp.backend.event.LedgerEvent;
+import com.bankingapp.backend.event.LedgerEventBus;
+import com.bankingapp.backend.event.TransactionCommittedEvent;
+import com.bankingapp.backend.exception.StreamCapacityException;
+import com.bankingapp.backend.model.Transaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class LedgerStreamService {
+
+    private final static Logger logger = LoggerFactory.getLogger(LedgerStreamService.class);
+
+    private record StreamMessage(String event, String data) {
+    }
+
+    private static final StreamMessage HEARTBEAT = new StreamMessage(null, null);
+    private static final StreamMessage RESYNC = new StreamMessage("resync", "{}");
+
+    private static final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamMessage> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile long writeStartedAt;
+        private volatile Thread writer;
+
+        private Connection(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    private static final class UserStreams {
+        private final Set<Long> accountIds = ConcurrentHashMap.newKeySet();
+        private final Deque<Connection> connections = new ConcurrentLinkedDeque<>();
+    }
+
+    private final ObjectMapper objectMapper;
+    private final LedgerEventBus eventBus;
+    private final WorkerThreads workerThreads;
+    private final Map<Long, UserStreams> users = new ConcurrentHashMap<>();
+    private final Map<Long, Long> accountOwners = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Counter sent;
+    private final Counter dropped;
+    private final Counter stalled;
+
+    @Value("${stream.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${stream.drain-batch-size:32}")
+    private int drainBatchSize;
+
+    @Value("${stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${stream.writer-threads:4}")
+    private int writerThreads;
+
+    @Value("${stream.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    // Connections are local to this node, so each node relays the outbox under its own consumer
+    @Value("${stream.outbox-consumer:ledger-stream-${HOSTNAME:local}}")
+    private String outboxConsumer;
+
+    private ExecutorService writers;
+    private LocalDateTime subscribedAt;
+
+    public LedgerStreamService(ObjectMapper objectMapper,
+                               LedgerEventBus eventBus,
+                               MeterRegistry meterRegistry,
+                               WorkerThreads workerThreads) {
+        this.objectMapper = objectMapper;
+        this.eventBus = eventBus;
+        this.workerThreads = workerThreads;
+        this.sent = meterRegistry.counter("stream.events.sent");
+        this.dropped = meterRegistry.counter("stream.events.dropped");
+        this.stalled = meterRegistry.counter("stream.connections.stalled");
+        Gauge.builder("stream.connections", connectionCount, AtomicInteger::get)
+                .description("Open server-sent event connections")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        writers = workerThreads.isVirtual()
+                ? Executors.newThreadPerTaskExecutor(workerThreads.factory("ledger-stream"))
+                : Executors.newFixedThreadPool(writerThreads, workerThreads.factory("ledger-stream"));
+        subscribedAt = LocalDateTime.now();
+        eventBus.subscribe(outboxConsumer, this::onLedgerEvent);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (UserStreams streams : users.values()) {
+            streams.connections.forEach(connection -> connection.emitter.complete());
+        }
+        writers.shutdownNow();
+    }
+
+    public SseEmitter connect(Long userId, List<Long> accountIds) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new StreamCapacityException("Too many open update streams, please retry later");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(userId, emitter, bufferSize);
+        List<Connection> evicted = new ArrayList<>();
+        users.compute(userId, (id, streams) -> {
+            UserStreams current = streams != null ? streams : new UserStreams();
+            current.connections.addLast(connection);
+            while (current.connections.size() > maxConnectionsPerUser) {
+                evicted.add(current.connections.pollFirst());
+            }
+            for (Long accountId : accountIds) {
+                current.accountIds.add(accountId);
+                accountOwners.put(accountId, id);
+            }
+            return current;
+        });
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(connection));
+        evicted.forEach(this::close);
+
+        enqueue(connection, HEARTBEAT);
+        return emitter;
+    }
+
+    public void registerAccount(Long userId, Long accountId) {
+        users.computeIfPresent(userId, (id, streams) -> {
+            streams.accountIds.add(accountId);
+            accountOwners.put(accountId, id);
+            return streams;
+        });
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    // Called from the outbox relay in id order. A new consumer starts from the oldest retained row, but clients
+    // load their balances when they connect, so anything written before this node subscribed is skipped
+    void onLedgerEvent(LedgerEvent ledgerEvent) {
+        TransactionCommittedEvent event = ledgerEvent.payload();
+        if (event.status() != Transaction.TransactionStatus.COMPLETED || users.isEmpty()
+                || ledgerEvent.createdAt().isBefore(subscribedAt)) {
+            return;
+        }
+
+        boolean withdrawal = event.type() == Transaction.TransactionType.WITHDRAWAL;
+        if (event.senderAccountId() != null) {
+            publish(event.senderAccountId(), event.senderAccountNumber(), event.amount().negate(),
+                    toDTO(event, withdrawal, event.amount(), event.currency()));
+        }
+        // The receiver is shown what was credited to it, in its own currency
+        BigDecimal received = withdrawal ? event.amount() : event.receiverAmount();
+        publish(event.receiverAccountId(), event.receiverAccountNumber(),
+                withdrawal ? received.negate() : received,
+                toDTO(event, withdrawal, received, event.receiverCurrency()));
+    }
+
+    private static TransactionResponseDTO toDTO(TransactionCommittedEvent event, boolean withdrawal,
+                                                BigDecimal amount, String currency) {
+        return new TransactionResponseDTO(
+                withdrawal ? event.receiverAccountNumber()
+                        : event.senderAccountNumber() != null ? event.senderAccountNumber() : "SYS_BANK",
+                withdrawal ? "SYS_BANK" : event.receiverAccountNumber(),
+                amount,
+                currency,
+                event.description(),
+                event.type().name(),
+                event.timestamp()
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${stream.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        for (UserStreams streams : users.values()) {
+            for (Connection connection : streams.connections) {
+                if (connection.queue.isEmpty()) {
+                    enqueue(connection, HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    // A client that stops reading blocks its write and would keep a writer thread from every other connection
+    @Scheduled(fixedDelayString = "${stream.stall-check-interval-ms:1000}")
+    public void closeStalledConnections() {
+        long now = System.nanoTime();
+        long timeout = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (UserStreams streams : users.values()) {
+            for (Connection connection : streams.connections) {
+                long started = connection.writeStartedAt;
+                if (started == 0 || now - started < timeout) {
+                    continue;
+                }
+                logger.debug("Closing update stream of user {}: send timed out", connection.userId);
+                stalled.increment();
+                remove(connection);
+                connection.emitter.completeWithError(new IOException("Send timed out"));
+                Thread writer = connection.writer;
+                if (writer != null && connection.writeStartedAt == started) {
+                    writer.interrupt();
+                }
+            }
+        }
+    }
+
+    private void publish(Long accountId, String accountNumber, BigDecimal delta, TransactionResponseDTO transaction) {
+        Long owner = accountOwners.get(accountId);
+        UserStreams streams = owner != null ? users.get(owner) : null;
+        if (streams == null) {
+            return;
+        }
+
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(new AccountUpdateDTO(accountNumber, delta, transaction));
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize account update for {}: {}", accountNumber, e.getMessage());
+            return;
+        }
+        StreamMessage message = new StreamMessage("account-update", data);
+        for (Connection connection : streams.connections) {
+            enqueue(connection, message);
+        }
+    }
+
+    private void enqueue(Connection connection, StreamMessage message) {
+        if (!connection.queue.offer(message)) {
+            connection.overflowed = true;
+            connection.queue.clear();
+            dropped.increment();
+        }
+        schedule(connection);
+    }
+
+    private void schedule(Connection connection) {
+        if (connection.closed.get() || !connection.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            writers.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            connection.scheduled.set(false);
+        }
+    }
+
+    private void drain(Connection connection) {
+        connection.writer = Thread.currentThread();
+        try {
+            for (int i = 0; i < drainBatchSize && !connection.closed.get(); i++) {
+                if (connection.overflowed) {
+                    connection.overflowed = false;
+                    send(connection, RESYNC);
+                }
+                StreamMessage message = connection.queue.poll();
+                if (message == null) {
+                    break;
+                }
+                send(connection, message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Closing update stream of user {}: {}", connection.userId, e.getMessage());
+            remove(connection);
+            connection.emitter.completeWithError(e);
+        } finally {
+            connection.writer = null;
+            // a stall interrupt must not leak into the next connection this thread drains
+            Thread.interrupted();
+            connection.scheduled.set(false);
+        }
+
+        if (!connection.queue.isEmpty() || connection.overflowed) {
+            schedule(connection);
+        }
+    }
+
+    private void send(Connection connection, StreamMessage message) throws IOException {
+        connection.writeStartedAt = System.nanoTime();
+        try {
+            if (message == HEARTBEAT) {
+                connection.emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            connection.emitter.send(SseEmitter.event().name(message.event()).data(message.data()));
+            sent.increment();
+        } finally {
+            connection.writeStartedAt = 0;
+        }
+    }
+
+    private void close(Connection connection) {
+        remove(connection);
+        connection.emitter.complete();
+    }
+
+    private void remove(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connectionCount.decrementAndGet();
+        connection.queue.clear();
+        users.computeIfPresent(connection.userId, (id, streams) -> {
+            streams.connections.remove(connection);
+            if (!streams.connections.isEmpty()) {
+                return streams;
+            }
+            streams.accountIds.forEach(accountId -> accountOwners.remove(accountId, id));
+            return null;
+        });
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.dto.FraudDetectionDTO;
+import com.bankingapp.backend.dto.TransactionRequestDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(name = "fraud.detection.mode", havingValue = "local")
+public class LocalFraudDetectionService implements FraudScorer {
+
+    private final static Logger logger = LoggerFactory.getLogger(LocalFraudDetectionService.class);
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${fraud.detection.local.model-path}")
+    private Resource modelResource;
+
+    private FraudModelEvaluator evaluator;
+
+    public LocalFraudDetectionService(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void loadModel() throws IOException {
+        try (InputStream in = modelResource.getInputStream()) {
+            evaluator = FraudModelEvaluator.load(in, objectMapper);
+        }
+        logger.info("Loaded fraud model from {}", modelResource.getDescription());
+    }
+
+    @Override
+    public FraudDetectionDTO predictFraud(TransactionRequestDTO dto) {
+        double probability = probability(evaluator, dto);
+        return new FraudDetectionDTO(
+                probability > 0.5,
+                Math.round(probability * 100.0) / 100.0
+        );
+    }
+
+    @Override
+    public FraudDetectionDTO score(TransactionRequestDTO dto) {
+        return predictFraud(dto);
+    }
+
+    @Override
+    public List<FraudDetectionDTO> predictFraudBatch(List<TransactionRequestDTO> dtos) {
+        List<FraudDetectionDTO> results = new ArrayList<>(dtos.size());
+        for (TransactionRequestDTO dto : dtos) {
+            results.add(predictFraud(dto));
+        }
+        return results;
+    }
+
+    @Override
+    public List<FraudDetectionDTO> scoreBatch(List<TransactionRequestDTO> dtos) {
+        return predictFraudBatch(dtos);
+    }
+
+    static double probability(FraudModelEvaluator evaluator, TransactionRequestDTO dto) {
+        return evaluator.probability(
+                dto.amount(),
+                hourOf(dto.timestamp()),
+                evaluator.encodeType(dto.type()),
+                dto.receiver_account(),
+                dto.sender_account() != null ? dto.sender_account() : -1
+        );
+    }
+
+    static int hourOf(String timestamp) {
+        if (timestamp.length() >= 13 && (timestamp.charAt(10) == 'T' || timestamp.charAt(10) == ' ')) {
+            char tens = timestamp.charAt(11);
+            char units = timestamp.charAt(12);
+            if (Character.isDigit(tens) && Character.isDigit(units)) {
+                return (tens - '0') * 10 + (units - '0');
+            }
+        }
+        return LocalDateTime.parse(timestamp).getHour();
+    }
+
+}
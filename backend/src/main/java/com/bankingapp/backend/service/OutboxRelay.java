@@ -0,0 +1,254 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.event.LedgerEvent;
+import com.bankingapp.backend.event.LedgerEventBus;
+import com.bankingapp.backend.event.TransactionCommittedEvent;
+import com.bankingapp.backend.model.OutboxCheckpoint;
+import com.bankingapp.backend.model.OutboxEvent;
+import com.bankingapp.backend.repository.OutboxCheckpointRepository;
+import com.bankingapp.backend.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+@Service
+public class OutboxRelay {
+
+    private final static Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final class Lag {
+        private volatile long events;
+        private volatile double seconds;
+    }
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxCheckpointRepository checkpointRepository;
+    private final LedgerEventBus eventBus;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Lag> lags = new ConcurrentHashMap<>();
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.gap-timeout-ms:300000}")
+    private long gapTimeoutMs;
+
+    @Value("${outbox.relay.max-gaps:10000}")
+    private int maxGaps;
+
+    @Value("${outbox.retention-hours:72}")
+    private long retentionHours;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxCheckpointRepository checkpointRepository,
+                       LedgerEventBus eventBus,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.eventBus = eventBus;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+    public void relay() {
+        eventBus.getConsumers().forEach((consumer, handler) -> {
+            try {
+                int delivered;
+                do {
+                    delivered = relayBatch(consumer, handler);
+                } while (delivered == batchSize);
+            } catch (RuntimeException e) {
+                logger.error("Outbox relay for consumer {} failed: {}", consumer, e.getMessage());
+            }
+            updateLag(consumer);
+        });
+    }
+
+    // Delivery happens while the consumer's checkpoint row is locked, so each consumer is relayed by
+    // one node at a time. A crash before the checkpoint commits redelivers the batch.
+    //
+    // Ids are assigned at insert but become visible at commit, so a slow transaction can commit an id
+    // below the checkpoint. Ids the checkpoint passes without seeing are kept as open gaps and delivered
+    // once they commit; a gap still missing after gap-timeout-ms belonged to a rolled-back transaction.
+    private int relayBatch(String consumer, Consumer<LedgerEvent> handler) {
+        Integer delivered = transactionTemplate.execute(status -> {
+            checkpointRepository.register(consumer);
+            Optional<OutboxCheckpoint> locked = checkpointRepository.lockForRelay(consumer);
+            if (locked.isEmpty()) {
+                return 0;
+            }
+            OutboxCheckpoint checkpoint = locked.get();
+            long now = System.currentTimeMillis();
+            Map<Long, Long> gaps = parseGaps(checkpoint.getOpenGaps());
+            int openGaps = gaps.size();
+            gaps.values().removeIf(firstSeen -> now - firstSeen > gapTimeoutMs);
+            boolean changed = gaps.size() != openGaps;
+
+            if (!gaps.isEmpty()) {
+                for (OutboxEvent event : outboxEventRepository.findByIdInOrderById(gaps.keySet())) {
+                    if (!deliver(consumer, handler, event)) {
+                        saveIfChanged(checkpoint, checkpoint.getLastEventId(), gaps, changed);
+                        return -1;
+                    }
+                    gaps.remove(event.getId());
+                    changed = true;
+                }
+            }
+
+            List<OutboxEvent> batch = outboxEventRepository.findBatchAfter(
+                    checkpoint.getLastEventId(), PageRequest.of(0, batchSize));
+            long lastEventId = checkpoint.getLastEventId();
+            int count = 0;
+            for (OutboxEvent event : batch) {
+                if (!deliver(consumer, handler, event)) {
+                    break;
+                }
+                // A new checkpoint starts at whatever the table holds, so there is nothing to wait for below it
+                if (lastEventId > 0) {
+                    recordGaps(consumer, gaps, lastEventId + 1, event.getId(), now);
+                }
+                lastEventId = event.getId();
+                count++;
+            }
+            saveIfChanged(checkpoint, lastEventId, gaps, changed || count > 0);
+            return count == batch.size() ? count : -1;
+        });
+        return delivered != null ? delivered : 0;
+    }
+
+    private boolean deliver(String consumer, Consumer<LedgerEvent> handler, OutboxEvent event) {
+        try {
+            handler.accept(toLedgerEvent(event));
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Consumer {} failed on outbox event {}, will retry: {}",
+                    consumer, event.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void recordGaps(String consumer, Map<Long, Long> gaps, long fromId, long toId, long now) {
+        for (long id = fromId; id < toId; id++) {
+            if (gaps.size() >= maxGaps) {
+                logger.warn("Consumer {} has {} open outbox gaps, not waiting for ids {} to {}",
+                        consumer, gaps.size(), id, toId - 1);
+                return;
+            }
+            gaps.putIfAbsent(id, now);
+        }
+    }
+
+    private void saveIfChanged(OutboxCheckpoint checkpoint, long lastEventId, Map<Long, Long> gaps, boolean changed) {
+        if (!changed) {
+            return;
+        }
+        checkpoint.setLastEventId(lastEventId);
+        checkpoint.setOpenGaps(formatGaps(gaps));
+        checkpointRepository.save(checkpoint);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup.interval-ms:3600000}")
+    public void deleteDelivered() {
+        // Checkpoints of consumers that are no longer registered would otherwise hold rows back forever
+        Set<String> consumers = eventBus.getConsumers().keySet();
+        Optional<Long> upTo = consumers.isEmpty()
+                ? outboxEventRepository.findMaxId()
+                : checkpointRepository.findMinLastEventId(consumers);
+        if (upTo.isEmpty()) {
+            return;
+        }
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deleteDelivered(
+                upTo.get(), LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted != null && deleted > 0) {
+            logger.info("Deleted {} delivered outbox events", deleted);
+        }
+    }
+
+    private void updateLag(String consumer) {
+        Lag lag = lags.computeIfAbsent(consumer, this::registerLagGauges);
+        long checkpoint = checkpointRepository.findById(consumer)
+                .map(OutboxCheckpoint::getLastEventId)
+                .orElse(0L);
+        lag.events = Math.max(0, outboxEventRepository.findMaxId().orElse(0L) - checkpoint);
+        lag.seconds = outboxEventRepository.findOldestCreatedAtAfter(checkpoint)
+                .map(oldest -> Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+
+    private Lag registerLagGauges(String consumer) {
+        Lag lag = new Lag();
+        Gauge.builder("outbox.consumer.lag.events", lag, l -> l.events)
+                .tag("consumer", consumer)
+                .register(meterRegistry);
+        Gauge.builder("outbox.consumer.lag.seconds", lag, l -> l.seconds)
+                .tag("consumer", consumer)
+                .register(meterRegistry);
+        return lag;
+    }
+
+    static Map<Long, Long> parseGaps(String openGaps) {
+        Map<Long, Long> gaps = new TreeMap<>();
+        if (openGaps == null || openGaps.isEmpty()) {
+            return gaps;
+        }
+        for (String gap : openGaps.split(",")) {
+            int at = gap.indexOf('@');
+            gaps.put(Long.parseLong(gap.substring(0, at)), Long.parseLong(gap.substring(at + 1)));
+        }
+        return gaps;
+    }
+
+    static String formatGaps(Map<Long, Long> gaps) {
+        if (gaps.isEmpty()) {
+            return null;
+        }
+        StringBuilder openGaps = new StringBuilder();
+        gaps.forEach((id, firstSeen) -> {
+            if (!openGaps.isEmpty()) {
+                openGaps.append(',');
+            }
+            openGaps.append(id).append('@').append(firstSeen);
+        });
+        return openGaps.toString();
+    }
+
+    private LedgerEvent toLedgerEvent(OutboxEvent event) {
+        try {
+            return new LedgerEvent(
+                    event.getId(),
+                    event.getEventType(),
+                    event.getAccountId(),
+                    objectMapper.readValue(event.getPayload(), TransactionCommittedEvent.class),
+                    event.getCreatedAt()
+            );
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox event " + event.getId(), e);
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.event.LedgerEventBus;
+import com.bankingapp.backend.event.TransactionCommittedEvent;
+import com.bankingapp.backend.model.OutboxEvent;
+import com.bankingapp.backend.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final LedgerEventBus eventBus;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         LedgerEventBus eventBus,
+                         ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventBus = eventBus;
+        this.objectMapper = objectMapper;
+    }
+
+    // A plain listener runs synchronously at publish time, so the outbox row commits or rolls back
+    // together with the transaction row that produced it
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionCommitted(TransactionCommittedEvent event) {
+        // Nothing would ever relay or clean up the row
+        if (!eventBus.hasConsumers()) {
+            return;
+        }
+        Long accountId = event.senderAccountId() != null ? event.senderAccountId() : event.receiverAccountId();
+        try {
+            outboxEventRepository.save(new OutboxEvent(
+                    event.type().name(),
+                    accountId,
+                    objectMapper.writeValueAsString(event)
+            ));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize ledger event " + event.transactionId(), e);
+        }
+    }
+
+}
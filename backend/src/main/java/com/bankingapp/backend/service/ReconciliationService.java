@@ -0,0 +1,305 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.BalanceDiscrepancyDTO;
+import com.bankingapp.backend.dto.ReconciliationStatusDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class ReconciliationService {
+
+    private final static Logger logger = LoggerFactory.getLogger(ReconciliationService.class);
+
+    private static final String ACCOUNTS =
+            "SELECT id, account_number, balance FROM accounts WHERE id >= ? AND id < ?";
+    private static final String CREDITS =
+            "SELECT receiver_account, COALESCE(converted_amount, amount), type FROM transactions " +
+            "WHERE receiver_account >= ? AND receiver_account < ? AND (status IS NULL OR status = 'COMPLETED')";
+    private static final String DEBITS =
+            "SELECT sender_account, amount FROM transactions " +
+            "WHERE sender_account >= ? AND sender_account < ? AND (status IS NULL OR status = 'COMPLETED')";
+
+    private final DataSource dataSource;
+    private final WorkerThreads workerThreads;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong rangesCompleted = new AtomicLong();
+    private final AtomicLong accountsChecked = new AtomicLong();
+    private final AtomicLong ledgerRows = new AtomicLong();
+    private final AtomicLong discrepancyCount = new AtomicLong();
+    private final AtomicInteger lastDiscrepancyCount = new AtomicInteger();
+    private final Queue<BalanceDiscrepancyDTO> discrepancies = new ConcurrentLinkedQueue<>();
+    private volatile long rangesTotal;
+    private volatile boolean consistentSnapshot;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    @Value("${reconciliation.parallelism:4}")
+    private int parallelism;
+
+    @Value("${reconciliation.range-size:5000}")
+    private long rangeSize;
+
+    @Value("${reconciliation.max-reported:1000}")
+    private int maxReported;
+
+    private ExecutorService coordinator;
+
+    public ReconciliationService(DataSource dataSource, MeterRegistry meterRegistry, WorkerThreads workerThreads) {
+        this.dataSource = dataSource;
+        this.workerThreads = workerThreads;
+        Gauge.builder("reconciliation.discrepancies", lastDiscrepancyCount, AtomicInteger::get)
+                .description("Accounts whose balance did not match the ledger in the last reconciliation")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        coordinator = Executors.newSingleThreadExecutor(workerThreads.factory("reconciliation"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+    }
+
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        rangesCompleted.set(0);
+        accountsChecked.set(0);
+        ledgerRows.set(0);
+        discrepancyCount.set(0);
+        discrepancies.clear();
+        rangesTotal = 0;
+        consistentSnapshot = false;
+        startedNanos = System.nanoTime();
+        finishedNanos = 0;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        error = null;
+
+        coordinator.execute(() -> {
+            try {
+                reconcile();
+                lastDiscrepancyCount.set((int) Math.min(Integer.MAX_VALUE, discrepancyCount.get()));
+                logger.info("Reconciled {} accounts against {} ledger rows, {} discrepancies",
+                        accountsChecked.get(), ledgerRows.get(), discrepancyCount.get());
+            } catch (Exception e) {
+                error = e.getMessage();
+                logger.error("Ledger reconciliation failed", e);
+            } finally {
+                finishedNanos = System.nanoTime();
+                finishedAt = LocalDateTime.now();
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public ReconciliationStatusDTO getStatus() {
+        long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+        double seconds = startedAt != null ? (end - startedNanos) / 1e9 : 0;
+        return new ReconciliationStatusDTO(
+                running.get(),
+                consistentSnapshot,
+                rangesCompleted.get(),
+                rangesTotal,
+                accountsChecked.get(),
+                ledgerRows.get(),
+                seconds > 0 ? ledgerRows.get() / seconds : 0,
+                discrepancyCount.get(),
+                List.copyOf(discrepancies),
+                startedAt,
+                finishedAt,
+                error
+        );
+    }
+
+    private void reconcile() throws SQLException {
+        try (Connection snapshotHolder = dataSource.getConnection()) {
+            snapshotHolder.setAutoCommit(false);
+            snapshotHolder.setReadOnly(true);
+            snapshotHolder.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+
+            long minId;
+            long maxId;
+            try (Statement statement = snapshotHolder.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT MIN(id), MAX(id) FROM accounts")) {
+                rs.next();
+                minId = rs.getLong(1);
+                maxId = rs.getLong(2);
+                if (rs.wasNull()) {
+                    return;
+                }
+            }
+            String snapshot = exportSnapshot(snapshotHolder);
+            consistentSnapshot = snapshot != null;
+
+            long ranges = (maxId - minId) / rangeSize + 1;
+            rangesTotal = ranges;
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new RangeTask(minId, 0, ranges, snapshot));
+            } finally {
+                pool.shutdown();
+                snapshotHolder.rollback();
+            }
+        }
+    }
+
+    private static String exportSnapshot(Connection connection) throws SQLException {
+        if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+            return null;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_export_snapshot()")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private final class RangeTask extends RecursiveAction {
+
+        private final long minId;
+        private final long fromRange;
+        private final long toRange;
+        private final String snapshot;
+
+        private RangeTask(long minId, long fromRange, long toRange, String snapshot) {
+            this.minId = minId;
+            this.fromRange = fromRange;
+            this.toRange = toRange;
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRange - fromRange > 1) {
+                long middle = (fromRange + toRange) >>> 1;
+                invokeAll(new RangeTask(minId, fromRange, middle, snapshot),
+                        new RangeTask(minId, middle, toRange, snapshot));
+                return;
+            }
+            long from = minId + fromRange * rangeSize;
+            try {
+                reconcileRange(from, from + rangeSize, snapshot);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to reconcile accounts " + from + "-" + (from + rangeSize), e);
+            }
+            rangesCompleted.incrementAndGet();
+        }
+    }
+
+    private void reconcileRange(long from, long to, String snapshot) throws SQLException {
+        int size = (int) (to - from);
+        long[] balances = new long[size];
+        long[] expected = new long[size];
+        String[] accountNumbers = new String[size];
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try {
+                if (snapshot != null) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SET TRANSACTION SNAPSHOT '" + snapshot + "'");
+                    }
+                }
+
+                try (PreparedStatement statement = rangeQuery(connection, ACCOUNTS, from, to);
+                     ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        int slot = (int) (rs.getLong(1) - from);
+                        accountNumbers[slot] = rs.getString(2);
+                        balances[slot] = cents(rs.getBigDecimal(3));
+                    }
+                }
+
+                long rows = 0;
+                try (PreparedStatement statement = rangeQuery(connection, CREDITS, from, to);
+                     ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        int slot = (int) (rs.getLong(1) - from);
+                        long amount = cents(rs.getBigDecimal(2));
+                        expected[slot] += "WITHDRAWAL".equals(rs.getString(3)) ? -amount : amount;
+                        rows++;
+                    }
+                }
+                try (PreparedStatement statement = rangeQuery(connection, DEBITS, from, to);
+                     ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        expected[(int) (rs.getLong(1) - from)] -= cents(rs.getBigDecimal(2));
+                        rows++;
+                    }
+                }
+                ledgerRows.addAndGet(rows);
+            } finally {
+                connection.rollback();
+            }
+        }
+
+        int accounts = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (accountNumbers[slot] == null) {
+                continue;
+            }
+            accounts++;
+            if (balances[slot] != expected[slot]) {
+                long count = discrepancyCount.incrementAndGet();
+                if (count <= maxReported) {
+                    discrepancies.add(new BalanceDiscrepancyDTO(
+                            from + slot,
+                            accountNumbers[slot],
+                            BigDecimal.valueOf(balances[slot], 2),
+                            BigDecimal.valueOf(expected[slot], 2)
+                    ));
+                }
+            }
+        }
+        accountsChecked.addAndGet(accounts);
+    }
+
+    private PreparedStatement rangeQuery(Connection connection, String sql, long from, long to) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        statement.setFetchSize(10_000);
+        statement.setLong(1, from);
+        statement.setLong(2, to);
+        return statement;
+    }
+
+    static long cents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.event.LedgerEvent;
+import com.bankingapp.backend.event.LedgerEventBus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "outbox.redis-stream.enabled", havingValue = "true")
+public class RedisStreamLedgerPublisher {
+
+    private final LedgerEventBus eventBus;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${outbox.redis-stream.key:ledger-events}")
+    private String streamKey;
+
+    @Value("${outbox.redis-stream.max-length:1000000}")
+    private long maxLength;
+
+    private long published;
+
+    public RedisStreamLedgerPublisher(LedgerEventBus eventBus,
+                                      StringRedisTemplate redisTemplate,
+                                      ObjectMapper objectMapper) {
+        this.eventBus = eventBus;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void register() {
+        eventBus.subscribe("redis-stream", this::publish);
+    }
+
+    // Called from the relay thread only, in outbox id order
+    private void publish(LedgerEvent event) {
+        try {
+            redisTemplate.opsForStream().add(StreamRecords.string(Map.of(
+                    "outboxId", String.valueOf(event.id()),
+                    "type", event.type(),
+                    "accountId", String.valueOf(event.accountId()),
+                    "payload", objectMapper.writeValueAsString(event.payload())
+            )).withStreamKey(streamKey));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize ledger event " + event.id(), e);
+        }
+        if (++published % 1000 == 0) {
+            redisTemplate.opsForStream().trim(streamKey, maxLength, true);
+        }
+    }
+
+}
@@ -0,0 +1,288 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.ScheduledTransferRequestDTO;
+import com.bankingapp.backend.dto.ScheduledTransferResponseDTO;
+import com.bankingapp.backend.exception.AccountNotFoundException;
+import com.bankingapp.backend.exception.InsufficientFundsException;
+import com.bankingapp.backend.exception.InvalidAccountStateException;
+import com.bankingapp.backend.exception.InvalidScheduleException;
+import com.bankingapp.backend.exception.TransactionNotFoundException;
+import com.bankingapp.backend.exception.TransferRejectedException;
+import com.bankingapp.backend.exception.UnsupportedCurrencyException;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.ScheduledTransfer;
+import com.bankingapp.backend.repository.ScheduledTransferRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+public class ScheduledTransferService {
+
+    private final static Logger logger = LoggerFactory.getLogger(ScheduledTransferService.class);
+
+    record DueTransfer(Long id, Long senderAccountId) {
+    }
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final AccountService accountService;
+    private final TransactionService transactionService;
+    private final TransactionTemplate transactionTemplate;
+    private final WorkerThreads workerThreads;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Map<Long, CompletableFuture<Void>> senderQueues = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter retried;
+    private final Counter failed;
+
+    @Value("${scheduled-transfers.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${scheduled-transfers.wheel-slots:512}")
+    private int wheelSlots;
+
+    @Value("${scheduled-transfers.horizon-ms:60000}")
+    private long horizonMs;
+
+    @Value("${scheduled-transfers.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    @Value("${scheduled-transfers.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${scheduled-transfers.retry-delay-ms:300000}")
+    private long retryDelayMs;
+
+    @Value("${scheduled-transfers.workers:4}")
+    private int workers;
+
+    private TimingWheel<DueTransfer> wheel;
+    private ExecutorService executor;
+
+    public ScheduledTransferService(ScheduledTransferRepository scheduledTransferRepository,
+                                    AccountService accountService,
+                                    TransactionService transactionService,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    WorkerThreads workerThreads) {
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.accountService = accountService;
+        this.transactionService = transactionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workerThreads = workerThreads;
+        this.executed = meterRegistry.counter("scheduled.transfers", "outcome", "executed");
+        this.retried = meterRegistry.counter("scheduled.transfers", "outcome", "retried");
+        this.failed = meterRegistry.counter("scheduled.transfers", "outcome", "failed");
+        Gauge.builder("scheduled.transfers.pending", pending, Set::size)
+                .description("Scheduled transfers held in the in-memory timing wheel")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        wheel = new TimingWheel<>(tickMs, wheelSlots, System.currentTimeMillis());
+        executor = Executors.newFixedThreadPool(workers, workerThreads.factory("scheduled-transfers"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Transactional
+    public ScheduledTransferResponseDTO create(ScheduledTransferRequestDTO request, UserDetails userDetails) {
+        if (request.endAt() != null && request.endAt().isBefore(request.startAt())) {
+            throw new InvalidScheduleException("End date must not be before the start date");
+        }
+        Account sender = accountService.validateAccountAccess(request.senderAccountNumber(), userDetails);
+        Account receiver = accountService.findAccountByAccountNumber(request.receiverAccountNumber())
+                .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+
+        ScheduledTransfer scheduled = scheduledTransferRepository.save(new ScheduledTransfer(
+                sender,
+                receiver,
+                request.amount(),
+                request.description(),
+                request.frequency(),
+                request.startAt(),
+                request.endAt()
+        ));
+        enqueue(scheduled.getId(), sender.getId(), scheduled.getNextExecutionAt());
+        return toDTO(scheduled);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduledTransferResponseDTO> findByUser(String email) {
+        return scheduledTransferRepository.findBySenderEmail(email).stream().map(this::toDTO).toList();
+    }
+
+    @Transactional
+    public ScheduledTransferResponseDTO cancel(Long id, String email) {
+        ScheduledTransfer scheduled = scheduledTransferRepository.lockById(id)
+                .filter(s -> s.getSenderAccount().getUser().getEmail().equals(email))
+                .orElseThrow(() -> new TransactionNotFoundException("Scheduled transfer not found"));
+        if (scheduled.getStatus() == ScheduledTransfer.Status.ACTIVE) {
+            scheduled.setStatus(ScheduledTransfer.Status.CANCELLED);
+        }
+        return toDTO(scheduled);
+    }
+
+    @Scheduled(fixedDelayString = "${scheduled-transfers.load-interval-ms:30000}")
+    public void load() {
+        LocalDateTime horizon = LocalDateTime.now().plusNanos(horizonMs * 1_000_000);
+        for (ScheduledTransferRepository.DueTransfer due :
+                scheduledTransferRepository.findDueBefore(horizon, PageRequest.of(0, loadBatchSize))) {
+            enqueue(due.getId(), due.getSenderAccountId(), due.getNextExecutionAt());
+        }
+    }
+
+    @Scheduled(fixedRateString = "${scheduled-transfers.tick-ms:1000}")
+    public void tick() {
+        for (DueTransfer due : wheel.advance(System.currentTimeMillis())) {
+            senderQueues.compute(due.senderAccountId(), (sender, tail) -> {
+                CompletableFuture<Void> next = (tail != null ? tail : CompletableFuture.<Void>completedFuture(null))
+                        .thenRunAsync(() -> execute(due), executor);
+                next.whenComplete((result, e) -> senderQueues.remove(sender, next));
+                return next;
+            });
+        }
+    }
+
+    private void enqueue(Long id, Long senderAccountId, LocalDateTime dueAt) {
+        long dueMillis = dueAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (dueMillis - System.currentTimeMillis() > horizonMs || !pending.add(id)) {
+            return;
+        }
+        wheel.schedule(new DueTransfer(id, senderAccountId), dueMillis);
+    }
+
+    void execute(DueTransfer due) {
+        pending.remove(due.id());
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            Boolean done = transactionTemplate.execute(status -> scheduledTransferRepository
+                    .claimDue(due.id(), now)
+                    .map(scheduled -> {
+                        transactionService.processTransfer(
+                                scheduled.getSenderAccount().getAccountNumber(),
+                                scheduled.getReceiverAccount().getAccountNumber(),
+                                scheduled.getAmount(),
+                                scheduled.getDescription()
+                        );
+                        scheduled.setAttempts(0);
+                        scheduled.setLastError(null);
+                        scheduled.setLastExecutedAt(now);
+                        advance(scheduled, now);
+                        return true;
+                    })
+                    .orElse(false));
+            if (Boolean.TRUE.equals(done)) {
+                executed.increment();
+            }
+        } catch (InsufficientFundsException | AccountNotFoundException | TransferRejectedException
+                 | InvalidAccountStateException | UnsupportedCurrencyException e) {
+            recordFailure(due, now, e);
+        } catch (Exception e) {
+            logger.error("Scheduled transfer {} failed, it stays due for the next load: {}", due.id(), e.getMessage());
+        }
+    }
+
+    private void recordFailure(DueTransfer due, LocalDateTime now, RuntimeException failure) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> scheduledTransferRepository
+                    .claimDue(due.id(), now)
+                    .ifPresent(scheduled -> {
+                        scheduled.setLastError(failure.getMessage());
+                        if (failure instanceof InsufficientFundsException && scheduled.getAttempts() + 1 < maxAttempts) {
+                            scheduled.setAttempts(scheduled.getAttempts() + 1);
+                            scheduled.setNextExecutionAt(now.plusNanos(
+                                    (retryDelayMs << (scheduled.getAttempts() - 1)) * 1_000_000));
+                            retried.increment();
+                            enqueue(scheduled.getId(), due.senderAccountId(), scheduled.getNextExecutionAt());
+                            return;
+                        }
+                        logger.warn("Scheduled transfer {} occurrence skipped: {}", scheduled.getId(), failure.getMessage());
+                        failed.increment();
+                        scheduled.setAttempts(0);
+                        if (scheduled.getFrequency() == ScheduledTransfer.Frequency.ONCE) {
+                            scheduled.setStatus(ScheduledTransfer.Status.FAILED);
+                        } else {
+                            advance(scheduled, now);
+                        }
+                    }));
+        } catch (Exception e) {
+            logger.error("Could not record failure of scheduled transfer {}: {}", due.id(), e.getMessage());
+        }
+    }
+
+    static void advance(ScheduledTransfer scheduled, LocalDateTime now) {
+        if (scheduled.getFrequency() == ScheduledTransfer.Frequency.ONCE) {
+            scheduled.setStatus(ScheduledTransfer.Status.COMPLETED);
+            return;
+        }
+        long occurrence = scheduled.getOccurrence();
+        LocalDateTime next;
+        do {
+            occurrence++;
+            next = occurrenceAt(scheduled, occurrence);
+        } while (!next.isAfter(now));
+
+        scheduled.setOccurrence(occurrence);
+        if (scheduled.getEndAt() != null && next.isAfter(scheduled.getEndAt())) {
+            scheduled.setStatus(ScheduledTransfer.Status.COMPLETED);
+            return;
+        }
+        scheduled.setNextExecutionAt(next);
+    }
+
+    private static LocalDateTime occurrenceAt(ScheduledTransfer scheduled, long occurrence) {
+        return switch (scheduled.getFrequency()) {
+            case DAILY -> scheduled.getStartAt().plusDays(occurrence);
+            case WEEKLY -> scheduled.getStartAt().plusWeeks(occurrence);
+            case MONTHLY -> scheduled.getStartAt().plusMonths(occurrence);
+            case ONCE -> scheduled.getStartAt();
+        };
+    }
+
+    private ScheduledTransferResponseDTO toDTO(ScheduledTransfer scheduled) {
+        return new ScheduledTransferResponseDTO(
+                scheduled.getId(),
+                scheduled.getSenderAccount().getAccountNumber(),
+                scheduled.getReceiverAccount().getAccountNumber(),
+                scheduled.getAmount(),
+                scheduled.getDescription(),
+                scheduled.getFrequency().name(),
+                scheduled.getStartAt(),
+                scheduled.getEndAt(),
+                scheduled.getNextExecutionAt(),
+                scheduled.getStatus().name(),
+                scheduled.getAttempts(),
+                scheduled.getLastError(),
+                scheduled.getLastExecutedAt()
+        );
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.bankingapp.backend.service;
+
+import java.util.Arrays;
+
+public final class SlidingWindowCounter {
+
+    private final int buckets;
+    private final long bucketMillis;
+    private final long[] epochs;
+    private final int[] counts;
+    private final long[] sums;
+    private long lastUpdateMillis;
+
+    public SlidingWindowCounter(int buckets, long bucketMillis) {
+        this.buckets = buckets;
+        this.bucketMillis = bucketMillis;
+        this.epochs = new long[buckets];
+        this.counts = new int[buckets];
+        this.sums = new long[buckets];
+        Arrays.fill(epochs, -1);
+    }
+
+    public synchronized void add(long timeMillis, long value) {
+        long epoch = timeMillis / bucketMillis;
+        int slot = (int) (epoch % buckets);
+        if (epochs[slot] != epoch) {
+            if (epochs[slot] > epoch) {
+                return;
+            }
+            epochs[slot] = epoch;
+            counts[slot] = 0;
+            sums[slot] = 0;
+        }
+        counts[slot]++;
+        sums[slot] += value;
+        lastUpdateMillis = Math.max(lastUpdateMillis, timeMillis);
+    }
+
+    public synchronized long count(long fromMillis, long nowMillis) {
+        long total = 0;
+        for (int slot = 0; slot < buckets; slot++) {
+            if (inRange(epochs[slot], fromMillis, nowMillis)) {
+                total += counts[slot];
+            }
+        }
+        return total;
+    }
+
+    public synchronized long sum(long fromMillis, long nowMillis) {
+        long total = 0;
+        for (int slot = 0; slot < buckets; slot++) {
+            if (inRange(epochs[slot], fromMillis, nowMillis)) {
+                total += sums[slot];
+            }
+        }
+        return total;
+    }
+
+    public synchronized long getLastUpdateMillis() {
+        return lastUpdateMillis;
+    }
+
+    public long getSpanMillis() {
+        return buckets * bucketMillis;
+    }
+
+    private boolean inRange(long epoch, long fromMillis, long nowMillis) {
+        long nowEpoch = nowMillis / bucketMillis;
+        return epoch >= 0
+                && epoch > nowEpoch - buckets
+                && epoch <= nowEpoch
+                && epoch >= fromMillis / bucketMillis;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.bankingapp.backend.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.UUID;
+
+record StatementCheckpoint(long epoch, LocalDateTime timestamp, UUID transactionId, long rows, boolean completed) {
+
+    static final String FILE = "_checkpoint";
+
+    static StatementCheckpoint read(Path dir) throws IOException {
+        Path file = dir.resolve(FILE);
+        if (!Files.exists(file)) {
+            return new StatementCheckpoint(0, null, null, 0, false);
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        String timestamp = properties.getProperty("timestamp");
+        return new StatementCheckpoint(
+                Long.parseLong(properties.getProperty("epoch")),
+                timestamp != null ? LocalDateTime.parse(timestamp) : null,
+                timestamp != null ? UUID.fromString(properties.getProperty("transaction-id")) : null,
+                Long.parseLong(properties.getProperty("rows")),
+                Boolean.parseBoolean(properties.getProperty("completed"))
+        );
+    }
+
+    void write(Path dir) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("epoch", Long.toString(epoch));
+        if (timestamp != null) {
+            properties.setProperty("timestamp", timestamp.toString());
+            properties.setProperty("transaction-id", transactionId.toString());
+        }
+        properties.setProperty("rows", Long.toString(rows));
+        properties.setProperty("completed", Boolean.toString(completed));
+
+        Path tmp = dir.resolve(FILE + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp)) {
+            properties.store(writer, null);
+        }
+        Files.move(tmp, dir.resolve(FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+}
@@ -0,0 +1,284 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.StatementJobStatusDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class StatementJobService {
+
+    private final static Logger logger = LoggerFactory.getLogger(StatementJobService.class);
+
+    private static final String SELECT = """
+            SELECT t.timestamp, t.id, t.type, t.amount, t.description,
+                   sa.id, sa.account_number, ra.id, ra.account_number, COALESCE(t.converted_amount, t.amount)
+            FROM transactions t
+            LEFT JOIN accounts sa ON sa.id = t.sender_account
+            JOIN accounts ra ON ra.id = t.receiver_account
+            WHERE t.timestamp >= ? AND t.timestamp < ?
+              AND (t.status IS NULL OR t.status = 'COMPLETED')
+            """;
+    private static final String RESUME = "  AND (t.timestamp > ? OR (t.timestamp = ? AND t.id > ?))\n";
+    private static final String ORDER = "ORDER BY t.timestamp, t.id";
+
+    private final DataSource dataSource;
+    private final WorkerThreads workerThreads;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private volatile String month;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    @Value("${statements.output-dir:./statements}")
+    private Path outputDir;
+
+    @Value("${statements.workers:4}")
+    private int workers;
+
+    @Value("${statements.fetch-size:5000}")
+    private int fetchSize;
+
+    @Value("${statements.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${statements.max-open-files-per-worker:256}")
+    private int maxOpenFiles;
+
+    @Value("${statements.checkpoint-rows:100000}")
+    private long checkpointRows;
+
+    @Value("${statements.max-rows-per-second:20000}")
+    private long maxRowsPerSecond;
+
+    private ExecutorService jobExecutor;
+    private ExecutorService partitionExecutor;
+
+    public StatementJobService(DataSource dataSource, WorkerThreads workerThreads) {
+        this.dataSource = dataSource;
+        this.workerThreads = workerThreads;
+    }
+
+    @PostConstruct
+    public void init() {
+        jobExecutor = Executors.newSingleThreadExecutor(workerThreads.factory("statement-job"));
+        partitionExecutor = Executors.newFixedThreadPool(workers, workerThreads.factory("statement-partition"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        partitionExecutor.shutdownNow();
+    }
+
+    @Scheduled(cron = "${statements.cron:0 0 2 1 * *}")
+    public void generatePreviousMonth() {
+        start(YearMonth.now().minusMonths(1));
+    }
+
+    public boolean start(YearMonth statementMonth) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        month = statementMonth.toString();
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        error = null;
+        rowsProcessed.set(0);
+
+        jobExecutor.execute(() -> {
+            try {
+                generate(statementMonth);
+            } catch (Exception e) {
+                error = e.getMessage();
+                logger.error("Statement generation for {} failed, it will resume from its last checkpoint",
+                        statementMonth, e);
+            } finally {
+                finishedAt = LocalDateTime.now();
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public StatementJobStatusDTO getStatus() {
+        return new StatementJobStatusDTO(month, running.get(), rowsProcessed.get(), startedAt, finishedAt, error);
+    }
+
+    private void generate(YearMonth statementMonth) throws IOException, SQLException, InterruptedException {
+        Path dir = outputDir.resolve(statementMonth.toString());
+        Files.createDirectories(dir);
+
+        StatementCheckpoint checkpoint = StatementCheckpoint.read(dir);
+        if (checkpoint.completed()) {
+            logger.info("Statements for {} already generated ({} rows)", statementMonth, checkpoint.rows());
+            rowsProcessed.set(checkpoint.rows());
+            return;
+        }
+        int rolledBack = StatementPartition.recover(dir, checkpoint.epoch());
+        if (checkpoint.timestamp() != null || rolledBack > 0) {
+            logger.info("Resuming statements for {} after {} rows, rolled back {} partially written files",
+                    statementMonth, checkpoint.rows(), rolledBack);
+        }
+        rowsProcessed.set(checkpoint.rows());
+
+        Semaphore acks = new Semaphore(0);
+        List<StatementPartition> partitions = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            StatementPartition partition =
+                    new StatementPartition(dir, i, checkpoint.epoch() + 1, queueCapacity, maxOpenFiles, acks);
+            partitions.add(partition);
+            partitionExecutor.execute(partition);
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    SELECT + (checkpoint.timestamp() != null ? RESUME : "") + ORDER,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                statement.setObject(1, statementMonth.atDay(1).atStartOfDay());
+                statement.setObject(2, statementMonth.plusMonths(1).atDay(1).atStartOfDay());
+                if (checkpoint.timestamp() != null) {
+                    statement.setObject(3, checkpoint.timestamp());
+                    statement.setObject(4, checkpoint.timestamp());
+                    statement.setObject(5, checkpoint.transactionId());
+                }
+
+                try (ResultSet rs = statement.executeQuery()) {
+                    checkpoint = stream(rs, dir, checkpoint, partitions, acks);
+                }
+            } finally {
+                connection.rollback();
+            }
+
+            checkpoint = barrier(dir, partitions, acks, checkpoint, true);
+            logger.info("Generated statements for {} from {} transactions", statementMonth, checkpoint.rows());
+        } finally {
+            for (StatementPartition partition : partitions) {
+                partition.queue().clear();
+                partition.queue().offer(StatementPartition.END);
+            }
+        }
+    }
+
+    private StatementCheckpoint stream(ResultSet rs, Path dir, StatementCheckpoint checkpoint,
+                                       List<StatementPartition> partitions, Semaphore acks)
+            throws SQLException, IOException, InterruptedException {
+        long started = System.nanoTime();
+        long rows = 0;
+        LocalDateTime lastTimestamp = checkpoint.timestamp();
+        UUID lastId = checkpoint.transactionId();
+
+        while (rs.next()) {
+            lastTimestamp = rs.getObject(1, LocalDateTime.class);
+            lastId = rs.getObject(2, UUID.class);
+            String type = rs.getString(3);
+            BigDecimal amount = rs.getBigDecimal(4);
+            String description = rs.getString(5);
+            long senderId = rs.getLong(6);
+            boolean hasSender = !rs.wasNull();
+            String senderNumber = rs.getString(7);
+            long receiverId = rs.getLong(8);
+            String receiverNumber = rs.getString(9);
+            BigDecimal receiverAmount = rs.getBigDecimal(10);
+            String id = lastId.toString();
+
+            if (hasSender) {
+                dispatch(partitions, new StatementPartition.Row(senderId, senderNumber, lastTimestamp, id,
+                        type, "DEBIT", receiverNumber, amount, description));
+            }
+            dispatch(partitions, new StatementPartition.Row(receiverId, receiverNumber, lastTimestamp, id,
+                    type, "WITHDRAWAL".equals(type) ? "DEBIT" : "CREDIT",
+                    hasSender ? senderNumber : "SYS_BANK", receiverAmount, description));
+
+            rows++;
+            rowsProcessed.incrementAndGet();
+            if (rows % checkpointRows == 0) {
+                checkpoint = barrier(dir, partitions, acks, new StatementCheckpoint(
+                        checkpoint.epoch(), lastTimestamp, lastId, checkpoint.rows() + rows, false), false);
+                rows = 0;
+                started = System.nanoTime();
+            }
+            if (maxRowsPerSecond > 0 && rows % 1000 == 0) {
+                throttle(rows, started);
+            }
+        }
+
+        return new StatementCheckpoint(checkpoint.epoch(), lastTimestamp, lastId, checkpoint.rows() + rows, false);
+    }
+
+    private StatementCheckpoint barrier(Path dir, List<StatementPartition> partitions, Semaphore acks,
+                                        StatementCheckpoint position, boolean completed)
+            throws IOException, InterruptedException {
+        for (StatementPartition partition : partitions) {
+            dispatchTo(partition, StatementPartition.BARRIER);
+        }
+        acks.acquire(partitions.size());
+        checkFailures(partitions);
+
+        StatementCheckpoint checkpoint = new StatementCheckpoint(
+                position.epoch() + 1, position.timestamp(), position.transactionId(), position.rows(), completed);
+        checkpoint.write(dir);
+        StatementPartition.deleteJournals(dir, checkpoint.epoch());
+        return checkpoint;
+    }
+
+    private void dispatch(List<StatementPartition> partitions, StatementPartition.Row row)
+            throws InterruptedException {
+        dispatchTo(partitions.get((int) (row.accountId() % partitions.size())), row);
+    }
+
+    private void dispatchTo(StatementPartition partition, StatementPartition.Row row) throws InterruptedException {
+        while (!partition.queue().offer(row, 1, TimeUnit.SECONDS)) {
+            if (partition.failure() != null) {
+                throw new IllegalStateException("Statement partition failed", partition.failure());
+            }
+        }
+    }
+
+    private void throttle(long rows, long started) throws InterruptedException {
+        long expectedNanos = rows * 1_000_000_000L / maxRowsPerSecond;
+        long aheadNanos = expectedNanos - (System.nanoTime() - started);
+        if (aheadNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+        }
+    }
+
+    private static void checkFailures(List<StatementPartition> partitions) {
+        for (StatementPartition partition : partitions) {
+            if (partition.failure() != null) {
+                throw new IllegalStateException("Statement partition failed", partition.failure());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.bankingapp.backend.service;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
+
+final class StatementPartition implements Runnable {
+
+    record Row(long accountId, String accountNumber, LocalDateTime timestamp, String transactionId,
+               String type, String direction, String counterparty, BigDecimal amount, String description) {
+    }
+
+    static final Row BARRIER = new Row(0, null, null, null, null, null, null, null, null);
+    static final Row END = new Row(0, null, null, null, null, null, null, null, null);
+
+    private static final String HEADER = "timestamp,transaction_id,type,direction,counterparty,amount,description\n";
+    private static final String JOURNAL_PREFIX = "_journal-";
+
+    private final Path dir;
+    private final int index;
+    private final int maxOpenFiles;
+    private final Semaphore acks;
+    private final BlockingQueue<Row> queue;
+    private final Map<Long, Writer> open;
+    private final Set<Long> journaled = new HashSet<>();
+    private long epoch;
+    private Writer journal;
+    private volatile Throwable failure;
+
+    StatementPartition(Path dir, int index, long epoch, int queueCapacity, int maxOpenFiles, Semaphore acks) {
+        this.dir = dir;
+        this.index = index;
+        this.epoch = epoch;
+        this.maxOpenFiles = maxOpenFiles;
+        this.acks = acks;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.open = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Writer> eldest) {
+                if (size() <= StatementPartition.this.maxOpenFiles) {
+                    return false;
+                }
+                close(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    BlockingQueue<Row> queue() {
+        return queue;
+    }
+
+    Throwable failure() {
+        return failure;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                Row row = queue.take();
+                if (row == END) {
+                    return;
+                }
+                if (row == BARRIER) {
+                    flush();
+                    acks.release();
+                    continue;
+                }
+                write(row);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            failure = e;
+            acks.release();
+        } finally {
+            open.values().forEach(StatementPartition::closeQuietly);
+            closeQuietly(journal);
+        }
+    }
+
+    private void write(Row row) throws IOException {
+        Writer writer = open.get(row.accountId());
+        if (writer == null) {
+            writer = openWriter(row);
+        }
+        writer.append(row.timestamp().toString()).append(',')
+                .append(row.transactionId()).append(',')
+                .append(row.type()).append(',')
+                .append(row.direction()).append(',')
+                .append(row.counterparty()).append(',')
+                .append(row.amount().toPlainString()).append(',')
+                .append(quote(row.description())).append('\n');
+    }
+
+    private Writer openWriter(Row row) throws IOException {
+        Path file = dir.resolve(row.accountNumber() + ".csv.gz");
+        long size = Files.exists(file) ? Files.size(file) : 0;
+        if (journaled.add(row.accountId())) {
+            if (journal == null) {
+                journal = Files.newBufferedWriter(dir.resolve(JOURNAL_PREFIX + epoch + "-" + index));
+            }
+            journal.append(file.getFileName().toString()).append(' ').append(Long.toString(size)).append('\n');
+            journal.flush();
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(new FileOutputStream(file.toFile(), true), 8192), StandardCharsets.UTF_8));
+        if (size == 0) {
+            writer.write(HEADER);
+        }
+        open.put(row.accountId(), writer);
+        return writer;
+    }
+
+    private void flush() throws IOException {
+        for (Writer writer : open.values()) {
+            writer.close();
+        }
+        open.clear();
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+        journaled.clear();
+        epoch++;
+    }
+
+    static void deleteJournals(Path dir, long upToEpoch) throws IOException {
+        for (Path journalFile : journals(dir)) {
+            if (epochOf(journalFile) <= upToEpoch) {
+                Files.delete(journalFile);
+            }
+        }
+    }
+
+    static int recover(Path dir, long committedEpoch) throws IOException {
+        Map<String, Long> sizes = new HashMap<>();
+        List<Path> uncommitted = journals(dir).stream()
+                .filter(journalFile -> epochOf(journalFile) > committedEpoch)
+                .sorted((a, b) -> Long.compare(epochOf(b), epochOf(a)))
+                .toList();
+        for (Path journalFile : uncommitted) {
+            for (String line : Files.readAllLines(journalFile)) {
+                int space = line.lastIndexOf(' ');
+                if (space > 0) {
+                    sizes.put(line.substring(0, space), Long.parseLong(line.substring(space + 1)));
+                }
+            }
+        }
+
+        for (Map.Entry<String, Long> entry : sizes.entrySet()) {
+            Path file = dir.resolve(entry.getKey());
+            if (entry.getValue() == 0) {
+                Files.deleteIfExists(file);
+            } else if (Files.exists(file)) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(entry.getValue());
+                }
+            }
+        }
+        for (Path journalFile : journals(dir)) {
+            Files.delete(journalFile);
+        }
+        return sizes.size();
+    }
+
+    private static List<Path> journals(Path dir) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, JOURNAL_PREFIX + "*")) {
+            return StreamSupport.stream(stream.spliterator(), false).toList();
+        }
+    }
+
+    private static long epochOf(Path journalFile) {
+        String name = journalFile.getFileName().toString();
+        return Long.parseLong(name.substring(JOURNAL_PREFIX.length(), name.lastIndexOf('-')));
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static void close(Writer writer) {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void closeQuietly(Writer writer) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+}
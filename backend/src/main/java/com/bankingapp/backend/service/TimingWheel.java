@@ -0,0 +1,71 @@
+package com.bankingapp.backend.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+final class TimingWheel<T> {
+
+    private record Entry<T>(T value, long deadlineTick) {
+    }
+
+    private final long tickMillis;
+    private final List<Entry<T>>[] slots;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int slotCount, long nowMillis) {
+        if (Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Slot count must be a power of two: " + slotCount);
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new List[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.mask = slotCount - 1;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    synchronized void schedule(T value, long deadlineMillis) {
+        long tick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+        slots[(int) (tick & mask)].add(new Entry<>(value, tick));
+        size++;
+    }
+
+    synchronized List<T> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        if (target - currentTick >= slots.length) {
+            for (List<Entry<T>> slot : slots) {
+                expire(slot, target, expired);
+            }
+            currentTick = target;
+            return expired;
+        }
+        while (currentTick < target) {
+            currentTick++;
+            expire(slots[(int) (currentTick & mask)], currentTick, expired);
+        }
+        return expired;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void expire(List<Entry<T>> slot, long tick, List<T> expired) {
+        Iterator<Entry<T>> entries = slot.iterator();
+        while (entries.hasNext()) {
+            Entry<T> entry = entries.next();
+            if (entry.deadlineTick() <= tick) {
+                expired.add(entry.value());
+                entries.remove();
+                size--;
+            }
+        }
+    }
+
+}
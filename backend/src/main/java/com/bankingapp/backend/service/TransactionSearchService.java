@@ -0,0 +1,153 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.dto.TransactionResponseDTO;
+import com.bankingapp.backend.dto.TransactionSearchResultDTO;
+import com.bankingapp.backend.exception.InvalidSearchQueryException;
+import com.bankingapp.backend.model.Transaction;
+import com.bankingapp.backend.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+public class TransactionSearchService {
+
+    private final static Logger logger = LoggerFactory.getLogger(TransactionSearchService.class);
+
+    private static final String INDEX_VALID =
+            "SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+            "WHERE c.relname = 'idx_transactions_description_fts'";
+    private static final String DROP_INDEX =
+            "DROP INDEX CONCURRENTLY IF EXISTS idx_transactions_description_fts";
+    private static final String CREATE_INDEX =
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_description_fts " +
+            "ON transactions USING GIN (to_tsvector('simple', description))";
+    private static final int MAX_TERMS = 8;
+    private static final LocalDateTime MIN_TIMESTAMP = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIMESTAMP = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999999999999.99");
+
+    private final TransactionRepository transactionRepository;
+    private final DataSource dataSource;
+
+    @Value("${transactions.search.max-page-size:100}")
+    private int maxPageSize;
+
+    public TransactionSearchService(TransactionRepository transactionRepository, DataSource dataSource) {
+        this.transactionRepository = transactionRepository;
+        this.dataSource = dataSource;
+    }
+
+    // Built outside the schema update so the index is created without blocking writes to transactions
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndex() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                logger.warn("Transaction search index requires PostgreSQL, search is unavailable");
+                return;
+            }
+            try (Statement statement = connection.createStatement()) {
+                // A failed concurrent build leaves an INVALID index behind that IF NOT EXISTS would keep forever
+                try (ResultSet rs = statement.executeQuery(INDEX_VALID)) {
+                    if (rs.next() && !rs.getBoolean(1)) {
+                        logger.warn("Transaction search index is invalid, rebuilding it");
+                        statement.execute(DROP_INDEX);
+                    }
+                }
+                statement.execute(CREATE_INDEX);
+            }
+        } catch (SQLException e) {
+            logger.error("Could not create transaction search index: {}", e.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionSearchResultDTO search(String email,
+                                             String query,
+                                             String accountNumber,
+                                             LocalDateTime from,
+                                             LocalDateTime to,
+                                             BigDecimal minAmount,
+                                             BigDecimal maxAmount,
+                                             int page,
+                                             int size) {
+        if (page < 0) {
+            throw new InvalidSearchQueryException("Page must not be negative");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new InvalidSearchQueryException("Page size must be between 1 and " + maxPageSize);
+        }
+
+        List<TransactionRepository.SearchHit> hits = transactionRepository.searchByDescription(
+                email,
+                toTsQuery(query),
+                accountNumber != null ? accountNumber : "",
+                from != null ? from : MIN_TIMESTAMP,
+                to != null ? to : MAX_TIMESTAMP,
+                minAmount != null ? minAmount : BigDecimal.ZERO,
+                maxAmount != null ? maxAmount : MAX_AMOUNT,
+                size + 1,
+                (long) page * size
+        );
+
+        boolean hasNext = hits.size() > size;
+        List<TransactionResponseDTO> results = hits.stream()
+                .limit(size)
+                .map(TransactionSearchService::toResponseDTO)
+                .toList();
+        return new TransactionSearchResultDTO(results, page, size, hasNext);
+    }
+
+    // Terms are reduced to letters and digits so user input can never inject tsquery operators;
+    // a trailing * turns a term into a prefix match
+    static String toTsQuery(String query) {
+        List<String> terms = new ArrayList<>();
+        for (String token : query == null ? new String[0] : query.trim().split("\\s+")) {
+            boolean prefix = token.endsWith("*");
+            int added = terms.size();
+            for (String part : token.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!part.isEmpty() && terms.size() < MAX_TERMS) {
+                    terms.add(part);
+                }
+            }
+            if (prefix && terms.size() > added) {
+                terms.set(terms.size() - 1, terms.get(terms.size() - 1) + ":*");
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new InvalidSearchQueryException("Search query must contain at least one word");
+        }
+        return String.join(" & ", terms);
+    }
+
+    private static TransactionResponseDTO toResponseDTO(TransactionRepository.SearchHit hit) {
+        boolean withdrawal = Transaction.TransactionType.WITHDRAWAL.name().equals(hit.getType());
+        boolean received = Boolean.TRUE.equals(hit.getReceived());
+        return new TransactionResponseDTO(
+                withdrawal ? hit.getReceiverAccountNumber()
+                        : hit.getSenderAccountNumber() != null ? hit.getSenderAccountNumber() : "SYS_BANK",
+                withdrawal ? "SYS_BANK" : hit.getReceiverAccountNumber(),
+                received ? hit.getReceiverAmount() : hit.getAmount(),
+                received ? hit.getReceiverCurrency() : hit.getCurrency(),
+                hit.getDescription(),
+                hit.getType(),
+                hit.getTimestamp()
+        );
+    }
+
+}
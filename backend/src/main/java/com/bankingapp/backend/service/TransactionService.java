@@ -1,48 +1,113 @@
 package com.bankingapp.backend.service;
 
 import com.bankingapp.backend.dto.TransactionResponseDTO;
+import com.bankingapp.backend.event.TransactionCommittedEvent;
 import com.bankingapp.backend.exception.AccountNotFoundException;
 import com.bankingapp.backend.exception.InsufficientFundsException;
+import com.bankingapp.backend.exception.InvalidTransactionStateException;
+import com.bankingapp.backend.exception.TransactionNotFoundException;
+import com.bankingapp.backend.exception.TransferRejectedException;
 import com.bankingapp.backend.model.Account;
 import com.bankingapp.backend.model.Transaction;
 import com.bankingapp.backend.repository.AccountRepository;
 import com.bankingapp.backend.repository.TransactionRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class TransactionService {
 
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FraudGateService fraudGateService;
+    private final FxRateService fxRateService;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer transferTimer;
+    private final Counter insufficientFunds;
 
-    public TransactionService(AccountRepository accountRepository, TransactionRepository transactionRepository) {
+    public TransactionService(AccountRepository accountRepository,
+                              TransactionRepository transactionRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              FraudGateService fraudGateService,
+                              FxRateService fxRateService,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
+        this.eventPublisher = eventPublisher;
+        this.fraudGateService = fraudGateService;
+        this.fxRateService = fxRateService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transferTimer = Timer.builder("transfer.process")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.insufficientFunds = meterRegistry.counter("transfer.insufficient.funds");
     }
 
-    @Transactional
+    // The fraud gate runs before the transaction opens, so its budget is not spent holding a pooled connection
     public Transaction processTransfer(
             String senderAccountNumber,
             String receiverAccountNumber,
             BigDecimal amount,
             String description
     ) {
-        Account sender = accountRepository.findByAccountNumber(senderAccountNumber)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+        long start = System.nanoTime();
+        try {
+            Account sender = accountRepository.findByAccountNumber(senderAccountNumber)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+            Account receiver = accountRepository.findByAccountNumber(receiverAccountNumber)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+            checkTransfer(sender, receiver, amount);
 
-        Account receiver = accountRepository.findByAccountNumber(receiverAccountNumber)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+            FraudGateService.Decision decision = fraudGateService.evaluate(sender, receiver, amount);
+            if (decision == FraudGateService.Decision.REJECT) {
+                throw new TransferRejectedException("Transfer rejected by fraud screening");
+            }
 
-        if (sender.getBalance().compareTo(amount) < 0) {
-            throw new InsufficientFundsException("Not enough balance");
+            return transactionTemplate.execute(status -> transfer(sender, receiver, amount, description, decision));
+        } finally {
+            transferTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
+    }
 
-        sender.setBalance(sender.getBalance().subtract(amount));
-        receiver.setBalance(receiver.getBalance().add(amount));
+    private Transaction transfer(Account unlockedSender,
+                                 Account unlockedReceiver,
+                                 BigDecimal amount,
+                                 String description,
+                                 FraudGateService.Decision decision) {
+        Parties parties = lock(unlockedSender, unlockedReceiver);
+        Account sender = parties.sender();
+        Account receiver = parties.receiver();
+        checkTransfer(sender, receiver, amount);
+
+        FxRateService.Conversion conversion = sender.getCurrency().equals(receiver.getCurrency())
+                ? null : fxRateService.convert(amount, sender.getCurrency(), receiver.getCurrency());
+
+        if (decision == FraudGateService.Decision.HOLD) {
+            Transaction held = new Transaction(amount, description, Transaction.TransactionType.TRANSFER, sender, receiver);
+            held.setStatus(Transaction.TransactionStatus.HELD);
+            applyCurrency(held, sender, conversion);
+            transactionRepository.save(held);
+            accountRepository.findByIdAndIncrementVersion(sender.getId());
+            accountRepository.findByIdAndIncrementVersion(receiver.getId());
+
+            eventPublisher.publishEvent(TransactionCommittedEvent.of(held));
+
+            return held;
+        }
 
         Transaction transaction = new Transaction();
         transaction.setAmount(amount);
@@ -50,69 +115,149 @@ public class TransactionService {
         transaction.setType(Transaction.TransactionType.TRANSFER);
         transaction.setSenderAccount(sender);
         transaction.setReceiverAccount(receiver);
+        applyCurrency(transaction, sender, conversion);
+
+        sender.setBalance(sender.getBalance().subtract(amount));
+        receiver.setBalance(receiver.getBalance().add(transaction.getReceiverAmount()));
 
         transactionRepository.save(transaction);
 
         accountRepository.save(sender);
         accountRepository.save(receiver);
 
+        eventPublisher.publishEvent(TransactionCommittedEvent.of(transaction));
+
         return transaction;
     }
 
+    // Rows are locked lowest id first, so two transfers in opposite directions cannot deadlock
+    private Parties lock(Account sender, Account receiver) {
+        if (sender.getId() > receiver.getId()) {
+            Account lockedReceiver = lock(receiver);
+            return new Parties(lock(sender), lockedReceiver);
+        }
+        Account lockedSender = lock(sender);
+        return new Parties(lockedSender, lock(receiver));
+    }
+
+    private Account lock(Account account) {
+        return accountRepository.findByAccountNumberForUpdate(account.getAccountNumber())
+                .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+    }
+
+    private record Parties(Account sender, Account receiver) {
+    }
+
+    private void checkTransfer(Account sender, Account receiver, BigDecimal amount) {
+        sender.requireActive();
+        receiver.requireActive();
+        if (sender.getBalance().compareTo(amount) < 0) {
+            insufficientFunds.increment();
+            throw new InsufficientFundsException("Not enough balance");
+        }
+    }
+
+    @Transactional
+    public Transaction releaseHeldTransfer(UUID transactionId) {
+        Transaction transaction = findHeldTransfer(transactionId);
+        Parties parties = lock(transaction.getSenderAccount(), transaction.getReceiverAccount());
+        Account sender = parties.sender();
+        Account receiver = parties.receiver();
+        checkTransfer(sender, receiver, transaction.getAmount());
+
+        sender.setBalance(sender.getBalance().subtract(transaction.getAmount()));
+        receiver.setBalance(receiver.getBalance().add(transaction.getReceiverAmount()));
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+
+        accountRepository.save(sender);
+        accountRepository.save(receiver);
+        transactionRepository.save(transaction);
+
+        eventPublisher.publishEvent(TransactionCommittedEvent.of(transaction));
+
+        return transaction;
+    }
+
+    @Transactional
+    public Transaction rejectHeldTransfer(UUID transactionId) {
+        Transaction transaction = findHeldTransfer(transactionId);
+        transaction.setStatus(Transaction.TransactionStatus.REJECTED);
+        return transactionRepository.save(transaction);
+    }
+
+    private Transaction findHeldTransfer(UUID transactionId) {
+        Transaction transaction = transactionRepository.findById(transactionId)
+                .orElseThrow(() -> new TransactionNotFoundException("Transaction not found"));
+        if (transaction.getStatus() != Transaction.TransactionStatus.HELD) {
+            throw new InvalidTransactionStateException("Transaction is not held");
+        }
+        return transaction;
+    }
+
+    @Transactional(readOnly = true)
     public List<TransactionResponseDTO> getAllUserTransactions(String accountNumber, String email) {
         return transactionRepository
                 .findByAccountNumberAndEmail(accountNumber, email)
                 .stream()
-                .map((Transaction t) -> new TransactionResponseDTO(
-                        t.getSenderAccount().getAccountNumber(),
-                        t.getReceiverAccount().getAccountNumber(),
-                        t.getAmount(),
-                        t.getDescription(),
-                        t.getType().name(),
-                        t.getTimestamp()
-                ))
+                .map(t -> convertToDTO(t, t.getReceiverAccount().getAccountNumber().equals(accountNumber)))
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<TransactionResponseDTO> getUserDepositTransactions(String accountNumber, String email) {
         return transactionRepository.findDepositsByAccountAndEmail(accountNumber, email)
                 .stream()
-                .map((Transaction t) -> new TransactionResponseDTO(
-                        "SYS_BANK",
-                        t.getReceiverAccount().getAccountNumber(),
-                        t.getAmount(),
-                        t.getDescription(),
-                        t.getType().name(),
-                        t.getTimestamp()
-                ))
+                .map(t -> convertToDTO(t, true))
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<TransactionResponseDTO> getUserSentTransactions(String accountNumber, String email) {
         return transactionRepository
                 .findSentTransfersByAccountAndEmail(accountNumber, email)
                 .stream()
-                .map(this::convertToDTO)
+                .map(t -> convertToDTO(t, false))
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<TransactionResponseDTO> getUserReceivedTransactions(String accountNumber, String email) {
         return transactionRepository
                 .findReceivedTransactionsByAccountAndEmail(accountNumber, email)
                 .stream()
-                .map(this::convertToDTO)
+                .map(t -> convertToDTO(t, true))
                 .toList();
     }
 
-    private TransactionResponseDTO convertToDTO(Transaction t) {
+    @Transactional(readOnly = true)
+    public List<TransactionResponseDTO> getRecentTransactions(Long accountId, int limit) {
+        return transactionRepository.findRecentByAccountId(accountId, PageRequest.of(0, limit))
+                .stream()
+                .map(t -> convertToDTO(t, t.getReceiverAccount().getId().equals(accountId)))
+                .toList();
+    }
+
+    // The receiving side of a transfer sees the amount credited to it, in its own currency
+    static TransactionResponseDTO convertToDTO(Transaction t, boolean receiverSide) {
+        boolean withdrawal = t.getType() == Transaction.TransactionType.WITHDRAWAL;
         return new TransactionResponseDTO(
-                t.getSenderAccount().getAccountNumber(),
-                t.getReceiverAccount().getAccountNumber(),
-                t.getAmount(),
+                withdrawal ? t.getReceiverAccount().getAccountNumber()
+                        : t.getSenderAccount() != null ? t.getSenderAccount().getAccountNumber() : "SYS_BANK",
+                withdrawal ? "SYS_BANK" : t.getReceiverAccount().getAccountNumber(),
+                receiverSide ? t.getReceiverAmount() : t.getAmount(),
+                receiverSide ? t.getReceiverAccount().getCurrency() : t.getCurrency(),
                 t.getDescription(),
                 t.getType().name(),
                 t.getTimestamp()
         );
     }
 
+    private static void applyCurrency(Transaction transaction, Account sender, FxRateService.Conversion conversion) {
+        transaction.setCurrency(sender.getCurrency());
+        if (conversion != null) {
+            transaction.setConvertedAmount(conversion.amount());
+            transaction.setExchangeRate(conversion.rate());
+        }
+    }
+
 }
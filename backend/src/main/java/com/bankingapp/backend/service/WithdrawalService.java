@@ -0,0 +1,206 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.event.TransactionCommittedEvent;
+import com.bankingapp.backend.exception.AccountNotFoundException;
+import com.bankingapp.backend.exception.InsufficientFundsException;
+import com.bankingapp.backend.exception.WithdrawalLimitExceededException;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.Transaction;
+import com.bankingapp.backend.repository.AccountRepository;
+import com.bankingapp.backend.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class WithdrawalService {
+
+    private final static Logger logger = LoggerFactory.getLogger(WithdrawalService.class);
+
+    private static final long BUCKET_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+
+    // Withdrawals over the last day for one account, valid while the account's withdrawal version is unchanged.
+    // A withdrawal committed on another node bumps it and forces a re-seed.
+    private static final class LimitWindow {
+        private final SlidingWindowCounter withdrawals;
+        private volatile long version;
+
+        LimitWindow(int buckets, long version) {
+            this.withdrawals = new SlidingWindowCounter(buckets, BUCKET_MS);
+            this.version = version;
+        }
+
+        void record(long timeMillis, long cents, long newVersion) {
+            withdrawals.add(timeMillis, cents);
+            version = newVersion;
+        }
+    }
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer withdrawalTimer;
+    private final Counter dailyRejections;
+    private final Counter windowRejections;
+    private final Counter reseeds;
+    private final Map<Long, LimitWindow> windows = new ConcurrentHashMap<>();
+
+    @Value("${withdrawal.limit.daily-amount:5000.00}")
+    private BigDecimal dailyLimit;
+
+    @Value("${withdrawal.limit.window-amount:1000.00}")
+    private BigDecimal windowLimit;
+
+    @Value("${withdrawal.limit.window-minutes:60}")
+    private long windowMinutes;
+
+    @Value("${withdrawal.limit.window-count:5}")
+    private int windowCount;
+
+    @Value("${withdrawal.limit.max-accounts:50000}")
+    private int maxAccounts;
+
+    private long windowMs;
+    private int buckets;
+
+    public WithdrawalService(AccountRepository accountRepository,
+                             TransactionRepository transactionRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.eventPublisher = eventPublisher;
+        this.withdrawalTimer = Timer.builder("withdrawal.process")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dailyRejections = meterRegistry.counter("withdrawal.limit.rejections", "limit", "daily");
+        this.windowRejections = meterRegistry.counter("withdrawal.limit.rejections", "limit", "window");
+        this.reseeds = meterRegistry.counter("withdrawal.limit.reseeds");
+    }
+
+    @PostConstruct
+    public void init() {
+        windowMs = Math.min(TimeUnit.MINUTES.toMillis(windowMinutes), DAY_MS);
+        buckets = (int) (DAY_MS / BUCKET_MS) + 1;
+    }
+
+    @Transactional
+    public Transaction withdrawFromAccount(
+            String accountNumber,
+            BigDecimal amount,
+            String description
+    ) {
+        long start = System.nanoTime();
+        try {
+            Account account = accountRepository.findByAccountNumberForUpdate(accountNumber)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+            account.requireActive();
+
+            long now = System.currentTimeMillis();
+            long cents = amount.movePointRight(2).longValueExact();
+            LimitWindow window = windowFor(account);
+            checkLimits(window, cents, now);
+
+            if (account.getBalance().compareTo(amount) < 0) {
+                throw new InsufficientFundsException("Insufficient funds");
+            }
+
+            account.recordWithdrawal(amount);
+            accountRepository.save(account);
+
+            Transaction transaction = new Transaction();
+            transaction.setAmount(amount);
+            transaction.setDescription(description);
+            transaction.setType(Transaction.TransactionType.WITHDRAWAL);
+            transaction.setSenderAccount(null);
+            transaction.setReceiverAccount(account);
+            transaction.setCurrency(account.getCurrency());
+
+            Transaction saved = transactionRepository.save(transaction);
+
+            long newVersion = account.getWithdrawalVersion();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    window.record(now, cents, newVersion);
+                }
+            });
+
+            eventPublisher.publishEvent(TransactionCommittedEvent.of(saved));
+
+            return saved;
+        } finally {
+            withdrawalTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${withdrawal.limit.eviction-interval-ms:60000}")
+    public void evictIdleWindows() {
+        long cutoff = System.currentTimeMillis() - DAY_MS;
+        int before = windows.size();
+        windows.values().removeIf(window -> window.withdrawals.getLastUpdateMillis() < cutoff);
+        int evicted = before - windows.size();
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle withdrawal limit windows", evicted);
+        }
+    }
+
+    private void checkLimits(LimitWindow window, long cents, long now) {
+        long startOfDay = LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long today = window.withdrawals.sum(startOfDay, now);
+        if (today + cents > dailyLimit.movePointRight(2).longValue()) {
+            dailyRejections.increment();
+            throw new WithdrawalLimitExceededException("Daily withdrawal limit of " + dailyLimit + " exceeded");
+        }
+
+        long from = now - windowMs;
+        if (window.withdrawals.count(from, now) >= windowCount
+                || window.withdrawals.sum(from, now) + cents > windowLimit.movePointRight(2).longValue()) {
+            windowRejections.increment();
+            throw new WithdrawalLimitExceededException(
+                    "Withdrawal limit of " + windowLimit + " per " + windowMinutes + " minutes exceeded");
+        }
+    }
+
+    private LimitWindow windowFor(Account account) {
+        LimitWindow window = windows.get(account.getId());
+        if (window != null && window.version == account.getWithdrawalVersion()) {
+            return window;
+        }
+
+        reseeds.increment();
+        window = new LimitWindow(buckets, account.getWithdrawalVersion());
+        LocalDateTime since = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(System.currentTimeMillis() - DAY_MS), ZoneId.systemDefault());
+        for (Object[] row : transactionRepository.findWithdrawalsSince(account.getId(), since)) {
+            long timeMillis = ((LocalDateTime) row[0]).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            window.withdrawals.add(timeMillis, ((BigDecimal) row[1]).movePointRight(2).longValue());
+        }
+
+        if (windows.containsKey(account.getId()) || windows.size() < maxAccounts) {
+            windows.put(account.getId(), window);
+        }
+        return window;
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.bankingapp.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String SERVICE_READ = "com.bankingapp.backend.service.TransactionService.getAllUserTransactions";
+    private static final String REPOSITORY_READ = "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById";
+
+    private JdbcTemplate replicaAdmin;
+    private ReplicaLagMonitor lagMonitor;
+    private DataSourceTransactionManager transactionManager;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        replicaAdmin = new JdbcTemplate(replica);
+        replicaAdmin.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+        replicaAdmin.update("INSERT INTO replica_lag VALUES (0)");
+
+        lagMonitor = new ReplicaLagMonitor(replica, "SELECT seconds FROM replica_lag", 2000, new SimpleMeterRegistry());
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primary, replica, lagMonitor, List.of("com.bankingapp.backend.service.")));
+        transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+    }
+
+    @Test
+    void readOnlyServiceTransactionsUseReplica() {
+        lagMonitor.check();
+
+        assertEquals("replica", nodeFor(true, SERVICE_READ));
+        assertEquals("primary", nodeFor(false, SERVICE_READ));
+        assertEquals("primary", nodeForNonTransactional());
+    }
+
+    @Test
+    void implicitRepositoryReadsStayOnPrimary() {
+        lagMonitor.check();
+
+        assertEquals("primary", nodeFor(true, REPOSITORY_READ));
+    }
+
+    @Test
+    void lagGuardFallsBackToPrimary() {
+        assertEquals("primary", nodeFor(true, SERVICE_READ));
+
+        lagMonitor.check();
+        assertEquals("replica", nodeFor(true, SERVICE_READ));
+
+        replicaAdmin.update("UPDATE replica_lag SET seconds = 30");
+        lagMonitor.check();
+        assertEquals("primary", nodeFor(true, SERVICE_READ));
+
+        replicaAdmin.update("UPDATE replica_lag SET seconds = 0.5");
+        lagMonitor.check();
+        assertEquals("replica", nodeFor(true, SERVICE_READ));
+    }
+
+    private String nodeFor(boolean readOnly, String transactionName) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        template.setName(transactionName);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private String nodeForNonTransactional() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.bankingapp.backend.controller;
+
+import com.bankingapp.backend.dto.TransactionResponseDTO;
+import com.bankingapp.backend.service.AccountService;
+import com.bankingapp.backend.service.TransactionSearchService;
+import com.bankingapp.backend.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConditionalResponsesTest {
+
+    private final AccountService accountService = mock(AccountService.class);
+    private final TransactionService transactionService = mock(TransactionService.class);
+    private final TransferController transferController =
+            new TransferController(accountService, transactionService, mock(TransactionSearchService.class));
+    private final UserDetails alice = User.withUsername("alice@example.com").password("x").roles("USER").build();
+
+    @Test
+    void matchingETagIsAnsweredWithoutTheLedgerQuery() {
+        when(accountService.findAccountVersion("acc-1", "alice@example.com")).thenReturn(Optional.of(3L));
+
+        ResponseEntity<List<TransactionResponseDTO>> response = history("\"all-3\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"all-3\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verify(transactionService, never()).getAllUserTransactions(anyString(), anyString());
+    }
+
+    @Test
+    void balanceChangeIssuesANewETag() {
+        when(accountService.findAccountVersion("acc-1", "alice@example.com")).thenReturn(Optional.of(4L));
+        when(transactionService.getAllUserTransactions("acc-1", "alice@example.com")).thenReturn(List.of());
+
+        ResponseEntity<List<TransactionResponseDTO>> response = history("\"all-3\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"all-4\"", response.getHeaders().getETag());
+        assertEquals(List.of(), response.getBody());
+    }
+
+    private ResponseEntity<List<TransactionResponseDTO>> history(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transfers/account/acc-1");
+        request.addHeader("If-None-Match", ifNoneMatch);
+        return transferController.getTransactionsByAccount(
+                "acc-1", alice, new ServletWebRequest(request, new MockHttpServletResponse()));
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.bankingapp.backend.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void poolTimeoutIsRetryable() {
+        CannotCreateTransactionException ex = new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new SQLTransientConnectionException("HikariPool-1 - Connection is not available, request timed out"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, handler.handleConnectionPoolExhausted(ex).getStatusCode());
+    }
+
+    @Test
+    void otherResourceFailuresAreNotMappedTo503() {
+        DataAccessResourceFailureException ex = new DataAccessResourceFailureException("Connection refused");
+
+        assertSame(ex, assertThrows(DataAccessResourceFailureException.class,
+                () -> handler.handleConnectionPoolExhausted(ex)));
+    }
+
+}
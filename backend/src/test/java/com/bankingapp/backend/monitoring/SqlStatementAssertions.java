@@ -0,0 +1,33 @@
+package com.bankingapp.backend.monitoring;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(long max, Supplier<T> action) {
+        SqlStatementContext.start();
+        T result;
+        SqlStatementContext context;
+        try {
+            result = action.get();
+        } finally {
+            context = SqlStatementContext.stop();
+        }
+        assertTrue(context.getStatements() <= max,
+                "Expected at most " + max + " SQL statements but " + context.getStatements() + " were executed");
+        return result;
+    }
+
+    public static void assertMaxStatements(long max, Runnable action) {
+        assertMaxStatements(max, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+}
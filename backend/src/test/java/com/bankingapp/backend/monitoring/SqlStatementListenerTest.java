@@ -0,0 +1,52 @@
+package com.bankingapp.backend.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlStatementListenerTest {
+
+    private final SqlStatementListener listener = new SqlStatementListener();
+
+    @Test
+    void countsStatementsAndBatchesInsideContext() {
+        SqlStatementContext.start();
+        executeStatement();
+        executeStatement();
+        listener.jdbcExecuteBatchStart();
+        listener.jdbcExecuteBatchEnd();
+        SqlStatementContext context = SqlStatementContext.stop();
+
+        assertEquals(3, context.getStatements());
+        assertTrue(context.getNanos() >= 0);
+    }
+
+    @Test
+    void ignoresStatementsOutsideContext() {
+        executeStatement();
+
+        SqlStatementContext.start();
+        assertEquals(0, SqlStatementContext.stop().getStatements());
+    }
+
+    @Test
+    void assertionFailsWhenBudgetExceeded() {
+        SqlStatementAssertions.assertMaxStatements(2, () -> {
+            executeStatement();
+            executeStatement();
+        });
+
+        assertThrows(AssertionError.class, () -> SqlStatementAssertions.assertMaxStatements(1, () -> {
+            executeStatement();
+            executeStatement();
+        }));
+    }
+
+    private void executeStatement() {
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.bankingapp.backend.repository;
+
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class AccountRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        User alice = entityManager.persist(new User("alice@example.com", "password1", "Alice", "A", "+10000000001"));
+        account = entityManager.persist(new Account(new BigDecimal("10.00"), "USD", Account.AccountStatus.ACTIVE, alice));
+        entityManager.flush();
+    }
+
+    @Test
+    void balanceChangeBumpsTheVersion() {
+        long before = version();
+
+        account.setBalance(new BigDecimal("20.00"));
+        entityManager.flush();
+
+        assertEquals(before + 1, version());
+    }
+
+    @Test
+    void lockedReadReplacesAStaleCopy() {
+        // another transaction commits a deposit after this persistence context loaded the account
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE accounts SET balance = 30.00, version = version + 1 WHERE id = :id")
+                .setParameter("id", account.getId())
+                .executeUpdate();
+
+        Account locked = accountRepository.findByAccountNumberForUpdate(account.getAccountNumber()).orElseThrow();
+
+        assertSame(account, locked);
+        assertEquals(0, new BigDecimal("30.00").compareTo(locked.getBalance()));
+        assertEquals(1, locked.getVersion());
+    }
+
+    @Test
+    void lockedReadOfAnUnknownAccountIsEmpty() {
+        assertTrue(accountRepository.findByAccountNumberForUpdate("missing").isEmpty());
+    }
+
+    private long version() {
+        return accountRepository.findVersionByAccountNumberAndEmail(account.getAccountNumber(), "alice@example.com")
+                .orElseThrow();
+    }
+
+}
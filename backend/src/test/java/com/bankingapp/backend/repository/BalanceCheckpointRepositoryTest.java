@@ -0,0 +1,212 @@
+package com.bankingapp.backend.repository;
+
+import com.bankingapp.backend.dto.BalanceAtDTO;
+import com.bankingapp.backend.event.TransactionCommittedEvent;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.BalanceCheckpoint;
+import com.bankingapp.backend.model.Transaction;
+import com.bankingapp.backend.model.User;
+import com.bankingapp.backend.service.BalanceCheckpointService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Checkpoints are written with INSERT ... ON CONFLICT (account_id, checkpoint_at), so this only runs against PostgreSQL:
+// TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/bank_test TEST_POSTGRES_USER=... TEST_POSTGRES_PASSWORD=...
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${TEST_POSTGRES_URL}",
+        "spring.datasource.username=${TEST_POSTGRES_USER:postgres}",
+        "spring.datasource.password=${TEST_POSTGRES_PASSWORD:}",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+@Import(BalanceCheckpointService.class)
+class BalanceCheckpointRepositoryTest {
+
+    private static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime TODAY = LocalDate.now().atStartOfDay();
+    private static final LocalDateTime DAY_1 = TODAY.minusDays(4);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BalanceCheckpointRepository balanceCheckpointRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    private Account alice;
+    private Account bob;
+    private UUID heldId;
+
+    @BeforeEach
+    void setUp() {
+        User aliceUser = entityManager.persist(new User("alice@example.com", "password1", "Alice", "A", "+10000000001"));
+        User bobUser = entityManager.persist(new User("bob@example.com", "password1", "Bob", "B", "+10000000002"));
+        alice = entityManager.persist(new Account(BigDecimal.ZERO, "USD", Account.AccountStatus.ACTIVE, aliceUser));
+        bob = entityManager.persist(new Account(BigDecimal.ZERO, "EUR", Account.AccountStatus.ACTIVE, bobUser));
+        entityManager.flush();
+        opened(alice, DAY_1.minusDays(2));
+        opened(bob, DAY_1.minusDays(2));
+
+        record(movement(Transaction.TransactionType.DEPOSIT, "1000.00", null, alice, null), DAY_1.minusHours(3));
+        Transaction rent = movement(Transaction.TransactionType.TRANSFER, "200.00", alice, bob, null);
+        rent.setConvertedAmount(new BigDecimal("180.00"));
+        record(rent, DAY_1.plusHours(9));
+        record(movement(Transaction.TransactionType.WITHDRAWAL, "50.00", null, bob, null), DAY_1.plusDays(1).plusHours(10));
+        record(movement(Transaction.TransactionType.DEPOSIT, "25.00", null, bob, null), DAY_1.plusDays(2).plusHours(8));
+        heldId = record(movement(Transaction.TransactionType.TRANSFER, "100.00", alice, bob,
+                Transaction.TransactionStatus.HELD), DAY_1.plusHours(11)).getId();
+        entityManager.clear();
+    }
+
+    @Test
+    void emptyTableBootstrapsTodayFromTheLedgerStart() {
+        balanceCheckpointService.writeDailyCheckpoints();
+
+        assertEquals(TODAY, balanceCheckpointRepository.findLatestCheckpointAt().orElseThrow());
+        assertEquals(2, balanceCheckpointRepository.count());
+        assertCheckpointsMatchTheFullHistory();
+        assertBalance("800.00", checkpoint(alice, TODAY));
+    }
+
+    @Test
+    void catchUpRollsForwardOneDayAtATime() {
+        assertEquals(2, balanceCheckpointRepository.rollForward(LEDGER_START, DAY_1));
+
+        balanceCheckpointService.writeDailyCheckpoints();
+
+        // DAY_1 plus one checkpoint per day up to today, for both accounts
+        assertEquals(10, balanceCheckpointRepository.count());
+        assertCheckpointsMatchTheFullHistory();
+        assertBalance("1000.00", checkpoint(alice, DAY_1));
+        assertBalance("0.00", checkpoint(bob, DAY_1));
+        assertBalance("180.00", checkpoint(bob, DAY_1.plusDays(1)));
+        assertBalance("130.00", checkpoint(bob, DAY_1.plusDays(2)));
+        assertBalance("155.00", checkpoint(bob, TODAY));
+    }
+
+    @Test
+    void accountsOpenedAfterTheCheckpointAreSkipped() {
+        assertEquals(0, balanceCheckpointRepository.rollForward(LEDGER_START, DAY_1.minusDays(3)));
+    }
+
+    @Test
+    void checkpointPlusDeltaMatchesTheFullHistory() {
+        balanceCheckpointRepository.rollForward(LEDGER_START, DAY_1);
+        balanceCheckpointService.writeDailyCheckpoints();
+
+        LocalDateTime at = DAY_1.plusDays(1).plusHours(12);
+        BalanceAtDTO balance = balanceCheckpointService.getBalanceAt(bob, at);
+
+        assertEquals(DAY_1.plusDays(1), balance.checkpointAt());
+        assertBalance("130.00", balance.balance());
+        assertEquals(0, fullHistory(bob, at).compareTo(balance.balance()));
+    }
+
+    @Test
+    void balanceBeforeTheFirstCheckpointComesFromTheLedgerStart() {
+        balanceCheckpointRepository.rollForward(LEDGER_START, DAY_1);
+
+        BalanceAtDTO balance = balanceCheckpointService.getBalanceAt(alice, DAY_1.minusHours(1));
+
+        assertNull(balance.checkpointAt());
+        assertBalance("1000.00", balance.balance());
+    }
+
+    @Test
+    void lateReleaseShiftsTheCheckpointsItWasHeldAcross() {
+        balanceCheckpointRepository.rollForward(LEDGER_START, DAY_1);
+        balanceCheckpointService.writeDailyCheckpoints();
+
+        // released today, but the row keeps its DAY_1 timestamp, so every later checkpoint missed it
+        Transaction held = entityManager.find(Transaction.class, heldId);
+        held.setStatus(Transaction.TransactionStatus.COMPLETED);
+        entityManager.flush();
+        balanceCheckpointService.onTransactionCommitted(TransactionCommittedEvent.of(held));
+        entityManager.clear();
+
+        assertCheckpointsMatchTheFullHistory();
+        assertBalance("1000.00", checkpoint(alice, DAY_1));
+        assertBalance("700.00", checkpoint(alice, DAY_1.plusDays(1)));
+        assertBalance("255.00", checkpoint(bob, TODAY));
+        assertBalance("255.00", balanceCheckpointService.getBalanceAt(bob, TODAY.plusHours(1)).balance());
+    }
+
+    private void assertCheckpointsMatchTheFullHistory() {
+        List<BalanceCheckpoint> checkpoints = balanceCheckpointRepository.findAll();
+        for (BalanceCheckpoint checkpoint : checkpoints) {
+            Account account = checkpoint.getAccountId().equals(alice.getId()) ? alice : bob;
+            assertEquals(0, fullHistory(account, checkpoint.getCheckpointAt()).compareTo(checkpoint.getBalance()),
+                    () -> account.getAccountNumber() + " at " + checkpoint.getCheckpointAt());
+        }
+    }
+
+    private BigDecimal fullHistory(Account account, LocalDateTime at) {
+        return transactionRepository.sumCreditsBetween(account.getId(), LEDGER_START, at)
+                .subtract(transactionRepository.sumDebitsBetween(account.getId(), LEDGER_START, at));
+    }
+
+    private BigDecimal checkpoint(Account account, LocalDateTime at) {
+        return balanceCheckpointRepository
+                .findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(account.getId(), at)
+                .filter(checkpoint -> checkpoint.getCheckpointAt().equals(at))
+                .orElseThrow()
+                .getBalance();
+    }
+
+    private static void assertBalance(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> expected + " != " + actual);
+    }
+
+    private Transaction movement(Transaction.TransactionType type, String amount, Account sender, Account receiver,
+                                 Transaction.TransactionStatus status) {
+        Transaction transaction = new Transaction(new BigDecimal(amount), type.name().toLowerCase(), type, sender, receiver);
+        transaction.setCurrency(sender != null ? sender.getCurrency() : receiver.getCurrency());
+        if (status != null) {
+            transaction.setStatus(status);
+        }
+        return transaction;
+    }
+
+    // Timestamps are set by @CreationTimestamp on insert, so the history is back-dated afterwards
+    private Transaction record(Transaction transaction, LocalDateTime timestamp) {
+        entityManager.persistAndFlush(transaction);
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE transactions SET timestamp = :timestamp WHERE id = :id")
+                .setParameter("timestamp", timestamp)
+                .setParameter("id", transaction.getId())
+                .executeUpdate();
+        return transaction;
+    }
+
+    private void opened(Account account, LocalDateTime openingDate) {
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE accounts SET opening_date = :openingDate WHERE id = :id")
+                .setParameter("openingDate", openingDate)
+                .setParameter("id", account.getId())
+                .executeUpdate();
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.bankingapp.backend.repository;
+
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.Transaction;
+import com.bankingapp.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class TransactionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Account sender;
+    private Account receiver;
+
+    @BeforeEach
+    void setUp() {
+        User alice = entityManager.persist(new User("alice@example.com", "password1", "Alice", "A", "+10000000001"));
+        User bob = entityManager.persist(new User("bob@example.com", "password1", "Bob", "B", "+10000000002"));
+        sender = entityManager.persist(new Account(new BigDecimal("1000.00"), "USD", Account.AccountStatus.ACTIVE, alice));
+        receiver = entityManager.persist(new Account(BigDecimal.ZERO, "USD", Account.AccountStatus.ACTIVE, bob));
+
+        transfer("10.00", Transaction.TransactionStatus.COMPLETED);
+        transfer("20.00", null);
+        transfer("40.00", Transaction.TransactionStatus.HELD);
+        transfer("80.00", Transaction.TransactionStatus.REJECTED);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void historyOnlyShowsCompletedTransfers() {
+        assertEquals(2, transactionRepository.findSentTransfersByAccountAndEmail(null, "alice@example.com").size());
+        assertEquals(2, transactionRepository.findReceivedTransactionsByAccountAndEmail(null, "bob@example.com").size());
+        assertEquals(2, transactionRepository.findByAccountNumberAndEmail(sender.getAccountNumber(), "alice@example.com").size());
+    }
+
+    @Test
+    void recentLedgerOnlyShowsCompletedTransfers() {
+        assertEquals(2, transactionRepository.findRecentByAccountId(receiver.getId(), PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    void totalsExcludeHeldAndRejectedTransfers() {
+        List<Object[]> totals = transactionRepository.findTotalsByCurrency();
+        assertEquals(1, totals.size());
+        assertEquals(2L, ((Number) totals.get(0)[1]).longValue());
+        assertEquals(0, new BigDecimal("30.00").compareTo((BigDecimal) totals.get(0)[2]));
+
+        List<Object[]> daily = transactionRepository.findDailyTransactionStats(LocalDateTime.now().minusDays(1));
+        assertEquals(2L, ((Number) daily.get(0)[1]).longValue());
+    }
+
+    @Test
+    void completedFilterIncludesRowsWithoutStatus() {
+        assertEquals(2, transactionRepository.findCompletedOrderByTimestampDesc().size());
+        assertEquals(1, transactionRepository.findByStatusOrderByTimestampDesc(Transaction.TransactionStatus.HELD).size());
+    }
+
+    private void transfer(String amount, Transaction.TransactionStatus status) {
+        Transaction transaction = new Transaction(
+                new BigDecimal(amount), "rent", Transaction.TransactionType.TRANSFER, sender, receiver);
+        transaction.setStatus(status);
+        entityManager.persist(transaction);
+    }
+
+}
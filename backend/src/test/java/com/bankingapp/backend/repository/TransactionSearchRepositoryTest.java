@@ -0,0 +1,127 @@
+package com.bankingapp.backend.repository;
+
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.Transaction;
+import com.bankingapp.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The search query uses PostgreSQL full-text functions, so it only runs against a real database:
+// TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/bank_test TEST_POSTGRES_USER=... TEST_POSTGRES_PASSWORD=...
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${TEST_POSTGRES_URL}",
+        "spring.datasource.username=${TEST_POSTGRES_USER:postgres}",
+        "spring.datasource.password=${TEST_POSTGRES_PASSWORD:}",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class TransactionSearchRepositoryTest {
+
+    private static final LocalDateTime MIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999999999999.99");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private Account alice;
+    private Account bob;
+
+    @BeforeEach
+    void setUp() {
+        User aliceUser = entityManager.persist(new User("alice@example.com", "password1", "Alice", "A", "+10000000001"));
+        User bobUser = entityManager.persist(new User("bob@example.com", "password1", "Bob", "B", "+10000000002"));
+        User carolUser = entityManager.persist(new User("carol@example.com", "password1", "Carol", "C", "+10000000003"));
+        alice = entityManager.persist(new Account(new BigDecimal("1000.00"), "USD", Account.AccountStatus.ACTIVE, aliceUser));
+        bob = entityManager.persist(new Account(BigDecimal.ZERO, "EUR", Account.AccountStatus.ACTIVE, bobUser));
+        Account carol = entityManager.persist(new Account(BigDecimal.ZERO, "USD", Account.AccountStatus.ACTIVE, carolUser));
+
+        Transaction rent = transfer(alice, bob, "110.00", "January rent", null);
+        rent.setConvertedAmount(new BigDecimal("100.00"));
+        transfer(alice, bob, "50.00", "Rental deposit", Transaction.TransactionStatus.HELD);
+        transfer(alice, bob, "70.00", "rent refused", Transaction.TransactionStatus.REJECTED);
+        transfer(alice, carol, "30.00", "rent share", Transaction.TransactionStatus.COMPLETED);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void matchesWordsAndPrefixesOfCompletedTransfers() {
+        assertEquals(2, search("alice@example.com", "rent", "", 10, 0).size());
+        assertEquals(2, search("alice@example.com", "rent:*", "", 10, 0).size());
+        assertEquals(1, search("bob@example.com", "rent", "", 10, 0).size());
+        assertEquals(0, search("carol@example.com", "january", "", 10, 0).size());
+    }
+
+    @Test
+    void heldAndRejectedTransfersAreNotListed() {
+        assertEquals(0, search("alice@example.com", "rental", "", 10, 0).size());
+        assertEquals(0, search("bob@example.com", "refused", "", 10, 0).size());
+    }
+
+    @Test
+    void amountFilterUsesTheAmountShownToEachSide() {
+        // 110.00 USD left Alice, 100.00 EUR reached Bob
+        assertEquals(1, search("alice@example.com", "january", new BigDecimal("105.00"), MAX_AMOUNT).size());
+        assertEquals(0, search("bob@example.com", "january", new BigDecimal("105.00"), MAX_AMOUNT).size());
+        assertEquals(1, search("bob@example.com", "january", BigDecimal.ZERO, new BigDecimal("100.00")).size());
+    }
+
+    @Test
+    void receiverSeesTheCreditedAmountInItsCurrency() {
+        TransactionRepository.SearchHit hit = search("bob@example.com", "january", "", 10, 0).get(0);
+
+        assertTrue(hit.getReceived());
+        assertEquals(0, new BigDecimal("100.00").compareTo(hit.getReceiverAmount()));
+        assertEquals("EUR", hit.getReceiverCurrency());
+
+        assertFalse(search("alice@example.com", "january", "", 10, 0).get(0).getReceived());
+    }
+
+    @Test
+    void filtersByAccountAndPages() {
+        assertEquals(1, search("alice@example.com", "rent", bob.getAccountNumber(), 10, 0).size());
+        assertEquals(1, search("alice@example.com", "rent:*", "", 1, 1).size());
+    }
+
+    private List<TransactionRepository.SearchHit> search(String email, String query, String accountNumber,
+                                                         int limit, long offset) {
+        return transactionRepository.searchByDescription(
+                email, query, accountNumber, MIN, MAX, BigDecimal.ZERO, MAX_AMOUNT, limit, offset);
+    }
+
+    private List<TransactionRepository.SearchHit> search(String email, String query,
+                                                         BigDecimal minAmount, BigDecimal maxAmount) {
+        return transactionRepository.searchByDescription(
+                email, query, "", MIN, MAX, minAmount, maxAmount, 10, 0);
+    }
+
+    private Transaction transfer(Account sender, Account receiver, String amount, String description,
+                                 Transaction.TransactionStatus status) {
+        Transaction transaction = new Transaction(
+                new BigDecimal(amount), description, Transaction.TransactionType.TRANSFER, sender, receiver);
+        transaction.setCurrency(sender.getCurrency());
+        transaction.setStatus(status);
+        return entityManager.persist(transaction);
+    }
+
+}
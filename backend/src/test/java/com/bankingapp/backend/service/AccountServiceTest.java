@@ -0,0 +1,69 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.exception.InvalidAccountStateException;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.repository.AccountRepository;
+import com.bankingapp.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountServiceTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final Account account = new Account(new BigDecimal("25.00"), "USD", Account.AccountStatus.ACTIVE, null);
+
+    private AccountService accountService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(account, "accountNumber", "acc-1");
+        when(accountRepository.findByAccountNumberForUpdate("acc-1")).thenReturn(Optional.of(account));
+        when(accountRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        accountService = new AccountService(accountRepository, mock(UserRepository.class), mock(FxRateService.class));
+    }
+
+    @Test
+    void frozenAccountRejectsMovementsUntilUnfrozen() {
+        accountService.updateStatus("acc-1", Account.AccountStatus.FROZEN);
+
+        InvalidAccountStateException e = assertThrows(InvalidAccountStateException.class, account::requireActive);
+        assertEquals("Account acc-1 is frozen", e.getMessage());
+
+        accountService.updateStatus("acc-1", Account.AccountStatus.ACTIVE);
+        account.requireActive();
+    }
+
+    @Test
+    void accountWithBalanceCannotBeClosed() {
+        assertThrows(InvalidAccountStateException.class,
+                () -> accountService.updateStatus("acc-1", Account.AccountStatus.CLOSED));
+
+        assertEquals(Account.AccountStatus.ACTIVE, account.getStatus());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void closedAccountIsFinal() {
+        account.setBalance(BigDecimal.ZERO);
+        accountService.updateStatus("acc-1", Account.AccountStatus.CLOSED);
+
+        assertThrows(InvalidAccountStateException.class, account::requireActive);
+        assertThrows(InvalidAccountStateException.class,
+                () -> accountService.updateStatus("acc-1", Account.AccountStatus.ACTIVE));
+        assertEquals(Account.AccountStatus.CLOSED, account.getStatus());
+    }
+
+}
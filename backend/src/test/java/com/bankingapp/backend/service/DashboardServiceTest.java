@@ -0,0 +1,124 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.DashboardDTO;
+import com.bankingapp.backend.dto.TransactionResponseDTO;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.User;
+import com.bankingapp.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AccountService accountService = mock(AccountService.class);
+    private final TransactionService transactionService = mock(TransactionService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final User user = new User("alice@example.com", "password1", "Alice", "A", "+10000000001");
+
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(user, "id", 1L);
+        when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(user));
+
+        dashboardService = new DashboardService(userRepository, accountService, transactionService,
+                meterRegistry, new WorkerThreads(new MockEnvironment()));
+        ReflectionTestUtils.setField(dashboardService, "recentTransactions", 10);
+        ReflectionTestUtils.setField(dashboardService, "budgetMs", 100L);
+        ReflectionTestUtils.setField(dashboardService, "threads", 2);
+        ReflectionTestUtils.setField(dashboardService, "queueCapacity", 1);
+        dashboardService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.shutdown();
+    }
+
+    @Test
+    void slowHistoryIsLeftOutAndInterrupted() throws InterruptedException {
+        List<TransactionResponseDTO> recent = List.of(new TransactionResponseDTO(
+                "acc-2", "acc-1", new BigDecimal("5.00"), "USD", "rent", "TRANSFER", LocalDateTime.now()));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        accounts(1L, 2L);
+        when(transactionService.getRecentTransactions(eq(1L), anyInt())).thenReturn(recent);
+        when(transactionService.getRecentTransactions(eq(2L), anyInt())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return List.of();
+        });
+
+        long start = System.nanoTime();
+        DashboardDTO dashboard = dashboardService.getDashboard("alice@example.com");
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+        assertTrue(dashboard.partial());
+        assertTrue(dashboard.accounts().get(0).recentTransactionsLoaded());
+        assertEquals(recent, dashboard.accounts().get(0).recentTransactions());
+        assertFalse(dashboard.accounts().get(1).recentTransactionsLoaded());
+        assertEquals(List.of(), dashboard.accounts().get(1).recentTransactions());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        assertEquals(1, meterRegistry.counter("dashboard.partial").count());
+    }
+
+    @Test
+    void saturatedPoolLeavesTheRemainingAccountsOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        accounts(1L, 2L, 3L, 4L);
+        when(transactionService.getRecentTransactions(eq(4L), anyInt())).thenReturn(List.of());
+        for (long id = 1; id <= 3; id++) {
+            when(transactionService.getRecentTransactions(eq(id), anyInt())).thenAnswer(invocation -> {
+                release.await();
+                return List.of();
+            });
+        }
+
+        try {
+            DashboardDTO dashboard = dashboardService.getDashboard("alice@example.com");
+
+            assertTrue(dashboard.partial());
+            assertTrue(dashboard.accounts().stream().noneMatch(account -> account.recentTransactionsLoaded()));
+            assertEquals(1, meterRegistry.counter("dashboard.saturated").count());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private void accounts(Long... ids) {
+        List<Account> accounts = new ArrayList<>();
+        for (Long id : ids) {
+            Account account = new Account(BigDecimal.TEN, "USD", Account.AccountStatus.ACTIVE, user);
+            ReflectionTestUtils.setField(account, "id", id);
+            ReflectionTestUtils.setField(account, "accountNumber", "acc-" + id);
+            accounts.add(account);
+        }
+        when(accountService.findAccountsByUserId(1L)).thenReturn(accounts);
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.FraudDetectionClientConfig;
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.FraudDetectionDTO;
+import com.bankingapp.backend.dto.TransactionRequestDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FraudDetectionResilienceTest {
+
+    private static final TransactionRequestDTO REQUEST =
+            new TransactionRequestDTO(100, "2025-05-18T21:02:42", "TRANSFER", 1L, 2L);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch received = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private HttpServer server;
+    private volatile int status = 200;
+    private volatile boolean block;
+    private volatile long delayMs;
+
+    private FraudDetectionClientConfig config;
+    private CircuitBreaker circuitBreaker;
+    private FraudDetectionService fraudDetectionService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/predict-fraud", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+
+        config = new FraudDetectionClientConfig();
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 200L);
+        ReflectionTestUtils.setField(config, "readTimeoutMs", 500L);
+        ReflectionTestUtils.setField(config, "poolTimeoutMs", 100L);
+        ReflectionTestUtils.setField(config, "maxConnections", 4);
+        ReflectionTestUtils.setField(config, "idleEvictionSeconds", 30L);
+        ReflectionTestUtils.setField(config, "maxConcurrentCalls", 1);
+        ReflectionTestUtils.setField(config, "failureRateThreshold", 50f);
+        ReflectionTestUtils.setField(config, "slidingWindowSize", 4);
+        ReflectionTestUtils.setField(config, "minimumCalls", 4);
+        ReflectionTestUtils.setField(config, "openSeconds", 60L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        fraudDetectionService.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void serverErrorsTripTheBreakerAndLaterCallsFallBackAsCircuitOpen() {
+        startService();
+        status = 500;
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0.0, fraudDetectionService.predictFraud(REQUEST).risk_score());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        fraudDetectionService.predictFraud(REQUEST);
+
+        assertEquals(4, fallbacks("error"));
+        assertEquals(1, fallbacks("circuit_open"));
+    }
+
+    @Test
+    void callsBeyondTheBulkheadFallBackWithoutWaiting() throws Exception {
+        startService();
+        block = true;
+
+        CompletableFuture<FraudDetectionDTO> inFlight =
+                CompletableFuture.supplyAsync(() -> fraudDetectionService.predictFraud(REQUEST));
+        assertTrue(received.await(2, TimeUnit.SECONDS));
+
+        assertEquals(0.0, fraudDetectionService.predictFraud(REQUEST).risk_score());
+        assertEquals(1, fallbacks("bulkhead_full"));
+
+        release.countDown();
+        assertEquals(0.4, inFlight.get(2, TimeUnit.SECONDS).risk_score());
+        assertEquals(0, fallbacks("error"));
+    }
+
+    @Test
+    void slowResponsesFallBackAsTimeout() {
+        ReflectionTestUtils.setField(config, "readTimeoutMs", 50L);
+        startService();
+        delayMs = 300;
+
+        assertEquals(0.0, fraudDetectionService.predictFraud(REQUEST).risk_score());
+        assertEquals(1, fallbacks("timeout"));
+    }
+
+    private void startService() {
+        circuitBreaker = config.fraudCircuitBreaker();
+        fraudDetectionService = new FraudDetectionService(
+                config.fraudRestTemplate(),
+                circuitBreaker,
+                config.fraudBulkhead(),
+                meterRegistry,
+                new WorkerThreads(new MockEnvironment()));
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        ReflectionTestUtils.setField(fraudDetectionService, "fraudApiUrl", baseUrl + "/predict-fraud");
+        ReflectionTestUtils.setField(fraudDetectionService, "fraudBatchApiUrl", baseUrl + "/predict-fraud/batch");
+        ReflectionTestUtils.setField(fraudDetectionService, "batchSize", 50);
+        ReflectionTestUtils.setField(fraudDetectionService, "batchConcurrency", 1);
+        fraudDetectionService.init();
+    }
+
+    private double fallbacks(String reason) {
+        return meterRegistry.counter("fraud.detection.fallbacks", "reason", reason).count();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        received.countDown();
+        try {
+            if (block) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = "{\"is_fraud\":false,\"risk_score\":0.4}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        } catch (IOException e) {
+            // client already gave up on a slow response
+        }
+        exchange.close();
+    }
+
+}
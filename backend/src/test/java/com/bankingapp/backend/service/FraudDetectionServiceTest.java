@@ -0,0 +1,126 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.FraudDetectionDTO;
+import com.bankingapp.backend.dto.TransactionRequestDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FraudDetectionServiceTest {
+
+    private static final long SIMULATED_LATENCY_MS = 5;
+    private static final int BATCH_SIZE = 50;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger batchCalls = new AtomicInteger();
+
+    private HttpServer server;
+    private FraudDetectionService fraudDetectionService;
+
+    @BeforeEach
+    void startStandInServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/predict-fraud/batch", this::handleBatch);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        fraudDetectionService = new FraudDetectionService(
+                new RestTemplate(),
+                CircuitBreaker.ofDefaults("fraudDetection"),
+                Bulkhead.ofDefaults("fraudDetection"),
+                new SimpleMeterRegistry(),
+                new WorkerThreads(new MockEnvironment()));
+        ReflectionTestUtils.setField(fraudDetectionService, "fraudApiUrl", baseUrl + "/predict-fraud");
+        ReflectionTestUtils.setField(fraudDetectionService, "fraudBatchApiUrl", baseUrl + "/predict-fraud/batch");
+        ReflectionTestUtils.setField(fraudDetectionService, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(fraudDetectionService, "batchConcurrency", 4);
+        fraudDetectionService.init();
+    }
+
+    @AfterEach
+    void stopStandInServer() {
+        fraudDetectionService.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void batchScoringPreservesOrderAcrossChunks() {
+        List<TransactionRequestDTO> requests = requests(437);
+
+        List<FraudDetectionDTO> results = fraudDetectionService.predictFraudBatch(requests);
+
+        assertEquals(requests.size(), results.size());
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(requests.get(i).amount() / 1000.0, results.get(i).risk_score(), 1e-9);
+        }
+        assertEquals((requests.size() + BATCH_SIZE - 1) / BATCH_SIZE, batchCalls.get());
+    }
+
+    @Test
+    void batchScoringFallsBackPerChunkWhenServerIsUnavailable() {
+        server.stop(0);
+
+        List<FraudDetectionDTO> results = fraudDetectionService.predictFraudBatch(requests(120));
+
+        assertEquals(120, results.size());
+        results.forEach(result -> assertEquals(0.0, result.risk_score()));
+    }
+
+    private List<TransactionRequestDTO> requests(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TransactionRequestDTO(
+                        i, "2025-05-18T21:02:42", i % 2 == 0 ? "DEPOSIT" : "TRANSFER", (long) i, -1L))
+                .toList();
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        batchCalls.incrementAndGet();
+        JsonNode transactions = objectMapper.readTree(exchange.getRequestBody());
+        List<FraudDetectionDTO> scores = new ArrayList<>();
+        transactions.forEach(transaction -> scores.add(score(transaction)));
+        respond(exchange, objectMapper.writeValueAsBytes(scores));
+    }
+
+    private FraudDetectionDTO score(JsonNode transaction) {
+        double riskScore = transaction.get("amount").asDouble() / 1000.0;
+        return new FraudDetectionDTO(riskScore > 0.5, riskScore);
+    }
+
+    private void respond(HttpExchange exchange, byte[] body) throws IOException {
+        try {
+            Thread.sleep(SIMULATED_LATENCY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+        exchange.close();
+    }
+
+}
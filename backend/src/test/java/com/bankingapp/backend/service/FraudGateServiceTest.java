@@ -0,0 +1,131 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.FraudDetectionDTO;
+import com.bankingapp.backend.exception.FraudDetectionUnavailableException;
+import com.bankingapp.backend.model.Account;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FraudGateServiceTest {
+
+    private final FraudScorer fraudScorer = mock(FraudScorer.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Account sender = new Account();
+    private final Account receiver = new Account();
+
+    private FraudGateService fraudGateService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(sender, "id", 1L);
+        ReflectionTestUtils.setField(receiver, "id", 2L);
+
+        fraudGateService = new FraudGateService(fraudScorer, new AccountVelocityService(),
+                meterRegistry, new WorkerThreads(new MockEnvironment()));
+        ReflectionTestUtils.setField(fraudGateService, "enabled", true);
+        ReflectionTestUtils.setField(fraudGateService, "budgetMs", 200L);
+        ReflectionTestUtils.setField(fraudGateService, "timeoutPolicy", FraudGateService.Decision.HOLD);
+        ReflectionTestUtils.setField(fraudGateService, "holdThreshold", 0.7);
+        ReflectionTestUtils.setField(fraudGateService, "rejectThreshold", 0.95);
+        ReflectionTestUtils.setField(fraudGateService, "threads", 2);
+        ReflectionTestUtils.setField(fraudGateService, "queueCapacity", 1);
+        fraudGateService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fraudGateService.shutdown();
+    }
+
+    @Test
+    void decidesOnTheRiskScore() {
+        when(fraudScorer.score(any())).thenReturn(new FraudDetectionDTO(true, 0.97));
+
+        assertEquals(FraudGateService.Decision.REJECT, evaluate());
+    }
+
+    @Test
+    void scoringFailureAppliesTheTimeoutPolicy() {
+        when(fraudScorer.score(any()))
+                .thenThrow(new FraudDetectionUnavailableException("down", new IllegalStateException()));
+
+        assertEquals(FraudGateService.Decision.HOLD, evaluate());
+    }
+
+    @Test
+    void scoringOverBudgetAppliesTheTimeoutPolicy() {
+        when(fraudScorer.score(any())).thenAnswer(invocation -> {
+            Thread.sleep(1_000);
+            return new FraudDetectionDTO(false, 0.0);
+        });
+
+        assertEquals(FraudGateService.Decision.HOLD, evaluate());
+    }
+
+    @Test
+    void overBudgetCallIsInterrupted() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(fraudScorer.score(any())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return new FraudDetectionDTO(false, 0.0);
+        });
+
+        assertEquals(FraudGateService.Decision.HOLD, evaluate());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void saturatedPoolAppliesTheTimeoutPolicyWithoutWaiting() {
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(fraudGateService, "executor");
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> awaitUninterruptibly(release));
+        }
+
+        try {
+            long start = System.nanoTime();
+            assertEquals(FraudGateService.Decision.HOLD, evaluate());
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+            assertEquals(1, meterRegistry.counter("transfer.fraud.gate.saturated").count());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException e) {
+                // keep the worker occupied until the test releases it
+            }
+        }
+    }
+
+    private FraudGateService.Decision evaluate() {
+        return fraudGateService.evaluate(sender, receiver, new BigDecimal("50.00"));
+    }
+
+}
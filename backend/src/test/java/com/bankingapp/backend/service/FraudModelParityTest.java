@@ -0,0 +1,85 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.dto.TransactionRequestDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FraudModelParityTest {
+
+    private static final Path FRAUD_API_DIR = Path.of("..", "fraud-detection-api");
+    private static final Path DATASET = FRAUD_API_DIR.resolve("data/fraud_dataset.csv");
+    private static final Path MODEL = FRAUD_API_DIR.resolve("model/fraud_model.json");
+    private static final Path PARITY = FRAUD_API_DIR.resolve("model/parity.csv");
+
+    private static final Path FIXTURE_DIR = Path.of("src", "test", "resources", "fraud-model");
+
+    // Small forest in the export_model.py layout, with expected scores computed from the same tree walk
+    @Test
+    void localEvaluatorMatchesFixtureModel() throws IOException {
+        assertParity(FIXTURE_DIR.resolve("fraud_model.json"),
+                FIXTURE_DIR.resolve("dataset.csv"),
+                FIXTURE_DIR.resolve("parity.csv"));
+    }
+
+    // Expected scores are scikit-learn's own predict_proba, so a missing export is produced by running train.py
+    // (needs the packages in fraud-detection-api/requirements.txt)
+    @Test
+    void localEvaluatorMatchesScikitLearnOnDataset() throws IOException, InterruptedException {
+        if (!Files.exists(MODEL) || !Files.exists(PARITY)) {
+            train();
+        }
+
+        assertParity(MODEL, DATASET, PARITY);
+    }
+
+    private static void train() throws IOException, InterruptedException {
+        Process process = new ProcessBuilder("python3", "train.py")
+                .directory(FRAUD_API_DIR.toFile())
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(0, process.waitFor(), "train.py failed:\n" + output);
+    }
+
+    private static void assertParity(Path model, Path dataset, Path parity) throws IOException {
+        FraudModelEvaluator evaluator;
+        try (InputStream in = Files.newInputStream(model)) {
+            evaluator = FraudModelEvaluator.load(in, new ObjectMapper());
+        }
+
+        List<String> rows = Files.readAllLines(dataset);
+        List<String> expected = Files.readAllLines(parity);
+        assertEquals(rows.size(), expected.size());
+
+        for (int i = 1; i < rows.size(); i++) {
+            String[] columns = rows.get(i).split(",", -1);
+            TransactionRequestDTO dto = new TransactionRequestDTO(
+                    Double.parseDouble(columns[0]),
+                    columns[1],
+                    columns[2],
+                    Long.parseLong(columns[3]),
+                    columns[4].isEmpty() ? -1L : (long) Double.parseDouble(columns[4])
+            );
+
+            double probability = LocalFraudDetectionService.probability(evaluator, dto);
+
+            assertEquals(Double.parseDouble(expected.get(i)), probability, 1e-9, "row " + i);
+        }
+    }
+
+    @Test
+    void hourIsReadFromIsoAndSpaceSeparatedTimestamps() {
+        assertEquals(21, LocalFraudDetectionService.hourOf("2025-05-18 21:02:42"));
+        assertEquals(7, LocalFraudDetectionService.hourOf("2025-05-18T07:02:42.123456"));
+    }
+
+}
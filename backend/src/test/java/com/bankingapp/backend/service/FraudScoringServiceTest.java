@@ -0,0 +1,162 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.FraudDetectionDTO;
+import com.bankingapp.backend.dto.TransactionRequestDTO;
+import com.bankingapp.backend.event.TransactionCommittedEvent;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.Transaction;
+import com.bankingapp.backend.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FraudScoringServiceTest {
+
+    private static final List<FraudDetectionDTO> FRAUD = List.of(new FraudDetectionDTO(true, 0.9));
+
+    private final FraudScorer fraudScorer = mock(FraudScorer.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final AccountVelocityService accountVelocityService = new AccountVelocityService();
+    private final UUID id = UUID.randomUUID();
+
+    private FraudScoringService fraudScoringService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionRepository.findAllById(List.of(id))).thenReturn(List.of(transaction(id)));
+
+        fraudScoringService = new FraudScoringService(
+                fraudScorer, transactionRepository, accountVelocityService,
+                new WorkerThreads(new MockEnvironment()));
+        ReflectionTestUtils.setField(fraudScoringService, "queueCapacity", 100);
+        ReflectionTestUtils.setField(fraudScoringService, "workerCount", 1);
+        ReflectionTestUtils.setField(fraudScoringService, "batchSize", 10);
+        ReflectionTestUtils.setField(fraudScoringService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(fraudScoringService, "retryBackoffMs", 10L);
+        ReflectionTestUtils.setField(accountVelocityService, "maxAccounts", 10);
+        fraudScoringService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fraudScoringService.stop();
+    }
+
+    @Test
+    void scoresCommittedTransaction() {
+        when(fraudScorer.scoreBatch(anyList())).thenReturn(FRAUD);
+
+        fraudScoringService.onTransactionCommitted(event(id));
+
+        verify(transactionRepository, timeout(2_000)).updateFraudScore(eq(id), eq(true), eq(0.9), any());
+        assertEquals(1, fraudScoringService.getScoredCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scoresWithSenderVelocityFromBeforeTheTransaction() {
+        when(fraudScorer.scoreBatch(anyList())).thenReturn(FRAUD);
+        accountVelocityService.onTransactionCommitted(event(UUID.randomUUID()));
+
+        fraudScoringService.onTransactionCommitted(event(id));
+        accountVelocityService.onTransactionCommitted(event(id));
+
+        ArgumentCaptor<List<TransactionRequestDTO>> requests = ArgumentCaptor.forClass(List.class);
+        verify(fraudScorer, timeout(2_000)).scoreBatch(requests.capture());
+        assertEquals(1, requests.getValue().get(0).sender_count_1h());
+        assertEquals(10.0, requests.getValue().get(0).sender_amount_1h());
+    }
+
+    @Test
+    void retriesWithBackoffUntilScored() {
+        when(fraudScorer.scoreBatch(anyList()))
+                .thenThrow(new IllegalStateException("down"))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(FRAUD);
+
+        fraudScoringService.onTransactionCommitted(event(id));
+
+        verify(transactionRepository, timeout(2_000)).updateFraudScore(eq(id), eq(true), eq(0.9), any());
+        verify(fraudScorer, times(3)).scoreBatch(anyList());
+        assertEquals(0, fraudScoringService.getFailedCount());
+    }
+
+    @Test
+    void backfillSkipsTransactionsThatFailedPermanently() {
+        when(fraudScorer.scoreBatch(anyList())).thenThrow(new IllegalStateException("down"));
+        when(transactionRepository.findUnscoredIds(any(), any())).thenReturn(List.of(id));
+
+        fraudScoringService.onTransactionCommitted(event(id));
+        verify(fraudScorer, timeout(2_000).times(3)).scoreBatch(anyList());
+        awaitFailed(1);
+
+        fraudScoringService.backfillUnscored();
+
+        assertEquals(0, fraudScoringService.getQueuedCount());
+    }
+
+    @Test
+    void backfillSkipsTransactionsAlreadyInFlight() throws InterruptedException {
+        CountDownLatch scoring = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(fraudScorer.scoreBatch(anyList())).thenAnswer(invocation -> {
+            scoring.countDown();
+            release.await();
+            return FRAUD;
+        });
+        when(transactionRepository.findUnscoredIds(any(), any())).thenReturn(List.of(id));
+
+        fraudScoringService.onTransactionCommitted(event(id));
+        scoring.await(2, TimeUnit.SECONDS);
+        fraudScoringService.backfillUnscored();
+        fraudScoringService.onTransactionCommitted(event(id));
+
+        assertEquals(0, fraudScoringService.getQueuedCount());
+        release.countDown();
+        verify(transactionRepository, timeout(2_000)).updateFraudScore(eq(id), eq(true), eq(0.9), any());
+    }
+
+    private void awaitFailed(long expected) {
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (fraudScoringService.getFailedCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, fraudScoringService.getFailedCount());
+    }
+
+    private static TransactionCommittedEvent event(UUID id) {
+        return new TransactionCommittedEvent(id, Transaction.TransactionType.TRANSFER, Transaction.TransactionStatus.COMPLETED,
+                2L, "sender", 1L, "receiver", BigDecimal.TEN, "USD", BigDecimal.TEN, "USD", "test", LocalDateTime.now());
+    }
+
+    private static Transaction transaction(UUID id) {
+        Account receiver = new Account();
+        ReflectionTestUtils.setField(receiver, "id", 1L);
+        Transaction transaction = new Transaction(BigDecimal.TEN, "test", Transaction.TransactionType.DEPOSIT, null, receiver);
+        ReflectionTestUtils.setField(transaction, "id", id);
+        ReflectionTestUtils.setField(transaction, "timestamp", LocalDateTime.now());
+        return transaction;
+    }
+
+}
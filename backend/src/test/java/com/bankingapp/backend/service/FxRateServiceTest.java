@@ -0,0 +1,101 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.exception.UnsupportedCurrencyException;
+import com.bankingapp.backend.model.FxRate;
+import com.bankingapp.backend.repository.FxRateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FxRateServiceTest {
+
+    private final FxRateRepository fxRateRepository = mock(FxRateRepository.class);
+
+    private FxRateService fxRateService;
+
+    @BeforeEach
+    void setUp() {
+        when(fxRateRepository.findAll()).thenReturn(List.of(
+                new FxRate("EUR", new BigDecimal("1.10000000"), LocalDateTime.now()),
+                new FxRate("JPY", new BigDecimal("0.00670000"), LocalDateTime.now())
+        ));
+        when(fxRateRepository.findById(any())).thenReturn(Optional.empty());
+        when(fxRateRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        fxRateService = new FxRateService(fxRateRepository);
+        ReflectionTestUtils.setField(fxRateService, "baseCurrency", "USD");
+        fxRateService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void convertsThroughTheBaseCurrency() {
+        FxRateService.Conversion conversion = fxRateService.convert(new BigDecimal("100.00"), "EUR", "JPY");
+
+        assertEquals(new BigDecimal("164.17910448"), conversion.rate());
+        assertEquals(new BigDecimal("16417.91"), conversion.amount());
+    }
+
+    @Test
+    void roundsHalfEvenToCents() {
+        // 0.15 EUR is exactly 0.165 USD and 0.25 EUR exactly 0.275 USD: ties go to the even cent
+        assertEquals(new BigDecimal("0.16"), fxRateService.convert(new BigDecimal("0.15"), "EUR", "USD").amount());
+        assertEquals(new BigDecimal("0.28"), fxRateService.convert(new BigDecimal("0.25"), "EUR", "USD").amount());
+    }
+
+    @Test
+    void sameCurrencyKeepsTheAmount() {
+        FxRateService.Conversion conversion = fxRateService.convert(new BigDecimal("42.50"), "USD", "USD");
+
+        assertEquals(0, BigDecimal.ONE.compareTo(conversion.rate()));
+        assertEquals(new BigDecimal("42.50"), conversion.amount());
+    }
+
+    @Test
+    void unknownCurrencyIsRejected() {
+        assertThrows(UnsupportedCurrencyException.class,
+                () -> fxRateService.convert(BigDecimal.TEN, "USD", "GBP"));
+    }
+
+    @Test
+    void updatedRateIsVisibleOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        fxRateService.updateRate("GBP", new BigDecimal("1.25000000"));
+
+        assertNull(fxRateService.getRates().get("GBP"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(new BigDecimal("12.50"), fxRateService.convert(BigDecimal.TEN, "GBP", "USD").amount());
+    }
+
+    @Test
+    void rolledBackRateIsNeverVisible() {
+        TransactionSynchronizationManager.initSynchronization();
+        fxRateService.updateRate("GBP", new BigDecimal("1.25000000"));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThrows(UnsupportedCurrencyException.class, () -> fxRateService.requireSupported("GBP"));
+    }
+
+}
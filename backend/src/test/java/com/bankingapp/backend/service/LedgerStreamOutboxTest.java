@@ -0,0 +1,134 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.event.LedgerEventBus;
+import com.bankingapp.backend.event.TransactionCommittedEvent;
+import com.bankingapp.backend.model.Transaction;
+import com.bankingapp.backend.repository.OutboxCheckpointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Ledger events travel the whole default path: transaction -> outbox row -> relay -> in-process bus -> SSE push
+// Checkpoints are registered with INSERT ... ON CONFLICT, so H2 runs in its PostgreSQL mode
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "stream.outbox-consumer=ledger-stream-test"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OutboxService.class, OutboxRelay.class, LedgerStreamService.class, LedgerEventBus.class,
+        WorkerThreads.class, LedgerStreamOutboxTest.Metrics.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LedgerStreamOutboxTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private LedgerStreamService ledgerStreamService;
+
+    @Autowired
+    private LedgerEventBus eventBus;
+
+    @Autowired
+    private OutboxCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> checkpointRepository.deleteAll());
+    }
+
+    @Test
+    void committedMovementsArePushedInOrderAndRolledBackOnesNever() throws InterruptedException {
+        assertTrue(eventBus.getConsumers().containsKey("ledger-stream-test"));
+        SseEmitter emitter = ledgerStreamService.connect(1L, List.of(10L));
+
+        commit("first deposit", false);
+        commit("rolled back deposit", true);
+        commit("second deposit", false);
+        outboxRelay.relay();
+
+        String pushed = awaitPushed(emitter, 2);
+        assertTrue(pushed.indexOf("first deposit") < pushed.indexOf("second deposit"));
+        assertFalse(pushed.contains("rolled back deposit"));
+
+        // a relay that finds nothing new delivers nothing twice
+        outboxRelay.relay();
+        Thread.sleep(100);
+        assertEquals(2, meterRegistry.counter("stream.events.sent").count());
+        emitter.complete();
+    }
+
+    private void commit(String description, boolean rollback) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new TransactionCommittedEvent(
+                    UUID.randomUUID(), Transaction.TransactionType.DEPOSIT, Transaction.TransactionStatus.COMPLETED,
+                    null, null, 10L, "acc-10", new BigDecimal("5.00"), "USD", new BigDecimal("5.00"), "USD",
+                    description, LocalDateTime.now()));
+            if (rollback) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    // The emitter is never bound to a response here, so whatever the writers send is held in its early-send buffer
+    private String awaitPushed(SseEmitter emitter, int events) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (meterRegistry.counter("stream.events.sent").count() < events && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(events, meterRegistry.counter("stream.events.sent").count());
+        Set<?> sent = (Set<?>) ReflectionTestUtils.getField(emitter, "earlySendAttempts");
+        synchronized (emitter) {
+            return sent.stream()
+                    .map(part -> String.valueOf(ReflectionTestUtils.invokeGetterMethod(part, "data")))
+                    .collect(Collectors.joining());
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.event.LedgerEventBus;
+import com.bankingapp.backend.model.OutboxCheckpoint;
+import com.bankingapp.backend.model.OutboxEvent;
+import com.bankingapp.backend.repository.OutboxCheckpointRepository;
+import com.bankingapp.backend.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final OutboxCheckpointRepository checkpointRepository = mock(OutboxCheckpointRepository.class);
+    private final LedgerEventBus eventBus = new LedgerEventBus();
+    private final OutboxCheckpoint checkpoint = new OutboxCheckpoint();
+    private final List<Long> delivered = new ArrayList<>();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(checkpoint, "consumer", "test");
+        when(checkpointRepository.lockForRelay("test")).thenReturn(Optional.of(checkpoint));
+
+        outboxRelay = new OutboxRelay(outboxEventRepository, checkpointRepository, eventBus,
+                new ObjectMapper().findAndRegisterModules(), mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 500);
+        ReflectionTestUtils.setField(outboxRelay, "gapTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(outboxRelay, "maxGaps", 100);
+        ReflectionTestUtils.setField(outboxRelay, "retentionHours", 72L);
+    }
+
+    @Test
+    void eventCommittedBelowTheCheckpointIsDeliveredLater() {
+        eventBus.subscribe("test", event -> delivered.add(event.id()));
+        when(outboxEventRepository.findBatchAfter(eq(0L), any())).thenReturn(List.of(event(1), event(2), event(4)));
+
+        outboxRelay.relay();
+
+        assertEquals(List.of(1L, 2L, 4L), delivered);
+        assertEquals(4, checkpoint.getLastEventId());
+        assertEquals(Set.of(3L), OutboxRelay.parseGaps(checkpoint.getOpenGaps()).keySet());
+
+        when(outboxEventRepository.findByIdInOrderById(Set.of(3L))).thenReturn(List.of(event(3)));
+        outboxRelay.relay();
+
+        assertEquals(List.of(1L, 2L, 4L, 3L), delivered);
+        assertNull(checkpoint.getOpenGaps());
+    }
+
+    @Test
+    void gapsOfRolledBackTransactionsExpire() {
+        eventBus.subscribe("test", event -> delivered.add(event.id()));
+        checkpoint.setLastEventId(4);
+        checkpoint.setOpenGaps("3@" + (System.currentTimeMillis() - 120_000));
+
+        outboxRelay.relay();
+
+        assertNull(checkpoint.getOpenGaps());
+        assertEquals(List.of(), delivered);
+    }
+
+    @Test
+    void failedDeliveryKeepsTheCheckpoint() {
+        eventBus.subscribe("test", event -> {
+            if (event.id() == 2) {
+                throw new IllegalStateException("down");
+            }
+            delivered.add(event.id());
+        });
+        when(outboxEventRepository.findBatchAfter(eq(0L), any())).thenReturn(List.of(event(1), event(2), event(3)));
+
+        outboxRelay.relay();
+
+        assertEquals(List.of(1L), delivered);
+        assertEquals(1, checkpoint.getLastEventId());
+    }
+
+    @Test
+    void cleanupWithoutConsumersIsNotHeldBackByStaleCheckpoints() {
+        when(outboxEventRepository.findMaxId()).thenReturn(Optional.of(42L));
+
+        outboxRelay.deleteDelivered();
+
+        verify(outboxEventRepository).deleteDelivered(eq(42L), any());
+    }
+
+    @Test
+    void gapsRoundTrip() {
+        Map<Long, Long> gaps = OutboxRelay.parseGaps("7@1000,9@2000");
+
+        assertEquals(Map.of(7L, 1000L, 9L, 2000L), gaps);
+        assertEquals("7@1000,9@2000", OutboxRelay.formatGaps(gaps));
+    }
+
+    private static OutboxEvent event(long id) {
+        OutboxEvent event = new OutboxEvent("TRANSFER", 1L, "{}");
+        ReflectionTestUtils.setField(event, "id", id);
+        return event;
+    }
+
+}
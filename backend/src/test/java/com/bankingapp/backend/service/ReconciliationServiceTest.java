@@ -0,0 +1,142 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.BalanceDiscrepancyDTO;
+import com.bankingapp.backend.dto.ReconciliationStatusDTO;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.Transaction;
+import com.bankingapp.backend.model.User;
+import com.bankingapp.backend.repository.AccountRepository;
+import com.bankingapp.backend.repository.TransactionRepository;
+import com.bankingapp.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Reconciliation reads on its own connections, so the ledger is committed rather than rolled back per test
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReconciliationServiceTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private ReconciliationService reconciliationService;
+    private Account bob;
+
+    @BeforeEach
+    void setUp() {
+        Account alice = account("alice@example.com", "+10000000001", "70.00", "USD");
+        bob = account("bob@example.com", "+10000000002", "25.00", "EUR");
+        account("carol@example.com", "+10000000003", "0.00", "USD");
+
+        movement(Transaction.TransactionType.DEPOSIT, "100.00", null, alice, Transaction.TransactionStatus.COMPLETED);
+        Transaction rent = new Transaction(new BigDecimal("30.00"), "rent", Transaction.TransactionType.TRANSFER, alice, bob);
+        rent.setConvertedAmount(new BigDecimal("27.00"));
+        transactionRepository.save(rent);
+        movement(Transaction.TransactionType.TRANSFER, "10.00", alice, bob, Transaction.TransactionStatus.HELD);
+        movement(Transaction.TransactionType.WITHDRAWAL, "7.00", null, bob, Transaction.TransactionStatus.COMPLETED);
+
+        reconciliationService = new ReconciliationService(
+                dataSource, new SimpleMeterRegistry(), new WorkerThreads(new MockEnvironment()));
+        ReflectionTestUtils.setField(reconciliationService, "parallelism", 2);
+        ReflectionTestUtils.setField(reconciliationService, "maxReported", 1000);
+        reconciliationService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reconciliationService.shutdown();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void seededDriftIsReportedOnceWithTheLedgerBalance() throws InterruptedException {
+        ReconciliationStatusDTO status = reconcile(5000);
+
+        assertNull(status.error());
+        assertFalse(status.consistentSnapshot());
+        assertEquals(3, status.accountsChecked());
+        assertEquals(4, status.ledgerRows());
+        assertEquals(1, status.discrepancyCount());
+        // bob received 27.00 EUR of the 30.00 USD transfer and withdrew 7.00; the held transfer does not count
+        assertEquals(List.of(new BalanceDiscrepancyDTO(
+                        bob.getId(), bob.getAccountNumber(), new BigDecimal("25.00"), new BigDecimal("20.00"))),
+                status.discrepancies());
+    }
+
+    @Test
+    void rangeSizeDoesNotChangeTheResult() throws InterruptedException {
+        // one range per account, a partial last range, and a single range covering every id
+        for (long rangeSize : new long[]{1, 2, 5000}) {
+            ReconciliationStatusDTO status = reconcile(rangeSize);
+
+            assertEquals(2 / rangeSize + 1, status.rangesTotal(), "range size " + rangeSize);
+            assertEquals(status.rangesTotal(), status.rangesCompleted(), "range size " + rangeSize);
+            assertEquals(3, status.accountsChecked(), "range size " + rangeSize);
+            assertEquals(1, status.discrepancies().size(), "range size " + rangeSize);
+            assertEquals(bob.getId(), status.discrepancies().get(0).accountId(), "range size " + rangeSize);
+        }
+    }
+
+    @Test
+    void centsAreExactOrRejected() {
+        assertEquals(1230, ReconciliationService.cents(new BigDecimal("12.3")));
+        assertEquals(-5, ReconciliationService.cents(new BigDecimal("-0.05")));
+        assertEquals(10_000_000_000_000_00L, ReconciliationService.cents(new BigDecimal("10000000000000.00")));
+        assertThrows(ArithmeticException.class, () -> ReconciliationService.cents(new BigDecimal("0.001")));
+    }
+
+    private ReconciliationStatusDTO reconcile(long rangeSize) throws InterruptedException {
+        ReflectionTestUtils.setField(reconciliationService, "rangeSize", rangeSize);
+        assertTrue(reconciliationService.start());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (reconciliationService.getStatus().running() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        ReconciliationStatusDTO status = reconciliationService.getStatus();
+        assertFalse(status.running());
+        return status;
+    }
+
+    private Account account(String email, String phone, String balance, String currency) {
+        User user = userRepository.save(new User(email, "password1", email.substring(0, 1), "X", phone));
+        return accountRepository.save(new Account(new BigDecimal(balance), currency, Account.AccountStatus.ACTIVE, user));
+    }
+
+    private void movement(Transaction.TransactionType type, String amount, Account sender, Account receiver,
+                          Transaction.TransactionStatus status) {
+        Transaction transaction = new Transaction(new BigDecimal(amount), type.name().toLowerCase(), type, sender, receiver);
+        transaction.setStatus(status);
+        transactionRepository.save(transaction);
+    }
+
+}
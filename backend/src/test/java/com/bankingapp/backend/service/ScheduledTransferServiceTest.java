@@ -0,0 +1,153 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.exception.AccountNotFoundException;
+import com.bankingapp.backend.exception.InsufficientFundsException;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.ScheduledTransfer;
+import com.bankingapp.backend.repository.ScheduledTransferRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScheduledTransferServiceTest {
+
+    private final ScheduledTransferRepository scheduledTransferRepository = mock(ScheduledTransferRepository.class);
+    private final TransactionService transactionService = mock(TransactionService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ScheduledTransferService scheduledTransferService;
+
+    @BeforeEach
+    void setUp() {
+        scheduledTransferService = new ScheduledTransferService(scheduledTransferRepository, mock(AccountService.class),
+                transactionService, mock(PlatformTransactionManager.class), meterRegistry,
+                new WorkerThreads(new MockEnvironment()));
+        ReflectionTestUtils.setField(scheduledTransferService, "tickMs", 1000L);
+        ReflectionTestUtils.setField(scheduledTransferService, "wheelSlots", 64);
+        ReflectionTestUtils.setField(scheduledTransferService, "horizonMs", 60_000L);
+        ReflectionTestUtils.setField(scheduledTransferService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(scheduledTransferService, "retryDelayMs", 1000L);
+        ReflectionTestUtils.setField(scheduledTransferService, "workers", 1);
+        scheduledTransferService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduledTransferService.shutdown();
+    }
+
+    @Test
+    void advanceSkipsMissedOccurrences() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        ScheduledTransfer scheduled = scheduled(ScheduledTransfer.Frequency.DAILY, start, null);
+
+        ScheduledTransferService.advance(scheduled, start.plusDays(3).plusHours(1));
+
+        assertEquals(4, scheduled.getOccurrence());
+        assertEquals(start.plusDays(4), scheduled.getNextExecutionAt());
+        assertEquals(ScheduledTransfer.Status.ACTIVE, scheduled.getStatus());
+    }
+
+    @Test
+    void advancePastTheEndDateCompletes() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        ScheduledTransfer scheduled = scheduled(ScheduledTransfer.Frequency.MONTHLY, start, start.plusDays(40));
+
+        ScheduledTransferService.advance(scheduled, start.plusMonths(1));
+
+        assertEquals(ScheduledTransfer.Status.COMPLETED, scheduled.getStatus());
+    }
+
+    @Test
+    void insufficientFundsRetriesWithBackoffThenSkipsTheOccurrence() {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(1);
+        ScheduledTransfer scheduled = scheduled(ScheduledTransfer.Frequency.WEEKLY, start, null);
+        when(scheduledTransferRepository.claimDue(eq(1L), any())).thenReturn(Optional.of(scheduled));
+        when(transactionService.processTransfer(any(), any(), any(), any()))
+                .thenThrow(new InsufficientFundsException("Insufficient funds"));
+
+        LocalDateTime before = LocalDateTime.now();
+        execute();
+        assertEquals(1, scheduled.getAttempts());
+        assertDelay(before, scheduled.getNextExecutionAt(), 1000);
+
+        before = LocalDateTime.now();
+        execute();
+        assertEquals(2, scheduled.getAttempts());
+        assertDelay(before, scheduled.getNextExecutionAt(), 2000);
+
+        execute();
+        assertEquals(0, scheduled.getAttempts());
+        assertEquals(1, scheduled.getOccurrence());
+        assertEquals(start.plusWeeks(1), scheduled.getNextExecutionAt());
+        assertEquals(ScheduledTransfer.Status.ACTIVE, scheduled.getStatus());
+        assertEquals("Insufficient funds", scheduled.getLastError());
+        assertEquals(2, meterRegistry.counter("scheduled.transfers", "outcome", "retried").count());
+        assertEquals(1, meterRegistry.counter("scheduled.transfers", "outcome", "failed").count());
+    }
+
+    @Test
+    void permanentFailureOfOneOffTransferIsNotRetried() {
+        ScheduledTransfer scheduled = scheduled(ScheduledTransfer.Frequency.ONCE, LocalDateTime.now().minusMinutes(1), null);
+        when(scheduledTransferRepository.claimDue(eq(1L), any())).thenReturn(Optional.of(scheduled));
+        when(transactionService.processTransfer(any(), any(), any(), any()))
+                .thenThrow(new AccountNotFoundException("Account not found"));
+
+        execute();
+
+        assertEquals(0, scheduled.getAttempts());
+        assertEquals(ScheduledTransfer.Status.FAILED, scheduled.getStatus());
+    }
+
+    @Test
+    void successfulExecutionResetsAttemptsAndAdvances() {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(1);
+        ScheduledTransfer scheduled = scheduled(ScheduledTransfer.Frequency.DAILY, start, null);
+        scheduled.setAttempts(2);
+        scheduled.setLastError("Insufficient funds");
+        when(scheduledTransferRepository.claimDue(eq(1L), any())).thenReturn(Optional.of(scheduled));
+
+        execute();
+
+        assertEquals(0, scheduled.getAttempts());
+        assertNull(scheduled.getLastError());
+        assertEquals(start.plusDays(1), scheduled.getNextExecutionAt());
+        assertEquals(1, meterRegistry.counter("scheduled.transfers", "outcome", "executed").count());
+    }
+
+    private void execute() {
+        scheduledTransferService.execute(new ScheduledTransferService.DueTransfer(1L, 10L));
+    }
+
+    private static void assertDelay(LocalDateTime before, LocalDateTime next, long delayMs) {
+        long actual = Duration.between(before, next).toMillis();
+        assertTrue(actual >= delayMs && actual < delayMs + 1000, "delay was " + actual + " ms");
+    }
+
+    private static ScheduledTransfer scheduled(ScheduledTransfer.Frequency frequency, LocalDateTime start,
+                                               LocalDateTime end) {
+        ScheduledTransfer scheduled = new ScheduledTransfer(new Account(), new Account(), new BigDecimal("25.00"),
+                "rent", frequency, start, end);
+        ReflectionTestUtils.setField(scheduled, "id", 1L);
+        return scheduled;
+    }
+
+}
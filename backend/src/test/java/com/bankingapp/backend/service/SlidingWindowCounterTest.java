@@ -0,0 +1,47 @@
+package com.bankingapp.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlidingWindowCounterTest {
+
+    private static final long BUCKET_MS = 1_000;
+
+    @Test
+    void countsAndSumsOnlyBucketsInsideTheRange() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, BUCKET_MS);
+        counter.add(1_000, 100);
+        counter.add(1_500, 50);
+        counter.add(4_200, 25);
+
+        assertEquals(3, counter.count(0, 5_000));
+        assertEquals(175, counter.sum(0, 5_000));
+        assertEquals(1, counter.count(2_000, 5_000));
+        assertEquals(25, counter.sum(4_000, 5_000));
+        assertEquals(4_200, counter.getLastUpdateMillis());
+    }
+
+    @Test
+    void bucketsOlderThanTheSpanDropOut() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, BUCKET_MS);
+        counter.add(1_000, 100);
+        counter.add(9_000, 10);
+
+        assertEquals(2, counter.count(0, 10_999));
+        assertEquals(1, counter.count(0, 11_000));
+        assertEquals(10_000, counter.getSpanMillis());
+    }
+
+    @Test
+    void reusedSlotIsResetAndLateEventsForItAreDropped() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(10, BUCKET_MS);
+        counter.add(2_000, 100);
+        counter.add(12_000, 7);
+        counter.add(2_500, 100);
+
+        assertEquals(1, counter.count(0, 12_000));
+        assertEquals(7, counter.sum(0, 12_000));
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.bankingapp.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatementPartitionTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoverDiscardsRowsWrittenAfterTheLastCheckpoint() throws Exception {
+        Semaphore acks = new Semaphore(0);
+        StatementPartition partition = new StatementPartition(dir, 0, 1, 100, 1, acks);
+        Thread worker = new Thread(partition);
+        worker.start();
+
+        partition.queue().put(row(1, "a", "t1"));
+        partition.queue().put(row(2, "b", "t2"));
+        partition.queue().put(StatementPartition.BARRIER);
+        assertTrue(acks.tryAcquire(5, TimeUnit.SECONDS));
+        StatementPartition.deleteJournals(dir, 1);
+
+        partition.queue().put(row(1, "a", "t3"));
+        partition.queue().put(row(3, "c", "t4"));
+        partition.queue().put(StatementPartition.END);
+        worker.join(5000);
+
+        assertEquals(2, StatementPartition.recover(dir, 1));
+
+        String a = read(dir.resolve("a.csv.gz"));
+        assertTrue(a.contains(",t1,"));
+        assertFalse(a.contains(",t3,"));
+        assertEquals(2, a.lines().count());
+        assertFalse(Files.exists(dir.resolve("c.csv.gz")));
+    }
+
+    private static StatementPartition.Row row(long accountId, String accountNumber, String transactionId) {
+        return new StatementPartition.Row(accountId, accountNumber, LocalDateTime.of(2025, 1, 1, 10, 0),
+                transactionId, "TRANSFER", "CREDIT", "x", BigDecimal.TEN, "rent, january");
+    }
+
+    private static String read(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.bankingapp.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    @Test
+    void expiresEntriesOnlyOnceTheirDeadlinePasses() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, 0);
+        wheel.schedule("soon", 250);
+        wheel.schedule("next-round", 1_250);
+        wheel.schedule("overdue", -5_000);
+
+        assertEquals(List.of("overdue"), wheel.advance(100));
+        assertTrue(wheel.advance(200).isEmpty());
+        assertEquals(List.of("soon"), wheel.advance(300));
+        assertTrue(wheel.advance(1_200).isEmpty());
+        assertEquals(List.of("next-round"), wheel.advance(1_300));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void catchesUpAfterAGapLongerThanOneRevolution() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, 0);
+        wheel.schedule("a", 300);
+        wheel.schedule("b", 5_000);
+        wheel.schedule("c", 90_000);
+
+        assertEquals(List.of("a", "b").stream().sorted().toList(), wheel.advance(10_000).stream().sorted().toList());
+        assertEquals(List.of("c"), wheel.advance(90_000));
+    }
+
+}
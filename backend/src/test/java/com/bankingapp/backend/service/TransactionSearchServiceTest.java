@@ -0,0 +1,153 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.dto.TransactionSearchResultDTO;
+import com.bankingapp.backend.exception.InvalidSearchQueryException;
+import com.bankingapp.backend.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionSearchServiceTest {
+
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final DataSource dataSource = mock(DataSource.class);
+
+    private TransactionSearchService transactionSearchService;
+
+    @BeforeEach
+    void setUp() {
+        transactionSearchService = new TransactionSearchService(transactionRepository, dataSource);
+        ReflectionTestUtils.setField(transactionSearchService, "maxPageSize", 100);
+    }
+
+    @Test
+    void toTsQueryStripsOperatorsAndKeepsPrefixTerms() {
+        assertEquals("loyer & jan:*", TransactionSearchService.toTsQuery("Loyer jan*"));
+        assertEquals("a & b & c:*", TransactionSearchService.toTsQuery("a&b|c:*"));
+        assertEquals("x & y", TransactionSearchService.toTsQuery("x ! (y)"));
+    }
+
+    @Test
+    void toTsQueryRejectsQueriesWithoutWords() {
+        assertThrows(InvalidSearchQueryException.class, () -> TransactionSearchService.toTsQuery(" ** ! "));
+    }
+
+    @Test
+    void pagingErrorsNameTheWrongParameter() {
+        InvalidSearchQueryException page = assertThrows(InvalidSearchQueryException.class,
+                () -> search(-1, 10));
+        InvalidSearchQueryException size = assertThrows(InvalidSearchQueryException.class,
+                () -> search(0, 101));
+
+        assertEquals("Page must not be negative", page.getMessage());
+        assertEquals("Page size must be between 1 and 100", size.getMessage());
+    }
+
+    @Test
+    void searchFetchesOneExtraRowToDetectTheNextPage() {
+        List<TransactionRepository.SearchHit> hits = List.of(hit(true), hit(false), hit(false));
+        when(transactionRepository.searchByDescription(eq("bob@example.com"), eq("rent"), eq(""), any(), any(),
+                eq(BigDecimal.ZERO), any(), eq(3), eq(4L)))
+                .thenReturn(hits);
+
+        TransactionSearchResultDTO result = search(2, 2);
+
+        assertTrue(result.hasNext());
+        assertEquals(2, result.results().size());
+        assertEquals(new BigDecimal("100.00"), result.results().get(0).amount());
+        assertEquals("EUR", result.results().get(0).currency());
+        assertEquals(new BigDecimal("110.00"), result.results().get(1).amount());
+        assertEquals("USD", result.results().get(1).currency());
+    }
+
+    @Test
+    void lastPageHasNoNext() {
+        List<TransactionRepository.SearchHit> hits = List.of(hit(false));
+        when(transactionRepository.searchByDescription(anyString(), anyString(), anyString(), any(), any(), any(),
+                any(), anyInt(), anyLong()))
+                .thenReturn(hits);
+
+        assertFalse(search(0, 2).hasNext());
+    }
+
+    @Test
+    void invalidIndexIsDroppedAndRebuilt() throws Exception {
+        Statement statement = indexStatement(false);
+
+        transactionSearchService.createIndex();
+
+        InOrder order = inOrder(statement);
+        order.verify(statement).execute(startsWith("DROP INDEX CONCURRENTLY"));
+        order.verify(statement).execute(startsWith("CREATE INDEX CONCURRENTLY"));
+    }
+
+    @Test
+    void validIndexIsKept() throws Exception {
+        Statement statement = indexStatement(true);
+
+        transactionSearchService.createIndex();
+
+        verify(statement, never()).execute(startsWith("DROP INDEX"));
+    }
+
+    private TransactionSearchResultDTO search(int page, int size) {
+        return transactionSearchService.search("bob@example.com", "rent", null, null, null, null, null, page, size);
+    }
+
+    private Statement indexStatement(boolean valid) throws Exception {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        Statement statement = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getBoolean(1)).thenReturn(valid);
+        return statement;
+    }
+
+    private static TransactionRepository.SearchHit hit(boolean received) {
+        TransactionRepository.SearchHit hit = mock(TransactionRepository.SearchHit.class);
+        when(hit.getType()).thenReturn("TRANSFER");
+        when(hit.getTimestamp()).thenReturn(LocalDateTime.now());
+        when(hit.getAmount()).thenReturn(new BigDecimal("110.00"));
+        when(hit.getCurrency()).thenReturn("USD");
+        when(hit.getReceiverAmount()).thenReturn(new BigDecimal("100.00"));
+        when(hit.getReceiverCurrency()).thenReturn("EUR");
+        when(hit.getReceived()).thenReturn(received);
+        when(hit.getDescription()).thenReturn("rent");
+        when(hit.getSenderAccountNumber()).thenReturn("acc-usd");
+        when(hit.getReceiverAccountNumber()).thenReturn("acc-eur");
+        return hit;
+    }
+
+}
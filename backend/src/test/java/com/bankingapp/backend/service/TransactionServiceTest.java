@@ -0,0 +1,108 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.dto.TransactionResponseDTO;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.Transaction;
+import com.bankingapp.backend.repository.AccountRepository;
+import com.bankingapp.backend.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionServiceTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final FraudGateService fraudGateService = mock(FraudGateService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    void fraudGateRunsBeforeTheTransactionOpens() {
+        Account sender = stored(1L, "acc-1", "100.00");
+        Account receiver = stored(2L, "acc-2", "0.00");
+
+        transactionService().processTransfer("acc-1", "acc-2", new BigDecimal("40.00"), "rent");
+
+        InOrder order = inOrder(fraudGateService, transactionManager);
+        order.verify(fraudGateService).evaluate(sender, receiver, new BigDecimal("40.00"));
+        order.verify(transactionManager).getTransaction(any());
+        assertEquals(new BigDecimal("60.00"), sender.getBalance());
+        assertEquals(new BigDecimal("40.00"), receiver.getBalance());
+    }
+
+    @Test
+    void transferLocksBothAccountsLowestIdFirst() {
+        stored(2L, "acc-1", "100.00");
+        stored(1L, "acc-2", "0.00");
+
+        transactionService().processTransfer("acc-1", "acc-2", new BigDecimal("40.00"), "rent");
+
+        InOrder order = inOrder(accountRepository);
+        order.verify(accountRepository).findByAccountNumberForUpdate("acc-2");
+        order.verify(accountRepository).findByAccountNumberForUpdate("acc-1");
+    }
+
+    @Test
+    void eachSideOfACrossCurrencyTransferSeesItsOwnAmount() {
+        Account sender = account("acc-usd", "USD");
+        Account receiver = account("acc-eur", "EUR");
+        Transaction transfer = new Transaction(
+                new BigDecimal("110.00"), "rent", Transaction.TransactionType.TRANSFER, sender, receiver);
+        transfer.setCurrency("USD");
+        transfer.setConvertedAmount(new BigDecimal("100.00"));
+
+        TransactionResponseDTO sent = TransactionService.convertToDTO(transfer, false);
+        TransactionResponseDTO received = TransactionService.convertToDTO(transfer, true);
+
+        assertEquals(new BigDecimal("110.00"), sent.amount());
+        assertEquals("USD", sent.currency());
+        assertEquals(new BigDecimal("100.00"), received.amount());
+        assertEquals("EUR", received.currency());
+    }
+
+    @Test
+    void withdrawalIsShownAsPaidToTheBank() {
+        Account account = account("acc-eur", "EUR");
+        Transaction withdrawal = new Transaction(
+                new BigDecimal("20.00"), "cash", Transaction.TransactionType.WITHDRAWAL, null, account);
+        withdrawal.setCurrency("EUR");
+
+        TransactionResponseDTO dto = TransactionService.convertToDTO(withdrawal, true);
+
+        assertEquals("acc-eur", dto.senderAccountNumber());
+        assertEquals("SYS_BANK", dto.receiverAccountNumber());
+        assertEquals("EUR", dto.currency());
+    }
+
+    private TransactionService transactionService() {
+        when(fraudGateService.evaluate(any(), any(), any())).thenReturn(FraudGateService.Decision.ALLOW);
+        return new TransactionService(accountRepository, mock(TransactionRepository.class), event -> {
+        }, fraudGateService, mock(FxRateService.class), transactionManager, new SimpleMeterRegistry());
+    }
+
+    private Account stored(long id, String accountNumber, String balance) {
+        Account account = account(accountNumber, "USD");
+        ReflectionTestUtils.setField(account, "id", id);
+        account.setBalance(new BigDecimal(balance));
+        when(accountRepository.findByAccountNumber(accountNumber)).thenReturn(Optional.of(account));
+        when(accountRepository.findByAccountNumberForUpdate(accountNumber)).thenReturn(Optional.of(account));
+        return account;
+    }
+
+    private static Account account(String accountNumber, String currency) {
+        Account account = new Account(BigDecimal.ZERO, currency, Account.AccountStatus.ACTIVE, null);
+        ReflectionTestUtils.setField(account, "accountNumber", accountNumber);
+        return account;
+    }
+
+}
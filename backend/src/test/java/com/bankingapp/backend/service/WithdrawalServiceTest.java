@@ -0,0 +1,142 @@
+package com.bankingapp.backend.service;
+
+import com.bankingapp.backend.exception.InvalidAccountStateException;
+import com.bankingapp.backend.exception.WithdrawalLimitExceededException;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.repository.AccountRepository;
+import com.bankingapp.backend.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WithdrawalServiceTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Account account = new Account(new BigDecimal("10000.00"), "USD", Account.AccountStatus.ACTIVE, null);
+
+    private WithdrawalService withdrawalService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(account, "id", 1L);
+        ReflectionTestUtils.setField(account, "accountNumber", "acc-1");
+        ReflectionTestUtils.setField(account, "withdrawalVersion", 1L);
+        when(accountRepository.findByAccountNumberForUpdate("acc-1")).thenReturn(Optional.of(account));
+        when(transactionRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(transactionRepository.findWithdrawalsSince(anyLong(), any())).thenReturn(List.of());
+
+        withdrawalService = new WithdrawalService(accountRepository, transactionRepository,
+                mock(ApplicationEventPublisher.class), meterRegistry);
+        ReflectionTestUtils.setField(withdrawalService, "dailyLimit", new BigDecimal("5000.00"));
+        ReflectionTestUtils.setField(withdrawalService, "windowLimit", new BigDecimal("1000.00"));
+        ReflectionTestUtils.setField(withdrawalService, "windowMinutes", 60L);
+        ReflectionTestUtils.setField(withdrawalService, "windowCount", 5);
+        ReflectionTestUtils.setField(withdrawalService, "maxAccounts", 100);
+        withdrawalService.init();
+    }
+
+    @Test
+    void rollingWindowLimitsAmountAndCount() {
+        withdraw("600.00", true);
+        assertThrows(WithdrawalLimitExceededException.class, () -> withdraw("500.00", true));
+
+        for (int i = 0; i < 4; i++) {
+            withdraw("10.00", true);
+        }
+        assertThrows(WithdrawalLimitExceededException.class, () -> withdraw("10.00", true));
+
+        assertEquals(2, rejections("window"));
+        assertEquals(1, meterRegistry.counter("withdrawal.limit.reseeds").count());
+    }
+
+    @Test
+    void dailyLimitCountsWithdrawalsSeededFromTheDatabase() {
+        ReflectionTestUtils.setField(withdrawalService, "windowLimit", new BigDecimal("10000.00"));
+        when(transactionRepository.findWithdrawalsSince(anyLong(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{LocalDateTime.now(), new BigDecimal("4900.00")}));
+
+        withdraw("100.00", true);
+        assertThrows(WithdrawalLimitExceededException.class, () -> withdraw("0.01", true));
+
+        assertEquals(1, rejections("daily"));
+    }
+
+    @Test
+    void withdrawalOnAnotherNodeReseedsTheWindow() {
+        withdraw("600.00", true);
+
+        // a withdrawal committed elsewhere bumps the withdrawal version, so the window is rebuilt from the
+        // (mocked, empty) history
+        ReflectionTestUtils.setField(account, "withdrawalVersion", 3L);
+        withdraw("600.00", true);
+
+        assertEquals(2, meterRegistry.counter("withdrawal.limit.reseeds").count());
+    }
+
+    @Test
+    void depositsAndTransfersKeepTheCachedWindow() {
+        withdraw("100.00", true);
+
+        // deposits and transfers bump only the row version
+        ReflectionTestUtils.setField(account, "version", 7L);
+        withdraw("100.00", true);
+
+        assertEquals(1, meterRegistry.counter("withdrawal.limit.reseeds").count());
+    }
+
+    @Test
+    void rolledBackWithdrawalIsNotCounted() {
+        withdraw("600.00", false);
+        withdraw("600.00", true);
+
+        assertThrows(WithdrawalLimitExceededException.class, () -> withdraw("600.00", true));
+    }
+
+    @Test
+    void frozenAccountCannotWithdraw() {
+        account.setStatus(Account.AccountStatus.FROZEN);
+
+        assertThrows(InvalidAccountStateException.class, () -> withdraw("10.00", true));
+        assertEquals(0, new BigDecimal("10000.00").compareTo(account.getBalance()));
+    }
+
+    @Test
+    void fractionsOfACentAreRejected() {
+        assertThrows(ArithmeticException.class, () -> withdraw("10.005", true));
+    }
+
+    private void withdraw(String amount, boolean commit) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            withdrawalService.withdrawFromAccount("acc-1", new BigDecimal(amount), "cash");
+            if (commit) {
+                TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private double rejections(String limit) {
+        return meterRegistry.counter("withdrawal.limit.rejections", "limit", limit).count();
+    }
+
+}
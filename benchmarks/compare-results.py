@@ -0,0 +1,45 @@
+#!/usr/bin/env python3
+"""Compares two JMH JSON result files and flags regressions above a threshold."""
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        results = json.load(f)
+    scores = {}
+    for result in results:
+        params = ",".join(f"{k}={v}" for k, v in sorted(result.get("params", {}).items()))
+        key = result["benchmark"] + (f"[{params}]" if params else "")
+        metric = result["primaryMetric"]
+        scores[key] = (metric["score"], metric["scoreError"], metric["scoreUnit"], result["mode"])
+    return scores
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("baseline")
+    parser.add_argument("candidate")
+    parser.add_argument("--threshold", type=float, default=10.0, help="Regression threshold in percent")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    candidate = load(args.candidate)
+    regressions = 0
+
+    for key in sorted(baseline.keys() & candidate.keys()):
+        old, _, unit, mode = baseline[key]
+        new, error, _, _ = candidate[key]
+        change = (new - old) / old * 100 if old else 0.0
+        # Throughput modes are better when higher, time modes when lower
+        worse = -change if mode == "thrpt" else change
+        flag = "REGRESSION" if worse > args.threshold else ""
+        regressions += bool(flag)
+        print(f"{key:80s} {old:12.3f} -> {new:12.3f} ± {error:8.3f} {unit:10s} {change:+7.1f}% {flag}")
+
+    sys.exit(1 if regressions else 0)
+
+
+if __name__ == "__main__":
+    main()
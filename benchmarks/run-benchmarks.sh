@@ -0,0 +1,14 @@
+#!/usr/bin/env bash
+# Runs the JMH suite and writes machine-readable results to results/<git-sha>.json.
+# Extra arguments are passed to JMH, e.g. ./run-benchmarks.sh Jwt -f 2
+#
+# Compare two runs with: python3 compare-results.py results/<old>.json results/<new>.json
+set -euo pipefail
+
+mvn -q -f ../backend install -DskipTests
+mvn -q package
+
+mkdir -p results
+SHA=$(git rev-parse --short HEAD)
+java -jar target/benchmarks.jar -rf json -rff "results/$SHA.json" "$@"
+echo "Results written to results/$SHA.json"
@@ -0,0 +1,69 @@
+package com.bankingapp.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BalanceArithmeticBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private final BigDecimal[] balances = new BigDecimal[SAMPLES];
+    private final BigDecimal[] amounts = new BigDecimal[SAMPLES];
+    private final long[] balanceCents = new long[SAMPLES];
+    private final long[] amountCents = new long[SAMPLES];
+    private final String[] amountTexts = new String[SAMPLES];
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < SAMPLES; i++) {
+            balanceCents[i] = random.nextLong(0, 10_000_000_00L);
+            amountCents[i] = random.nextLong(1, 5_000_00L);
+            balances[i] = BigDecimal.valueOf(balanceCents[i], 2);
+            amounts[i] = BigDecimal.valueOf(amountCents[i], 2);
+            amountTexts[i] = amounts[i].toPlainString();
+        }
+    }
+
+    @Benchmark
+    public void transferBigDecimal(Blackhole blackhole) {
+        int i = cursor++ & (SAMPLES - 1);
+        BigDecimal sender = balances[i];
+        BigDecimal receiver = balances[(i + 1) & (SAMPLES - 1)];
+        BigDecimal amount = amounts[i];
+        if (sender.compareTo(amount) >= 0) {
+            blackhole.consume(sender.subtract(amount));
+            blackhole.consume(receiver.add(amount));
+        }
+    }
+
+    @Benchmark
+    public void transferLongCents(Blackhole blackhole) {
+        int i = cursor++ & (SAMPLES - 1);
+        long sender = balanceCents[i];
+        long receiver = balanceCents[(i + 1) & (SAMPLES - 1)];
+        long amount = amountCents[i];
+        if (sender >= amount) {
+            blackhole.consume(sender - amount);
+            blackhole.consume(receiver + amount);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal parseRequestAmount() {
+        int i = cursor++ & (SAMPLES - 1);
+        return new BigDecimal(amountTexts[i]);
+    }
+
+}
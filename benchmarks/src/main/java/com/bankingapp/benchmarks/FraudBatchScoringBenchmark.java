@@ -0,0 +1,133 @@
+package com.bankingapp.benchmarks;
+
+import com.bankingapp.backend.config.WorkerThreads;
+import com.bankingapp.backend.dto.FraudDetectionDTO;
+import com.bankingapp.backend.dto.TransactionRequestDTO;
+import com.bankingapp.backend.service.FraudDetectionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Serial per-row scoring against chunked batch scoring, with a stand-in fraud API adding a fixed RTT
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class FraudBatchScoringBenchmark {
+
+    @Param({"400"})
+    public int rows;
+
+    @Param({"5"})
+    public long latencyMs;
+
+    @Param({"50"})
+    public int batchSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private FraudDetectionService fraudDetectionService;
+    private List<TransactionRequestDTO> requests;
+
+    @Setup
+    public void setUp() throws IOException {
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/predict-fraud", this::handleSingle);
+        server.createContext("/predict-fraud/batch", this::handleBatch);
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        fraudDetectionService = new FraudDetectionService(
+                new RestTemplate(),
+                CircuitBreaker.ofDefaults("fraudDetection"),
+                Bulkhead.ofDefaults("fraudDetection"),
+                new SimpleMeterRegistry(),
+                new WorkerThreads(new MockEnvironment()));
+        ReflectionTestUtils.setField(fraudDetectionService, "fraudApiUrl", baseUrl + "/predict-fraud");
+        ReflectionTestUtils.setField(fraudDetectionService, "fraudBatchApiUrl", baseUrl + "/predict-fraud/batch");
+        ReflectionTestUtils.setField(fraudDetectionService, "batchSize", batchSize);
+        ReflectionTestUtils.setField(fraudDetectionService, "batchConcurrency", 4);
+        fraudDetectionService.init();
+
+        requests = IntStream.range(0, rows)
+                .mapToObj(i -> new TransactionRequestDTO(
+                        i, "2025-05-18T21:02:42", i % 2 == 0 ? "DEPOSIT" : "TRANSFER", (long) i, -1L))
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fraudDetectionService.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<FraudDetectionDTO> serial() {
+        List<FraudDetectionDTO> results = new ArrayList<>(requests.size());
+        for (TransactionRequestDTO request : requests) {
+            results.add(fraudDetectionService.predictFraud(request));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<FraudDetectionDTO> batch() {
+        return fraudDetectionService.predictFraudBatch(requests);
+    }
+
+    private void handleSingle(HttpExchange exchange) throws IOException {
+        JsonNode transaction = objectMapper.readTree(exchange.getRequestBody());
+        respond(exchange, objectMapper.writeValueAsBytes(score(transaction)));
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        JsonNode transactions = objectMapper.readTree(exchange.getRequestBody());
+        List<FraudDetectionDTO> scores = new ArrayList<>();
+        transactions.forEach(transaction -> scores.add(score(transaction)));
+        respond(exchange, objectMapper.writeValueAsBytes(scores));
+    }
+
+    private static FraudDetectionDTO score(JsonNode transaction) {
+        double riskScore = transaction.get("amount").asDouble() / 1000.0;
+        return new FraudDetectionDTO(riskScore > 0.5, riskScore);
+    }
+
+    private void respond(HttpExchange exchange, byte[] body) throws IOException {
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+        exchange.close();
+    }
+
+}
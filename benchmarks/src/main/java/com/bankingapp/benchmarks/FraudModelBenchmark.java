@@ -0,0 +1,104 @@
+package com.bankingapp.benchmarks;
+
+import com.bankingapp.backend.service.FraudModelEvaluator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FraudModelBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"../fraud-detection-api/model/fraud_model.json"})
+    public String modelPath;
+
+    private FraudModelEvaluator logistic;
+    private FraudModelEvaluator exported;
+
+    private final double[] amounts = new double[SAMPLES];
+    private final int[] hours = new int[SAMPLES];
+    private final int[] types = new int[SAMPLES];
+    private final long[] receivers = new long[SAMPLES];
+    private final long[] senders = new long[SAMPLES];
+    private int cursor;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            amounts[i] = random.nextDouble(1, 50_000);
+            hours[i] = random.nextInt(24);
+            types[i] = random.nextInt(2);
+            receivers[i] = random.nextLong(1, 1_000);
+            senders[i] = types[i] == 0 ? -1 : random.nextLong(1, 1_000);
+        }
+
+        logistic = FraudModelEvaluator.logistic(new double[]{1e-4, -0.05, 0.8, -1e-3, 2e-3}, -2.0);
+
+        Path path = Path.of(modelPath);
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                exported = FraudModelEvaluator.load(in, new ObjectMapper());
+            }
+        } else {
+            exported = syntheticForest(random, 100, 8);
+        }
+    }
+
+    @Benchmark
+    public double logisticRegression() {
+        int i = cursor++ & (SAMPLES - 1);
+        return logistic.probability(amounts[i], hours[i], types[i], receivers[i], senders[i]);
+    }
+
+    @Benchmark
+    public double exportedModel() {
+        int i = cursor++ & (SAMPLES - 1);
+        return exported.probability(amounts[i], hours[i], types[i], receivers[i], senders[i]);
+    }
+
+    private static FraudModelEvaluator syntheticForest(SplittableRandom random, int trees, int depth) {
+        int nodesPerTree = (1 << (depth + 1)) - 1;
+        int total = trees * nodesPerTree;
+        int[] roots = new int[trees];
+        int[] feature = new int[total];
+        double[] threshold = new double[total];
+        int[] left = new int[total];
+        int[] right = new int[total];
+        double[] value = new double[total];
+        double[] maxima = {50_000, 24, 2, 1_000, 1_000};
+
+        for (int t = 0; t < trees; t++) {
+            int offset = t * nodesPerTree;
+            roots[t] = offset;
+            for (int n = 0; n < nodesPerTree; n++) {
+                int node = offset + n;
+                if (2 * n + 1 < nodesPerTree) {
+                    feature[node] = random.nextInt(maxima.length);
+                    threshold[node] = random.nextDouble(maxima[feature[node]]);
+                    left[node] = offset + 2 * n + 1;
+                    right[node] = offset + 2 * n + 2;
+                } else {
+                    feature[node] = -1;
+                    left[node] = -1;
+                    right[node] = -1;
+                    value[node] = random.nextDouble();
+                }
+            }
+        }
+        return FraudModelEvaluator.forest(roots, feature, threshold, left, right, value);
+    }
+
+}
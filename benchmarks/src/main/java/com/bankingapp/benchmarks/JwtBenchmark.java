@@ -0,0 +1,55 @@
+package com.bankingapp.benchmarks;
+
+import com.bankingapp.backend.security.JwtTokenUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    static final String SECRET = Base64.getEncoder()
+            .encodeToString("benchmark-secret-key-of-at-least-32-bytes".getBytes());
+
+    private JwtTokenUtil jwtTokenUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = jwtTokenUtil();
+        userDetails = User.withUsername("jane.doe@example.com")
+                .password("unused")
+                .roles("USER")
+                .build();
+        token = jwtTokenUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtTokenUtil.extractEmail(token);
+    }
+
+    static JwtTokenUtil jwtTokenUtil() {
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil();
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtTokenUtil, "expirationMs", 1_800_000);
+        jwtTokenUtil.init();
+        return jwtTokenUtil;
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.bankingapp.benchmarks;
+
+import com.bankingapp.backend.service.TokenBlacklistService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Base64;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TokenBlacklistBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"1000000"})
+    public int entries;
+
+    private TokenBlacklistService blacklist;
+    private final String[] blacklistedHeaders = new String[PROBES];
+    private final String[] validHeaders = new String[PROBES];
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        blacklist = new TokenBlacklistService();
+        for (int i = 0; i < entries; i++) {
+            String token = token(random);
+            blacklist.blacklistToken(token);
+            if (i < PROBES) {
+                blacklistedHeaders[i] = "Bearer " + token;
+            }
+        }
+        for (int i = 0; i < PROBES; i++) {
+            validHeaders[i] = "Bearer " + token(random);
+        }
+    }
+
+    @Benchmark
+    public boolean blacklistedToken() {
+        String header = blacklistedHeaders[cursor++ & (PROBES - 1)];
+        return blacklist.isTokenBlacklisted(header.substring(7));
+    }
+
+    @Benchmark
+    public boolean validToken() {
+        String header = validHeaders[cursor++ & (PROBES - 1)];
+        return blacklist.isTokenBlacklisted(header.substring(7));
+    }
+
+    private static String token(SplittableRandom random) {
+        byte[] bytes = new byte[132];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.bankingapp.benchmarks;
+
+import com.bankingapp.backend.dto.TransactionResponseDTO;
+import com.bankingapp.backend.model.Account;
+import com.bankingapp.backend.model.Transaction;
+import com.bankingapp.backend.repository.TransactionRepository;
+import com.bankingapp.backend.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private TransactionService transactionService;
+    private ObjectMapper objectMapper;
+    private List<TransactionResponseDTO> responses;
+    private String accountNumber;
+
+    @Setup
+    public void setUp() {
+        Account sender = account();
+        Account receiver = account();
+        accountNumber = sender.getAccountNumber();
+
+        List<Transaction> transactions = new ArrayList<>(size);
+        LocalDateTime timestamp = LocalDateTime.of(2025, 1, 1, 12, 0);
+        for (int i = 0; i < size; i++) {
+            Transaction transaction = new Transaction(BigDecimal.valueOf(1000 + i, 2), "Transfer " + i,
+                    Transaction.TransactionType.TRANSFER, sender, receiver);
+            ReflectionTestUtils.setField(transaction, "id", UUID.randomUUID());
+            ReflectionTestUtils.setField(transaction, "timestamp", timestamp.plusMinutes(i));
+            transactions.add(transaction);
+        }
+
+        TransactionRepository repository = (TransactionRepository) Proxy.newProxyInstance(
+                TransactionRepository.class.getClassLoader(),
+                new Class<?>[]{TransactionRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByAccountNumberAndEmail" -> transactions;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "TransactionRepository stub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        transactionService = new TransactionService(null, repository, event -> {
+        }, null, null, null, new SimpleMeterRegistry());
+
+        objectMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        responses = transactionService.getAllUserTransactions(accountNumber, "jane.doe@example.com");
+    }
+
+    @Benchmark
+    public List<TransactionResponseDTO> mapTransactions() {
+        return transactionService.getAllUserTransactions(accountNumber, "jane.doe@example.com");
+    }
+
+    @Benchmark
+    public byte[] serializeResponses() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    private static Account account() {
+        Account account = new Account(BigDecimal.valueOf(1_000_000, 2), "USD", Account.AccountStatus.ACTIVE, null);
+        ReflectionTestUtils.setField(account, "accountNumber", UUID.randomUUID().toString());
+        return account;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.bankingapp.benchmarks.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+final class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_CHARS = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder row = new StringBuilder(FLUSH_CHARS + 4096);
+
+    CopyWriter(Connection connection, String table, String columns) throws SQLException {
+        copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)");
+    }
+
+    StringBuilder row() {
+        return row;
+    }
+
+    void endRow() throws SQLException {
+        row.append('\n');
+        if (row.length() >= FLUSH_CHARS) {
+            flush();
+        }
+    }
+
+    long finish() throws SQLException {
+        flush();
+        return copyIn.endCopy();
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        row.setLength(0);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    static StringBuilder appendCents(StringBuilder row, long cents) {
+        return row.append(cents / 100).append('.')
+                .append((char) ('0' + (cents % 100) / 10))
+                .append((char) ('0' + cents % 10));
+    }
+
+}
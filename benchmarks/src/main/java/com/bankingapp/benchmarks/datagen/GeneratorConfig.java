@@ -0,0 +1,95 @@
+package com.bankingapp.benchmarks.datagen;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+record GeneratorConfig(
+        String jdbcUrl,
+        String username,
+        String password,
+        int users,
+        int accounts,
+        long transactions,
+        int days,
+        int threads,
+        long seed,
+        double hotAccountFraction,
+        double hotTrafficShare,
+        double depositRatio,
+        double amountMu,
+        double amountSigma,
+        double openingMu,
+        double openingSigma,
+        double fraudRatio,
+        double fraudAmountMultiplier,
+        double[] hourWeights
+) {
+
+    static GeneratorConfig load(Properties p) throws IOException {
+        double fraudRatio = Double.parseDouble(p.getProperty("fraud-ratio", "0.01"));
+        String fraudProfile = p.getProperty("fraud-profile", "").trim();
+        if (!fraudProfile.isEmpty()) {
+            fraudRatio = fraudRatioOf(Path.of(fraudProfile));
+        }
+
+        double[] hourWeights = Arrays.stream(p.getProperty("hour-weights",
+                        "1,1,1,1,1,2,4,6,8,9,9,9,9,9,9,9,9,8,8,7,6,4,3,2").split(","))
+                .mapToDouble(w -> Double.parseDouble(w.trim()))
+                .toArray();
+        if (hourWeights.length != 24) {
+            throw new IllegalArgumentException("hour-weights needs 24 values");
+        }
+
+        return new GeneratorConfig(
+                p.getProperty("jdbc-url"),
+                p.getProperty("username"),
+                p.getProperty("password"),
+                Integer.parseInt(p.getProperty("users", "100000")),
+                Integer.parseInt(p.getProperty("accounts", "150000")),
+                Long.parseLong(p.getProperty("transactions", "10000000")),
+                Integer.parseInt(p.getProperty("days", "365")),
+                threads(p.getProperty("threads", "")),
+                Long.parseLong(p.getProperty("seed", "42")),
+                Double.parseDouble(p.getProperty("hot-account-fraction", "0.001")),
+                Double.parseDouble(p.getProperty("hot-traffic-share", "0.2")),
+                Double.parseDouble(p.getProperty("deposit-ratio", "0.15")),
+                Double.parseDouble(p.getProperty("amount-mu", "4.0")),
+                Double.parseDouble(p.getProperty("amount-sigma", "1.2")),
+                Double.parseDouble(p.getProperty("opening-mu", "8.0")),
+                Double.parseDouble(p.getProperty("opening-sigma", "1.0")),
+                fraudRatio,
+                Double.parseDouble(p.getProperty("fraud-amount-multiplier", "5.0")),
+                hourWeights
+        );
+    }
+
+    private static int threads(String value) {
+        return value.isBlank() ? Runtime.getRuntime().availableProcessors() : Integer.parseInt(value.trim());
+    }
+
+    private static double fraudRatioOf(Path dataset) throws IOException {
+        long rows = 0;
+        long fraud = 0;
+        try (BufferedReader reader = Files.newBufferedReader(dataset)) {
+            String[] header = reader.readLine().split(",");
+            int column = Arrays.asList(header).indexOf("is_fraud");
+            if (column < 0) {
+                throw new IllegalArgumentException(dataset + " has no is_fraud column");
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",", -1);
+                rows++;
+                if ("1".equals(fields[column].trim())) {
+                    fraud++;
+                }
+            }
+        }
+        return rows == 0 ? 0.0 : (double) fraud / rows;
+    }
+
+}
@@ -0,0 +1,281 @@
+package com.bankingapp.benchmarks.datagen;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LedgerDataGenerator {
+
+    private static final String PASSWORD = "password123";
+
+    private final GeneratorConfig config;
+    private final double[] hourCdf = new double[24];
+    private final LocalDateTime start;
+    private long firstUserId;
+    private long firstAccountId;
+    private AtomicLongArray balances;
+
+    private LedgerDataGenerator(GeneratorConfig config) {
+        this.config = config;
+        double total = Arrays.stream(config.hourWeights()).sum();
+        double running = 0;
+        for (int h = 0; h < 24; h++) {
+            running += config.hourWeights()[h] / total;
+            hourCdf[h] = running;
+        }
+        this.start = LocalDate.now().minusDays(config.days()).atStartOfDay();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(Path.of(args.length > 0 ? args[0] : "datagen.properties"))) {
+            properties.load(in);
+        }
+        new LedgerDataGenerator(GeneratorConfig.load(properties)).run();
+    }
+
+    private void run() throws Exception {
+        long began = System.nanoTime();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            firstUserId = maxId(statement, "users") + 1;
+            firstAccountId = maxId(statement, "accounts") + 1;
+        }
+        balances = new AtomicLongArray(config.accounts());
+        System.out.printf("Generating %d users, %d accounts, %d transactions on %d threads (fraud ratio %.4f)%n",
+                config.users(), config.accounts(), config.transactions(), config.threads(), config.fraudRatio());
+
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+        long users = parallel(config.users(), (from, to, random) -> copyUsers(from, to, passwordHash));
+        log("users", users, began);
+        long accounts = parallel(config.accounts(), this::copyAccounts);
+        log("accounts", accounts, began);
+        long transactions = parallel(config.accounts(), this::copyTransactions);
+        log("transactions", transactions, began);
+
+        applyBalancesAndSequences();
+        System.out.printf("Done in %ds, every seeded user's password is '%s'%n",
+                (System.nanoTime() - began) / 1_000_000_000L, PASSWORD);
+    }
+
+    @FunctionalInterface
+    private interface Partition {
+        long load(int from, int to, SplittableRandom random) throws Exception;
+    }
+
+    private long parallel(int size, Partition partition) throws Exception {
+        int threads = Math.max(1, Math.min(config.threads(), size));
+        List<Future<Long>> results = new ArrayList<>(threads);
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                int from = (int) ((long) size * t / threads);
+                int to = (int) ((long) size * (t + 1) / threads);
+                SplittableRandom random = new SplittableRandom(config.seed() * 31 + t);
+                results.add(executor.submit(() -> partition.load(from, to, random)));
+            }
+        }
+        long rows = 0;
+        for (Future<Long> result : results) {
+            rows += result.get();
+        }
+        return rows;
+    }
+
+    private long copyUsers(int from, int to, String passwordHash) throws SQLException {
+        try (Connection connection = connect();
+             CopyWriter copy = new CopyWriter(connection, "users",
+                     "id, email, password, first_name, last_name, phone_number, role, created_at, updated_at")) {
+            for (int i = from; i < to; i++) {
+                long id = firstUserId + i;
+                LocalDateTime created = start.minusDays(1 + i % 365);
+                copy.row().append(id).append(',')
+                        .append("user").append(id).append("@datagen.local,")
+                        .append(passwordHash).append(',')
+                        .append("User,")
+                        .append(id).append(',')
+                        .append("+9").append(id).append(',')
+                        .append("USER,")
+                        .append(created).append(',')
+                        .append(created);
+                copy.endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    private long copyAccounts(int from, int to, SplittableRandom random) throws SQLException {
+        try (Connection connection = connect();
+             CopyWriter copy = new CopyWriter(connection, "accounts",
+                     "id, account_number, balance, currency, opening_date, status, user_id")) {
+            for (int i = from; i < to; i++) {
+                long userId = firstUserId + (long) i * config.users() / config.accounts();
+                copy.row().append(firstAccountId + i).append(',')
+                        .append(new UUID(random.nextLong(), random.nextLong())).append(',')
+                        .append("0.00,USD,")
+                        .append(start.minusDays(random.nextInt(1, 365))).append(',')
+                        .append("ACTIVE,")
+                        .append(userId);
+                copy.endRow();
+            }
+            return copy.finish();
+        }
+    }
+
+    // Each partition owns the senders in [from, to): a sender only spends what it was deposited,
+    // so running balances never go negative regardless of the order other partitions credit it.
+    private long copyTransactions(int from, int to, SplittableRandom random) throws SQLException {
+        int owned = to - from;
+        long[] spendable = new long[owned];
+        long count = config.transactions() * owned / config.accounts();
+        long perDay = Math.max(1, count / config.days());
+        int hotAccounts = Math.max(1, (int) (config.accounts() * config.hotAccountFraction()));
+
+        try (Connection connection = connect();
+             CopyWriter copy = new CopyWriter(connection, "transactions",
+                     "id, amount, timestamp, description, type, status, sender_account, receiver_account, "
+                             + "is_fraud, risk_score, fraud_scored_at")) {
+            for (int i = 0; i < owned; i++) {
+                long cents = lognormalCents(random, config.openingMu(), config.openingSigma());
+                spendable[i] = cents;
+                balances.addAndGet(from + i, cents);
+                writeTransaction(copy, random, cents, start, "Opening deposit", "DEPOSIT", -1, from + i, false);
+            }
+
+            long[] seconds = new long[(int) perDay];
+            for (int day = 0; day < config.days(); day++) {
+                for (int n = 0; n < seconds.length; n++) {
+                    seconds[n] = sampleHour(random) * 3600L + random.nextInt(3600);
+                }
+                Arrays.sort(seconds);
+                LocalDateTime dayStart = start.plusDays(day);
+
+                for (long second : seconds) {
+                    LocalDateTime timestamp = dayStart.plusSeconds(second);
+                    int sender = from + pick(random, owned, hotAccounts, from);
+                    boolean fraud = random.nextDouble() < config.fraudRatio();
+                    long cents = lognormalCents(random, config.amountMu(), config.amountSigma());
+                    if (fraud) {
+                        cents = (long) (cents * config.fraudAmountMultiplier());
+                    }
+
+                    if (random.nextDouble() < config.depositRatio() || spendable[sender - from] < 100) {
+                        spendable[sender - from] += cents;
+                        balances.addAndGet(sender, cents);
+                        writeTransaction(copy, random, cents, timestamp, "Deposit", "DEPOSIT", -1, sender, fraud);
+                        continue;
+                    }
+
+                    int receiver = pick(random, config.accounts(), hotAccounts, 0);
+                    if (receiver == sender) {
+                        receiver = (receiver + 1) % config.accounts();
+                    }
+                    cents = Math.min(cents, spendable[sender - from]);
+                    spendable[sender - from] -= cents;
+                    balances.addAndGet(sender, -cents);
+                    balances.addAndGet(receiver, cents);
+                    writeTransaction(copy, random, cents, timestamp, "Transfer", "TRANSFER", sender, receiver, fraud);
+                }
+            }
+            return copy.finish();
+        }
+    }
+
+    private void writeTransaction(CopyWriter copy, SplittableRandom random, long cents, LocalDateTime timestamp,
+                                  String description, String type, int sender, int receiver,
+                                  boolean fraud) throws SQLException {
+        double riskScore = fraud ? 0.7 + 0.3 * random.nextDouble() : 0.4 * random.nextDouble();
+        StringBuilder row = copy.row();
+        row.append(new UUID(random.nextLong(), random.nextLong())).append(',');
+        CopyWriter.appendCents(row, cents).append(',')
+                .append(timestamp).append(',')
+                .append(description).append(',')
+                .append(type).append(",COMPLETED,");
+        if (sender >= 0) {
+            row.append(firstAccountId + sender);
+        }
+        row.append(',').append(firstAccountId + receiver).append(',')
+                .append(fraud).append(',')
+                .append(Math.round(riskScore * 100) / 100.0).append(',')
+                .append(timestamp);
+        copy.endRow();
+    }
+
+    private void applyBalancesAndSequences() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            statement.execute("CREATE TEMP TABLE datagen_balances (id bigint PRIMARY KEY, balance numeric(19, 2)) "
+                    + "ON COMMIT DROP");
+            try (CopyWriter copy = new CopyWriter(connection, "datagen_balances", "id, balance")) {
+                for (int i = 0; i < balances.length(); i++) {
+                    CopyWriter.appendCents(copy.row().append(firstAccountId + i).append(','), balances.get(i));
+                    copy.endRow();
+                }
+                copy.finish();
+            }
+            statement.executeUpdate("UPDATE accounts a SET balance = b.balance FROM datagen_balances b WHERE a.id = b.id");
+            statement.execute("SELECT setval(pg_get_serial_sequence('users', 'id'), (SELECT MAX(id) FROM users))");
+            statement.execute("SELECT setval(pg_get_serial_sequence('accounts', 'id'), (SELECT MAX(id) FROM accounts))");
+            connection.commit();
+            statement.execute("ANALYZE users");
+            statement.execute("ANALYZE accounts");
+            statement.execute("ANALYZE transactions");
+        }
+    }
+
+    private int pick(SplittableRandom random, int size, int hotAccounts, int offset) {
+        // Hot accounts are the lowest global indices; they draw hot-traffic-share of all picks
+        int hotInRange = Math.max(0, Math.min(size, hotAccounts - offset));
+        if (hotInRange > 0 && random.nextDouble() < config.hotTrafficShare()) {
+            return random.nextInt(hotInRange);
+        }
+        return random.nextInt(size);
+    }
+
+    private int sampleHour(SplittableRandom random) {
+        double roll = random.nextDouble();
+        for (int h = 0; h < 23; h++) {
+            if (roll < hourCdf[h]) {
+                return h;
+            }
+        }
+        return 23;
+    }
+
+    private static long lognormalCents(SplittableRandom random, double mu, double sigma) {
+        return Math.max(1, Math.round(Math.exp(mu + sigma * random.nextGaussian()) * 100));
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(config.jdbcUrl(), config.username(), config.password());
+    }
+
+    private static long maxId(Statement statement, String table) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void log(String table, long rows, long began) {
+        System.out.printf("  %-12s %,d rows (%ds elapsed)%n", table, rows, (System.nanoTime() - began) / 1_000_000_000L);
+    }
+
+}
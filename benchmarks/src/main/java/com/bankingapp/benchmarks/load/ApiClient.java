@@ -0,0 +1,96 @@
+package com.bankingapp.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+final class ApiClient {
+
+    static final String PASSWORD = "load-test-password";
+
+    record ApiUser(String email, String token, String senderAccount, String receiverAccount) {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    ApiUser registerFundedUser(String funding) throws IOException, InterruptedException {
+        String email = registerUser();
+        String token = login(email);
+
+        String sender = json(check(post("/api/accounts/new", token, Map.of()))).get("accountNumber").asText();
+        String receiver = json(check(post("/api/accounts/new", token, Map.of()))).get("accountNumber").asText();
+        check(post("/api/accounts/" + sender + "/deposit", token,
+                Map.of("amount", funding, "description", "load test funding")));
+        return new ApiUser(email, token, sender, receiver);
+    }
+
+    String registerUser() throws IOException, InterruptedException {
+        String suffix = UUID.randomUUID().toString().replace("-", "");
+        String email = "load-" + suffix + "@example.com";
+        check(post("/api/auth/register", null, Map.of(
+                "email", email,
+                "password", PASSWORD,
+                "firstName", "Load",
+                "lastName", "Test",
+                "phoneNumber", "+1" + suffix)));
+        return email;
+    }
+
+    String login(String email) throws IOException, InterruptedException {
+        return login(email, PASSWORD);
+    }
+
+    String login(String email, String password) throws IOException, InterruptedException {
+        return json(check(post("/api/auth/login", null,
+                Map.of("email", email, "password", password)))).get("token").asText();
+    }
+
+    HttpResponse<String> post(String path, String token, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    static HttpResponse<String> check(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(response.request().uri() + " returned "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+
+}
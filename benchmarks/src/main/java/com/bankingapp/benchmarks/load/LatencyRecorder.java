@@ -0,0 +1,61 @@
+package com.bankingapp.benchmarks.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+final class LatencyRecorder {
+
+    private final Map<String, long[]> latencies = new TreeMap<>();
+    private final Map<String, int[]> counts = new TreeMap<>();
+
+    void record(String operation, long nanos, boolean ok) {
+        int[] count = counts.computeIfAbsent(operation, k -> new int[2]);
+        long[] samples = latencies.computeIfAbsent(operation, k -> new long[1024]);
+        if (count[0] == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+            latencies.put(operation, samples);
+        }
+        samples[count[0]++] = nanos;
+        if (!ok) {
+            count[1]++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        other.counts.forEach((operation, count) -> {
+            long[] samples = other.latencies.get(operation);
+            for (int i = 0; i < count[0]; i++) {
+                record(operation, samples[i], true);
+            }
+            counts.get(operation)[1] += count[1];
+        });
+    }
+
+    void print(String label, double durationSeconds) {
+        System.out.printf("%-10s %-12s %10s %10s %10s %10s %10s %8s%n",
+                "run", "operation", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        counts.forEach((operation, count) -> {
+            long[] samples = Arrays.copyOf(latencies.get(operation), count[0]);
+            Arrays.sort(samples);
+            System.out.printf("%-10s %-12s %10.1f %10.2f %10.2f %10.2f %10.2f %7.2f%%%n",
+                    label,
+                    operation,
+                    count[0] / durationSeconds,
+                    percentile(samples, 0.50),
+                    percentile(samples, 0.95),
+                    percentile(samples, 0.99),
+                    samples.length == 0 ? 0.0 : samples[samples.length - 1] / 1e6,
+                    count[0] == 0 ? 0.0 : 100.0 * count[1] / count[0]);
+        });
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+}
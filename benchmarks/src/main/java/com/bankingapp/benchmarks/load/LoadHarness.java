@@ -0,0 +1,219 @@
+package com.bankingapp.benchmarks.load;
+
+import com.bankingapp.backend.BackendApplication;
+import com.bankingapp.backend.model.User;
+import com.bankingapp.backend.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class LoadHarness {
+
+    private static final String[] OPERATIONS = {"login", "transfer", "history", "admin-stats"};
+
+    private final Properties workload;
+    private final int[] cumulativeWeights = new int[OPERATIONS.length];
+    private ApiClient client;
+    private List<ApiClient.ApiUser> users;
+    private String adminToken;
+
+    LoadHarness(Properties workload) {
+        this.workload = workload;
+        int total = 0;
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            total += Integer.parseInt(workload.getProperty("mix." + OPERATIONS[i], "0"));
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Workload mix has no weights");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Properties workload = new Properties();
+        try (InputStream in = Files.newInputStream(Path.of(args.length > 0 ? args[0] : "workload.properties"))) {
+            workload.load(in);
+        }
+        new LoadHarness(workload).run();
+    }
+
+    void run() throws Exception {
+        String baseUrl = workload.getProperty("base-url", "").trim();
+        ConfigurableApplicationContext context = null;
+        String label = workload.getProperty("label", "external");
+        if (baseUrl.isEmpty()) {
+            context = bootEmbeddedBackend();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+            label = workload.getProperty("label", "embedded");
+        }
+
+        try {
+            client = new ApiClient(baseUrl);
+            setUp(context);
+
+            int clients = intProperty("clients", 100);
+            long warmupNanos = Duration.ofSeconds(intProperty("warmup-seconds", 10)).toNanos();
+            int durationSeconds = intProperty("duration-seconds", 60);
+            System.out.printf("Driving %d clients against %s (%ds warm-up, %ds measured)%n",
+                    clients, baseUrl, warmupNanos / 1_000_000_000L, durationSeconds);
+
+            long measureFrom = System.nanoTime() + warmupNanos;
+            long deadline = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+            List<Future<LatencyRecorder>> futures = new ArrayList<>(clients);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < clients; i++) {
+                    int clientId = i;
+                    futures.add(executor.submit(() -> drive(clientId, measureFrom, deadline)));
+                }
+            }
+
+            LatencyRecorder total = new LatencyRecorder();
+            for (Future<LatencyRecorder> future : futures) {
+                total.merge(future.get());
+            }
+            total.print(label, durationSeconds);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext bootEmbeddedBackend() {
+        // Passed as command-line arguments so they take precedence over the backend's application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--jwt.secret=" + Base64.getEncoder()
+                        .encodeToString("load-harness-secret-key-of-at-least-32-bytes".getBytes())));
+        workload.stringPropertyNames().stream()
+                .filter(key -> key.startsWith("app."))
+                .forEach(key -> args.add("--" + key.substring(4) + "=" + workload.getProperty(key)));
+
+        return new SpringApplicationBuilder(BackendApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private void setUp(ConfigurableApplicationContext context) throws Exception {
+        int clients = intProperty("clients", 100);
+        String funding = workload.getProperty("funding", "1000000");
+
+        List<Future<ApiClient.ApiUser>> registrations = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                registrations.add(executor.submit(() -> client.registerFundedUser(funding)));
+            }
+        }
+        users = new ArrayList<>(clients);
+        for (Future<ApiClient.ApiUser> registration : registrations) {
+            users.add(registration.get());
+        }
+
+        if (weight("admin-stats") == 0) {
+            return;
+        }
+        if (context != null) {
+            // A separate account: promoting a driving client would strip its USER role
+            String adminEmail = client.registerUser();
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            User admin = userRepository.findByEmail(adminEmail).orElseThrow();
+            admin.setRole(User.Role.ADMIN);
+            userRepository.save(admin);
+            adminToken = client.login(adminEmail);
+        } else {
+            String adminEmail = workload.getProperty("admin-email", "");
+            if (adminEmail.isBlank()) {
+                throw new IllegalArgumentException("admin-email is required for admin-stats against an external instance");
+            }
+            adminToken = client.login(adminEmail, workload.getProperty("admin-password", ""));
+        }
+    }
+
+    private LatencyRecorder drive(int clientId, long measureFrom, long deadline) {
+        SplittableRandom random = new SplittableRandom(clientId);
+        ApiClient.ApiUser user = users.get(clientId);
+        String amount = workload.getProperty("transfer-amount", "0.01");
+        long thinkTimeMs = Long.parseLong(workload.getProperty("think-time-ms", "0"));
+        boolean ownAccounts = "own".equals(workload.getProperty("transfer-target", "random"));
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        while (System.nanoTime() < deadline) {
+            String operation = pick(random);
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = switch (operation) {
+                    case "login" -> client.post("/api/auth/login", null,
+                            Map.of("email", user.email(), "password", ApiClient.PASSWORD)).statusCode();
+                    case "transfer" -> {
+                        ApiClient.ApiUser receiver = ownAccounts ? user : users.get(random.nextInt(users.size()));
+                        yield client.post("/api/transfers", user.token(), Map.of(
+                                "senderAccountNumber", user.senderAccount(),
+                                "receiverAccountNumber", receiver.receiverAccount(),
+                                "amount", amount,
+                                "description", "load test")).statusCode();
+                    }
+                    case "history" -> client.get("/api/transfers/account/" + user.senderAccount(),
+                            user.token()).statusCode();
+                    default -> client.get("/api/admin/system-stats", adminToken).statusCode();
+                };
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (start >= measureFrom) {
+                recorder.record(operation, System.nanoTime() - start, status >= 200 && status < 300);
+            }
+            if (thinkTimeMs > 0) {
+                try {
+                    Thread.sleep(thinkTimeMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return recorder;
+    }
+
+    private String pick(SplittableRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return OPERATIONS[i];
+            }
+        }
+        return OPERATIONS[OPERATIONS.length - 1];
+    }
+
+    private int weight(String operation) {
+        return Integer.parseInt(workload.getProperty("mix." + operation, "0"));
+    }
+
+    private int intProperty(String key, int defaultValue) {
+        return Integer.parseInt(workload.getProperty(key, String.valueOf(defaultValue)));
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.bankingapp.benchmarks.load;
+
+import java.util.Properties;
+
+// Drives LoadHarness against a running instance with a fixed mix, so platform and virtual thread runs compare like for like
+public class ThreadModeLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Properties workload = new Properties();
+        workload.setProperty("base-url", System.getProperty("baseUrl", "http://localhost:8080"));
+        workload.setProperty("label", System.getProperty("label", "run"));
+        workload.setProperty("clients", String.valueOf(Integer.getInteger("users", 200)));
+        workload.setProperty("duration-seconds", String.valueOf(Integer.getInteger("duration", 60)));
+        workload.setProperty("warmup-seconds", String.valueOf(Integer.getInteger("warmup", 10)));
+        // Each client transfers between its own two accounts, so runs measure thread handling, not row locks
+        workload.setProperty("transfer-target", "own");
+        workload.setProperty("mix.login", "10");
+        workload.setProperty("mix.transfer", "40");
+        workload.setProperty("mix.history", "50");
+
+        new LoadHarness(workload).run();
+    }
+
+}
@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread request handling under the same workload.
+# Needs a reachable PostgreSQL (SPRING_DATASOURCE_URL/USERNAME/PASSWORD) and JWT_SECRET in the environment.
+#
+#   mvn -f ../backend install -DskipTests && mvn package && ./thread-mode-load.sh
+set -euo pipefail
+
+USERS=${USERS:-200}
+DURATION=${DURATION:-60}
+PORT=${PORT:-8080}
+BACKEND_JAR=$(ls ../backend/target/backend-*-exec.jar | head -n 1)
+
+run_mode() {
+  local mode=$1 profile=$2 extra_opts=$3
+  java $extra_opts -jar "$BACKEND_JAR" \
+    --server.port="$PORT" \
+    --spring.profiles.active="$profile" \
+    --jwt.secret="$JWT_SECRET" \
+    --spring.jpa.show-sql=false \
+    > "target/backend-$mode.log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null || true" EXIT
+
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do sleep 1; done
+
+  java -Dlabel="$mode" -DbaseUrl="http://localhost:$PORT" -Dusers="$USERS" -Dduration="$DURATION" \
+    -cp target/benchmarks.jar com.bankingapp.benchmarks.load.ThreadModeLoadTest
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+mkdir -p target
+run_mode platform default ""
+# Pinned carrier threads are reported in target/backend-virtual.log
+run_mode virtual virtual "-Djdk.tracePinnedThreads=short"
@@ -1,3 +1,5 @@
+from typing import List
+
 from fastapi import FastAPI
 from pydantic import BaseModel
 import joblib
@@ -6,18 +8,23 @@ import pandas as pd
 app = FastAPI()
 model = joblib.load("model/fraud_model.pkl")
 
+TYPE_MAP = {'DEPOSIT': 0, 'TRANSFER': 1}
+
 class Transaction(BaseModel):
     amount: float
     timestamp: str
     type: str
     receiver_account: int
     sender_account: int = -1
+    sender_count_1h: int = 0
+    sender_amount_1h: float = 0.0
+    sender_count_24h: int = 0
+    sender_amount_24h: float = 0.0
 
 @app.post("/predict-fraud")
 def predict(transaction: Transaction):
     hour = pd.to_datetime(transaction.timestamp).hour
-    type_map = {'DEPOSIT': 0, 'TRANSFER': 1}
-    type_enc = type_map.get(transaction.type, 0)
+    type_enc = TYPE_MAP.get(transaction.type, 0)
     
     X = [[
         transaction.amount,
@@ -34,3 +41,25 @@ def predict(transaction: Transaction):
         "is_fraud": bool(prediction),
         "risk_score": float(probability)
     }
+
+@app.post("/predict-fraud/batch")
+def predict_batch(transactions: List[Transaction]):
+    if not transactions:
+        return []
+
+    df = pd.DataFrame([t.model_dump() for t in transactions])
+    X = pd.DataFrame({
+        'amount': df['amount'],
+        'hour': pd.to_datetime(df['timestamp'], format='ISO8601').dt.hour,
+        'type_enc': df['type'].map(TYPE_MAP).fillna(0).astype(int),
+        'receiver_account': df['receiver_account'],
+        'sender_account': df['sender_account'],
+    }).values
+
+    predictions = model.predict(X)
+    probabilities = model.predict_proba(X)[:, 1].round(2)
+
+    return [
+        {"is_fraud": bool(p), "risk_score": float(s)}
+        for p, s in zip(predictions, probabilities)
+    ]
@@ -0,0 +1,58 @@
+import json
+
+import numpy as np
+from sklearn.ensemble import RandomForestClassifier
+from sklearn.linear_model import LogisticRegression
+
+
+def export_model(model, features, type_encoding, path):
+    if isinstance(model, LogisticRegression):
+        payload = {
+            "model_type": "logistic_regression",
+            "coefficients": model.coef_[0].tolist(),
+            "intercept": float(model.intercept_[0]),
+        }
+    elif isinstance(model, RandomForestClassifier):
+        payload = _export_forest(model)
+    else:
+        raise ValueError(f"Unsupported model type: {type(model).__name__}")
+
+    payload["features"] = features
+    payload["type_encoding"] = type_encoding
+
+    with open(path, "w") as f:
+        json.dump(payload, f)
+
+
+def _export_forest(model):
+    fraud_class = list(model.classes_).index(1)
+    roots, feature, threshold, left, right, value = [], [], [], [], [], []
+
+    for estimator in model.estimators_:
+        tree = estimator.tree_
+        offset = len(feature)
+        roots.append(offset)
+        counts = tree.value[:, 0, :]
+        probabilities = counts[:, fraud_class] / counts.sum(axis=1)
+        for node in range(tree.node_count):
+            is_leaf = tree.children_left[node] == -1
+            feature.append(-1 if is_leaf else int(tree.feature[node]))
+            threshold.append(0.0 if is_leaf else float(tree.threshold[node]))
+            left.append(-1 if is_leaf else int(tree.children_left[node]) + offset)
+            right.append(-1 if is_leaf else int(tree.children_right[node]) + offset)
+            value.append(float(probabilities[node]))
+
+    return {
+        "model_type": "random_forest",
+        "roots": roots,
+        "feature": feature,
+        "threshold": threshold,
+        "left": left,
+        "right": right,
+        "value": value,
+    }
+
+
+def export_parity(model, X, path):
+    probabilities = model.predict_proba(X)[:, 1]
+    np.savetxt(path, probabilities, fmt="%.17g", header="probability", comments="")
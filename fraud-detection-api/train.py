@@ -1,11 +1,19 @@
+import argparse
 import pandas as pd
 from sklearn.model_selection import train_test_split
+from sklearn.ensemble import RandomForestClassifier
 from sklearn.linear_model import LogisticRegression
 from sklearn.preprocessing import LabelEncoder
 from sklearn.metrics import accuracy_score
 import joblib
 import os
 
+from export_model import export_model, export_parity
+
+parser = argparse.ArgumentParser()
+parser.add_argument("--model", choices=["logistic", "forest"], default="logistic")
+args = parser.parse_args()
+
 print("Starting Fraud Detection Model Training...")
 
 print("Loading dataset...")
@@ -14,7 +22,8 @@ print(f"Dataset loaded: {df.shape[0]} rows, {df.shape[1]} columns")
 
 print("Preprocessing data...")
 df['hour'] = pd.to_datetime(df['timestamp']).dt.hour
-df['type_enc'] = LabelEncoder().fit_transform(df['type'])
+type_encoder = LabelEncoder()
+df['type_enc'] = type_encoder.fit_transform(df['type'])
 df['sender_account'] = df['sender_account'].fillna(-1)
 
 X = df[['amount', 'hour', 'type_enc', 'receiver_account', 'sender_account']]
@@ -26,8 +35,12 @@ print(f"Dataset stats: {fraud_rate:.2f}% fraud rate ({y.sum()} fraud cases)")
 X_train, X_test, y_train, y_test = train_test_split(X, y, test_size=0.2, random_state=42)
 print(f"Data split: {len(X_train)} training, {len(X_test)} testing samples")
 
-print("Training Logistic Regression model...")
-model = LogisticRegression(max_iter=1000, random_state=42)
+if args.model == "forest":
+    print("Training Random Forest model...")
+    model = RandomForestClassifier(n_estimators=100, max_depth=8, random_state=42)
+else:
+    print("Training Logistic Regression model...")
+    model = LogisticRegression(max_iter=1000, random_state=42)
 model.fit(X_train, y_train)
 
 y_pred = model.predict(X_test)
@@ -39,8 +52,14 @@ os.makedirs("model", exist_ok=True)
 model_path = "model/fraud_model.pkl"
 joblib.dump(model, model_path)
 
+portable_path = "model/fraud_model.json"
+type_encoding = {label: int(code) for code, label in enumerate(type_encoder.classes_)}
+export_model(model, list(X.columns), type_encoding, portable_path)
+export_parity(model, X, "model/parity.csv")
+
 print("\n" + "=" * 50)
 print("MODEL TRAINING COMPLETED!")
 print(f"Model saved to: {model_path}")
+print(f"Portable model saved to: {portable_path}")
 print(f"Final accuracy: {accuracy:.4f}")
 print("=" * 50)
\ No newline at end of file
@@ -35,6 +35,14 @@ export const accountService = {
     const { data } = await axiosInstance.post<Account>(`/accounts/${accountNumber}/deposit`, { amount, description});
     return data;
   },
+
+  withdraw: async (accountNumber: string, amount: number, description: string): Promise<Account> => {
+
+    if (amount <= 0) throw new Error("Le montant doit être positif");
+
+    const { data } = await axiosInstance.post<Account>(`/accounts/${accountNumber}/withdraw`, { amount, description});
+    return data;
+  },
 };
 
 
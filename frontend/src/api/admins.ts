@@ -33,6 +33,13 @@ export interface SystemStats {
   totalAccounts: number;
   totalTransactions: number;
   totalTransactionsAmount: number;
+  totalsByCurrency?: CurrencyTotal[];
+}
+
+export interface CurrencyTotal {
+  currency: string;
+  transactions: number;
+  amount: number;
 }
 
 export interface MonthlyStats {
@@ -0,0 +1,31 @@
+import axiosInstance from './axios';
+import type { Account } from './accounts';
+import type { Transaction } from './transactions';
+
+export interface DashboardAccount {
+  account: Account;
+  recentTransactions: (Transaction & { type: string })[];
+  recentTransactionsLoaded: boolean;
+}
+
+export interface Dashboard {
+  user: {
+    id: number;
+    email: string;
+    firstName: string;
+    lastName: string;
+    phoneNumber: string;
+    createdAt: string;
+    updatedAt: string;
+  };
+  accounts: DashboardAccount[];
+  partial: boolean;
+}
+
+export const dashboardService = {
+
+  getDashboard: async (): Promise<Dashboard> => {
+    const { data } = await axiosInstance.get<Dashboard>('/dashboard');
+    return data;
+  },
+};
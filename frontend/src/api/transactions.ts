@@ -8,6 +8,24 @@ export interface Transaction {
   timestamp: string;
 }
 
+export interface TransactionSearchParams {
+  q: string;
+  accountNumber?: string;
+  from?: string;
+  to?: string;
+  minAmount?: number;
+  maxAmount?: number;
+  page?: number;
+  size?: number;
+}
+
+export interface TransactionSearchResult {
+  results: Transaction[];
+  page: number;
+  size: number;
+  hasNext: boolean;
+}
+
 export const transferService = {
   
   transfer: async (
@@ -40,6 +58,11 @@ export const transferService = {
     return data;
   },
 
+  searchTransactions: async (params: TransactionSearchParams): Promise<TransactionSearchResult> => {
+    const { data } = await axiosInstance.get<TransactionSearchResult>('/transfers/search', { params });
+    return data;
+  },
+
   formatTransactionDate: (timestamp: string): string => {
     try {
       const date = new Date(timestamp);
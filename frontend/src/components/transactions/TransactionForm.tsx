@@ -32,7 +32,6 @@ const TransactionForm = ({ onSuccess }: TransactionFormProps) => {
     accounts, 
     selectedAccount, 
     transfer,
-    fetchAccounts,
   } = useAuth();
   
   const [amount, setAmount] = useState('');
@@ -108,8 +107,7 @@ const TransactionForm = ({ onSuccess }: TransactionFormProps) => {
         `Transfert de ${amount}€ effectué`,
         { description: `Vers le compte ${receiverAccountNumber}` }
       );
-      
-      await fetchAccounts();
+
       onSuccess?.(); // Appel de la callback en cas de succès
 
     } catch (error: any) {
@@ -4,6 +4,7 @@ import React, {
   useEffect,
   useState,
   useCallback,
+  useRef,
   TableHTMLAttributes,
 } from "react";
 import { useNavigate } from "react-router-dom";
@@ -17,7 +18,9 @@ import {
 } from "@/api/auth";
 import { accountService } from "@/api/accounts";
 import { Transaction, transferService } from "@/api/transactions";
+import { Dashboard, DashboardAccount, dashboardService } from "@/api/dashboard";
 import adminService,  { SystemStats, MonthlyStats, UserRes, AccountRes, DailyStats  } from "@/api/admins";
+import { AccountUpdate, LedgerStreamHandlers, useLedgerStream } from "@/hooks/use-ledger-stream";
 
 interface Account {
   id: number;
@@ -35,11 +38,14 @@ interface AuthContextType {
   isLoading: boolean;
   accounts: Account[];
   selectedAccount: Account | null;
+  dashboard: Dashboard | null;
   login: (email: string, password: string) => Promise<boolean>;
   register: (data: RegisterData) => Promise<boolean>;
   logout: () => Promise<void>;
   refreshUser: () => Promise<void>;
   fetchAccounts: () => Promise<Account[]>;
+  loadDashboard: () => Promise<Account[]>;
+  loadRecentTransactions: (accountNumber: string) => Promise<void>;
   selectAccount: (account: Account) => void;
   createAccount: () => Promise<Account>;
   deposit: (
@@ -68,6 +74,7 @@ interface AuthContextType {
   adminGetSystemStats: () => Promise<SystemStats>;
   adminGet12MonthStats: () => Promise<MonthlyStats[]>;
   adminGetDailyStats: () => Promise<DailyStats[]>;
+  subscribeToLedger: (handlers: LedgerStreamHandlers) => () => void;
 
   };
 
@@ -88,7 +95,9 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({
   const [isLoading, setIsLoading] = useState(true);
   const [accounts, setAccounts] = useState<Account[]>([]);
   const [selectedAccount, setSelectedAccount] = useState<Account | null>(null);
+  const [dashboard, setDashboard] = useState<Dashboard | null>(null);
   const navigate = useNavigate();
+  const ledgerSubscribers = useRef(new Set<LedgerStreamHandlers>());
 
   const handleError = (error: unknown, defaultMessage: string) => {
     console.error(defaultMessage, error);
@@ -232,20 +241,7 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({
       setIsLoading(true);
       // Use your API service to fetch accounts
       const userAccounts = await accountService.getOwnedAccounts();
-      setAccounts(userAccounts);
-
-      // Restore selected account from localStorage if available
-      const storedSelectedAccountNumber = localStorage.getItem(
-        "selectedAccountNumber"
-      );
-      if (storedSelectedAccountNumber) {
-        const storedAccount = userAccounts.find(
-          (acc) => acc.accountNumber === storedSelectedAccountNumber
-        );
-        if (storedAccount) {
-          setSelectedAccount(storedAccount);
-        }
-      }
+      storeAccounts(userAccounts);
       return userAccounts;
     } catch (error) {
       console.error("Failed to fetch accounts:", error);
@@ -256,7 +252,97 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({
     }
   }, [user?.id]);
 
-  
+  const storeAccounts = (userAccounts: Account[]) => {
+    setAccounts(userAccounts);
+
+    // Restore selected account from localStorage if available
+    const storedSelectedAccountNumber = localStorage.getItem(
+      "selectedAccountNumber"
+    );
+    if (storedSelectedAccountNumber) {
+      const storedAccount = userAccounts.find(
+        (acc) => acc.accountNumber === storedSelectedAccountNumber
+      );
+      if (storedAccount) {
+        setSelectedAccount(storedAccount);
+      }
+    }
+  };
+
+  // Profile, accounts and recent movements come back in one call; the dashboard page reads them from here
+  const loadDashboard = useCallback(async (): Promise<Account[]> => {
+    try {
+      const data = await dashboardService.getDashboard();
+      setDashboard(data);
+      const userAccounts = data.accounts.map((entry) => entry.account);
+      storeAccounts(userAccounts);
+      return userAccounts;
+    } catch (error) {
+      console.error("Failed to load dashboard:", error);
+      toast.error("Failed to load your accounts");
+      return [];
+    }
+  }, []);
+
+  // Histories left out of a partial dashboard are fetched on their own
+  const loadRecentTransactions = useCallback(
+    async (accountNumber: string): Promise<void> => {
+      const recent = await getAllTransfersForAccount(accountNumber);
+      setDashboard((prev) =>
+        prev && {
+          ...prev,
+          accounts: prev.accounts.map((entry) =>
+            entry.account.accountNumber === accountNumber
+              ? { ...entry, recentTransactions: recent as DashboardAccount["recentTransactions"], recentTransactionsLoaded: true }
+              : entry
+          ),
+        }
+      );
+    },
+    [getAllTransfersForAccount]
+  );
+
+  // Balances follow the server's pushed updates; a resync reloads them after a reconnect or dropped events
+  const applyAccountUpdate = (update: AccountUpdate) => {
+    const apply = (account: Account) =>
+      account.accountNumber === update.accountNumber
+        ? { ...account, balance: account.balance + update.balanceDelta }
+        : account;
+    setAccounts((prev) => prev.map(apply));
+    setSelectedAccount((prev) => (prev ? apply(prev) : prev));
+    setDashboard((prev) =>
+      prev && {
+        ...prev,
+        accounts: prev.accounts.map((entry) =>
+          entry.account.accountNumber === update.accountNumber
+            ? {
+                ...entry,
+                account: apply(entry.account),
+                recentTransactions: [update.transaction, ...entry.recentTransactions],
+              }
+            : entry
+        ),
+      }
+    );
+    ledgerSubscribers.current.forEach((subscriber) => subscriber.onUpdate(update));
+  };
+
+  const resyncAccounts = async () => {
+    await loadDashboard();
+    ledgerSubscribers.current.forEach((subscriber) => subscriber.onResync());
+  };
+
+  useLedgerStream(
+    { onUpdate: applyAccountUpdate, onResync: resyncAccounts },
+    Boolean(user) && !user?.roles?.includes("ROLE_ADMIN")
+  );
+
+  const subscribeToLedger = useCallback((handlers: LedgerStreamHandlers) => {
+    ledgerSubscribers.current.add(handlers);
+    return () => {
+      ledgerSubscribers.current.delete(handlers);
+    };
+  }, []);
 
   useEffect(() => {
     const checkAuth = async () => {
@@ -270,7 +356,7 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({
 
         // If user is authenticated but not admin, fetch their accounts
         if (storedUser && !storedUser.roles.includes("ROLE_ADMIN")) {
-          await fetchAccounts();
+          await loadDashboard();
         }
       }
 
@@ -278,7 +364,7 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({
     };
 
     checkAuth();
-  }, [refreshUser, fetchAccounts]);
+  }, [refreshUser, loadDashboard]);
 
   const selectAccount = (account: Account) => {
     setSelectedAccount(account);
@@ -291,6 +377,12 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({
     try {
       const newAccount = await accountService.createNewAccount();
       setAccounts((prev) => [...prev, newAccount]);
+      setDashboard((prev) =>
+        prev && {
+          ...prev,
+          accounts: [...prev.accounts, { account: newAccount, recentTransactions: [], recentTransactionsLoaded: true }],
+        }
+      );
       toast.success("Compte créé avec succès");
       return newAccount;
     } catch (error) {
@@ -314,8 +406,7 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({
         return true;
       }
 
-      const userAccounts = await fetchAccounts();
-      setAccounts(userAccounts);
+      const userAccounts = await loadDashboard();
 
       if (userAccounts.length === 0) {
         navigate("/user/create-account");
@@ -360,6 +451,7 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({
       setUser(null);
       setAccounts([]);
       setSelectedAccount(null);
+      setDashboard(null);
       localStorage.removeItem("selectedAccountNumber");
       setIsLoading(false);
       navigate("/login");
@@ -423,22 +515,9 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({
         description
       );
 
-      setAccounts((prev) => {
-        if (!Array.isArray(prev)) return [updatedAccount];
-
-        return prev.map((acc) =>
-          acc.accountNumber.toString() === accountNumber.toString()
-            ? updatedAccount
-            : acc
-        );
-      });
-
-      setSelectedAccount((prev) =>
-        prev?.accountNumber === accountNumber ? updatedAccount : prev
-      );
-
+      // The new balance arrives over the ledger stream
       toast.success(`Dépôt de ${amount} ${updatedAccount.currency} effectué`);
-      window.location.href = `/user/dashboard/${accountNumber}`;
+      navigate(`/user/dashboard/${accountNumber}`);
       return updatedAccount;
     } catch (error) {
       toast.error(error.message || "Erreur lors du dépôt");
@@ -463,6 +542,7 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({
         throw new Error("Vous ne pouvez pas transférer vers le même compte");
       }
 
+      // Both balances are updated by the ledger stream once the transfer commits
       const transaction = await transferService.transfer(
         senderAccountNumber,
         receiverAccountNumber,
@@ -470,18 +550,6 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({
         description
       );
 
-      setAccounts((prevAccounts) =>
-        prevAccounts.map((account) => {
-          if (account.accountNumber === senderAccountNumber) {
-            return { ...account, balance: account.balance - amount };
-          }
-          if (account.accountNumber === receiverAccountNumber) {
-            return { ...account, balance: account.balance + amount };
-          }
-          return account;
-        })
-      );
-
       toast.success(
         `Transfert réussi de ${amount} vers le compte ${receiverAccountNumber}`
       );
@@ -508,11 +576,14 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({
     isLoading,
     accounts,
     selectedAccount,
+    dashboard,
     login,
     register,
     logout,
     refreshUser,
     fetchAccounts,
+    loadDashboard,
+    loadRecentTransactions,
     selectAccount,
     createAccount,
     deposit,
@@ -529,6 +600,7 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({
     adminGetSystemStats,
     adminGet12MonthStats,
     adminGetDailyStats,
+    subscribeToLedger,
   };
 
   return (
@@ -0,0 +1,79 @@
+import * as React from "react"
+
+import axiosInstance from "@/api/axios"
+import type { Transaction } from "@/api/transactions"
+
+export interface AccountUpdate {
+  accountNumber: string
+  balanceDelta: number
+  transaction: Transaction & { type: string }
+}
+
+export interface LedgerStreamHandlers {
+  onUpdate: (update: AccountUpdate) => void
+  onResync: () => void
+}
+
+const MAX_RETRY_DELAY = 30000
+
+export function useLedgerStream({ onUpdate, onResync }: LedgerStreamHandlers, enabled = true) {
+  const handlers = React.useRef({ onUpdate, onResync })
+  handlers.current = { onUpdate, onResync }
+
+  React.useEffect(() => {
+    if (!enabled) return
+    const controller = new AbortController()
+    let retryDelay = 1000
+
+    const dispatch = (block: string) => {
+      let event = "message"
+      const data: string[] = []
+      for (const line of block.split("\n")) {
+        if (line.startsWith("event:")) event = line.slice(6).trim()
+        else if (line.startsWith("data:")) data.push(line.slice(5).trimStart())
+      }
+      if (event === "account-update" && data.length > 0) {
+        handlers.current.onUpdate(JSON.parse(data.join("\n")))
+      } else if (event === "resync") {
+        handlers.current.onResync()
+      }
+    }
+
+    const connect = async () => {
+      while (!controller.signal.aborted) {
+        const token = localStorage.getItem("token")
+        if (!token) return
+        try {
+          const response = await fetch(`${axiosInstance.defaults.baseURL}/stream`, {
+            headers: { Authorization: `Bearer ${token}`, Accept: "text/event-stream" },
+            signal: controller.signal,
+          })
+          if (!response.ok || !response.body) throw new Error(`Stream failed: ${response.status}`)
+
+          retryDelay = 1000
+          handlers.current.onResync()
+          const reader = response.body.pipeThrough(new TextDecoderStream()).getReader()
+          let buffer = ""
+          for (;;) {
+            const { value, done } = await reader.read()
+            if (done) break
+            buffer += value.replace(/\r\n/g, "\n")
+            let boundary = buffer.indexOf("\n\n")
+            while (boundary >= 0) {
+              dispatch(buffer.slice(0, boundary))
+              buffer = buffer.slice(boundary + 2)
+              boundary = buffer.indexOf("\n\n")
+            }
+          }
+        } catch {
+          if (controller.signal.aborted) return
+        }
+        await new Promise((resolve) => setTimeout(resolve, retryDelay))
+        retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY)
+      }
+    }
+
+    connect()
+    return () => controller.abort()
+  }, [enabled])
+}
@@ -1,4 +1,4 @@
-import React, { useEffect, useState } from 'react';
+import React, { useEffect } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import { useAuth } from '@/context/AuthContext';
 import BalanceCard from '@/components/dashboard/BalanceCard';
@@ -18,35 +18,34 @@ const Dashboard = () => {
     accounts,
     selectedAccount,
     selectAccount,
-    getAllTransfersForAccount
+    dashboard,
+    loadDashboard,
+    loadRecentTransactions
   } = useAuth();
 
-  const [transactions, setTransactions] = useState<Transaction[]>([]);
-  const [isLoading, setIsLoading] = useState(true);
-
   useEffect(() => {
     if (!isAdmin && accounts.length > 0 && !accountNumber) {
       navigate(`/user/dashboard/${accounts[0].accountNumber}`, { replace: true });
     }
   }, [isAdmin, accounts, accountNumber, navigate]);
 
+  // Recent movements come from the dashboard loaded at sign-in and are kept current by the ledger stream
+  const entry = dashboard?.accounts.find(
+    (item) => item.account.accountNumber === selectedAccount?.accountNumber
+  );
+
   useEffect(() => {
-    const loadTransactions = async () => {
-      if (!selectedAccount?.accountNumber || isAdmin) return;
-      
-      setIsLoading(true);
-      try {
-        const data = await getAllTransfersForAccount(selectedAccount.accountNumber);
-        setTransactions(data);
-      } catch (error) {
-        console.error("Erreur lors du chargement des transactions :", error);
-      } finally {
-        setIsLoading(false);
-      }
-    };
+    if (!selectedAccount?.accountNumber || isAdmin) return;
+
+    if (!entry) {
+      loadDashboard();
+    } else if (!entry.recentTransactionsLoaded) {
+      loadRecentTransactions(selectedAccount.accountNumber);
+    }
+  }, [selectedAccount?.accountNumber, isAdmin, Boolean(dashboard), entry?.recentTransactionsLoaded]);
 
-    loadTransactions();
-  }, [selectedAccount, isAdmin, getAllTransfersForAccount]);
+  const transactions = entry?.recentTransactionsLoaded ? entry.recentTransactions : [];
+  const isLoading = !entry?.recentTransactionsLoaded;
 
   if (isAdmin) {
     return <AdminDashboard />;
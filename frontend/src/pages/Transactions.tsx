@@ -7,25 +7,28 @@ import { Button } from "@/components/ui/button";
 import { Skeleton } from "@/components/ui/skeleton";
 
 const Transactions = () => {
-  const { selectedAccount, getAllTransfersForAccount, getIncomingTransfers, getOutgoingTransfers } = useAuth();
+  const { selectedAccount, getAllTransfersForAccount, getIncomingTransfers, getOutgoingTransfers, subscribeToLedger } = useAuth();
   const [activeTab, setActiveTab] = useState<"all" | "incoming" | "outgoing">("all");
   const [transactions, setTransactions] = useState<Transaction[]>([]);
   const [isLoading, setIsLoading] = useState(true);
   const [showModal, setShowModal] = useState(false);
 
+  const accountNumber = selectedAccount?.accountNumber;
+
+  const fetchTransactions = (accountNumber: string) =>
+    activeTab === "incoming"
+      ? getIncomingTransfers(accountNumber)
+      : activeTab === "outgoing"
+      ? getOutgoingTransfers(accountNumber)
+      : getAllTransfersForAccount(accountNumber);
+
   useEffect(() => {
     const loadTransactions = async () => {
-      if (!selectedAccount) return;
+      if (!accountNumber) return;
       
       setIsLoading(true);
       try {
-        const data = await (activeTab === "incoming" 
-          ? getIncomingTransfers(selectedAccount.accountNumber)
-          : activeTab === "outgoing" 
-          ? getOutgoingTransfers(selectedAccount.accountNumber)
-          : getAllTransfersForAccount(selectedAccount.accountNumber));
-        
-        setTransactions(data);
+        setTransactions(await fetchTransactions(accountNumber));
       } catch (error) {
         console.error("Error loading transactions:", error);
       } finally {
@@ -34,7 +37,25 @@ const Transactions = () => {
     };
 
     loadTransactions();
-  }, [selectedAccount, activeTab]);
+  }, [accountNumber, activeTab]);
+
+  // New movements are pushed by the server; the list is only reloaded when the stream asks for a resync
+  useEffect(() => {
+    if (!accountNumber) return;
+
+    return subscribeToLedger({
+      onUpdate: (update) => {
+        if (update.accountNumber !== accountNumber) return;
+        const incoming = update.transaction.receiverAccountNumber === accountNumber;
+        if (activeTab === "all" || (activeTab === "incoming") === incoming) {
+          setTransactions((prev) => [update.transaction, ...prev]);
+        }
+      },
+      onResync: () => {
+        fetchTransactions(accountNumber).then(setTransactions);
+      },
+    });
+  }, [accountNumber, activeTab, subscribeToLedger]);
 
   const handleTabChange = (value: string) => {
     setActiveTab(value as typeof activeTab);
@@ -93,10 +114,7 @@ const Transactions = () => {
       <TransferModal 
         open={showModal} 
         onOpenChange={setShowModal}
-        onSuccess={() => {
-          setActiveTab("all");
-          loadTransactions();
-        }}
+        onSuccess={() => setActiveTab("all")}
       />
     </div>
   );